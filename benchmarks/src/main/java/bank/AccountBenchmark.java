@@ -0,0 +1,109 @@
+package bank;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * AccountBenchmark: This class measures BankAccount.deposit and
+ * withdrawals from checking and savings accounts, once with a
+ * thread of its own per account and once with CONTENDED threads all
+ * updating the same accounts. The accounts start with a balance no
+ * benchmark can use up, so every withdrawal goes through, and are
+ * replaced every iteration so the transaction history does not grow
+ * without bound.
+ * NOTE: This class is run by the JMH runner in benchmarks.jar.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBenchmark {
+    // ===================== Default Values =======================
+    static final int CONTENDED = 4;                 // Threads sharing the accounts
+    private static final double AMOUNT = 0.01;
+    private static final double OPENING_BALANCE = 1e9;
+    private static final String DESCRIPTION = "Benchmark";
+
+    // ====================== Other Methods =======================
+
+    @Benchmark
+    public void deposit(OwnAccounts state) {
+        state.checking.deposit(AMOUNT, DESCRIPTION);
+    }
+
+    @Benchmark
+    public void withdrawChecking(OwnAccounts state) {
+        state.checking.withdraw(AMOUNT, DESCRIPTION);
+    }
+
+    @Benchmark
+    public void withdrawSavings(OwnAccounts state) {
+        state.savings.withdraw(AMOUNT, DESCRIPTION);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED)
+    public void depositContended(SharedAccounts state) {
+        state.checking.deposit(AMOUNT, DESCRIPTION);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED)
+    public void withdrawCheckingContended(SharedAccounts state) {
+        state.checking.withdraw(AMOUNT, DESCRIPTION);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED)
+    public void withdrawSavingsContended(SharedAccounts state) {
+        state.savings.withdraw(AMOUNT, DESCRIPTION);
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * Accounts: One checking and one savings account, opened fresh
+     * for every iteration.
+     */
+    public abstract static class Accounts {
+        CheckingAccount checking;
+        SavingsAccount savings;
+
+        @Setup(Level.Iteration)
+        public void open() {
+            checking = new CheckingAccount("Checking", 1, OPENING_BALANCE);
+            savings = new SavingsAccount("Savings", 2, OPENING_BALANCE);
+        }
+    }
+
+    /**
+     * OwnAccounts: Accounts used by a single benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class OwnAccounts extends Accounts {
+    }
+
+    /**
+     * SharedAccounts: Accounts shared by every benchmark thread.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedAccounts extends Accounts {
+    }
+} // End of class AccountBenchmark
@@ -0,0 +1,65 @@
+package bank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkAccounts: This class builds the accounts the benchmarks run
+ * against: a repeatable mix of checking and savings accounts with
+ * sequential IDs, names and balances.
+ * NOTE: This class is used by the benchmarks in this module.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+final class BenchmarkAccounts {
+    // ===================== Default Values =======================
+    static final int FIRST_ID = 100000;
+
+    // ====================== Constructors ========================
+
+    private BenchmarkAccounts() {
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * create: Builds count accounts with IDs FIRST_ID, FIRST_ID + 1,
+     * and so on. Every third account is a savings account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param count The number of accounts
+     * @return the accounts, in ID order
+     * @since 18 Oct 2026
+     */
+    static List<BankAccount> create(int count) {
+        List<BankAccount> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = FIRST_ID + i;
+            double balance = 100 + (i % 10000);
+            BankAccount account = i % 3 == 0
+                    ? new SavingsAccount("Customer " + id, id, balance)
+                    : new CheckingAccount("Customer " + id, id, balance);
+            account.setAnnualInterestRate(0.5 + (i % 5) * 0.25);
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    /**
+     * ledger: Builds a ledger holding count accounts from create.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param count The number of accounts
+     * @return the ledger
+     * @since 18 Oct 2026
+     */
+    static Ledger ledger(int count) {
+        Ledger ledger = new Ledger();
+        ledger.replaceAccounts(create(count));
+        return ledger;
+    }
+} // End of class BenchmarkAccounts
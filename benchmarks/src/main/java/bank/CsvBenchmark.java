@@ -0,0 +1,103 @@
+package bank;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CsvBenchmark: This class measures reading and writing the account
+ * file, the work behind BankSystem.loadAccountsFromFile and
+ * saveAccountsToFile. Both files live in a temporary directory that
+ * is removed afterwards. Divide the account count by the time per
+ * operation for accounts per second.
+ * NOTE: This class is run by the JMH runner in benchmarks.jar.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvBenchmark {
+    // ========================== Fields ==========================
+    @Param({"10000", "1000000"})
+    public int accounts;
+
+    private Path directory;
+    private Path accountFile;   // Written once, read by the load benchmarks
+    private Path saveFile;      // Rewritten by the save benchmark
+    private List<BankAccount> toSave;
+
+    // ====================== Other Methods =======================
+
+    /**
+     * setUp: Writes the account file the load benchmarks read.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws IOException if the file cannot be written
+     * @since 18 Oct 2026
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("bank-bench");
+        accountFile = directory.resolve("accounts.txt");
+        saveFile = directory.resolve("saved.txt");
+        toSave = BenchmarkAccounts.create(accounts);
+        CsvAccountLoader.save(accountFile, toSave);
+    }
+
+    /**
+     * tearDown: Removes the files and their directory.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws IOException if a file cannot be removed
+     * @since 18 Oct 2026
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(accountFile);
+        Files.deleteIfExists(saveFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<BankAccount> load() throws IOException {
+        return CsvAccountLoader.load(accountFile);
+    }
+
+    @Benchmark
+    public List<BankAccount> loadParallel() throws IOException {
+        return CsvAccountLoader.loadParallel(accountFile);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        CsvAccountLoader.save(saveFile, toSave);
+    }
+} // End of class CsvBenchmark
@@ -0,0 +1,99 @@
+package bank;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * LookupBenchmark: This class measures finding an account by ID, the
+ * lookup behind BankSystem.findAccountByID, at 1K, 1M and 10M accounts.
+ * The IDs are drawn at random up front so the cost measured is the
+ * index probe and the cache misses it causes, not the random number
+ * generator. The 10M case needs about 5 GB of heap, hence -Xmx8g.
+ * NOTE: This class is run by the JMH runner in benchmarks.jar.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class LookupBenchmark {
+    // ========================== Fields ==========================
+    @Param({"1000", "1000000", "10000000"})
+    public int accounts;
+
+    private Ledger ledger;
+    private int[] ids;          // IDs to look up, in a random order
+    private int next;
+
+    // ===================== Default Values =======================
+    private static final int LOOKUPS = 1 << 20;     // Power of two, for masking
+
+    // ====================== Other Methods =======================
+
+    /**
+     * setUp: Builds the ledger and the IDs to look up.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ledger = BenchmarkAccounts.ledger(accounts);
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = BenchmarkAccounts.FIRST_ID + random.nextInt(accounts);
+        }
+    }
+
+    /**
+     * findAccount: Looks up an account that exists.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the account found
+     * @since 18 Oct 2026
+     */
+    @Benchmark
+    public BankAccount findAccount() {
+        int id = ids[next++ & (LOOKUPS - 1)];
+        return ledger.findAccount(id);
+    }
+
+    /**
+     * findMissingAccount: Looks up an ID no account has.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return null
+     * @since 18 Oct 2026
+     */
+    @Benchmark
+    public BankAccount findMissingAccount() {
+        int id = ids[next++ & (LOOKUPS - 1)];
+        return ledger.findAccount(-id);
+    }
+} // End of class LookupBenchmark
@@ -0,0 +1,82 @@
+package bank;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * SummaryBenchmark: This class measures formatting the account
+ * summary that BankSystem.viewSummary prints, with and without the
+ * transaction tables. The report is written to a Writer that drops
+ * it, so only the snapshot and the formatting are timed.
+ * NOTE: This class is run by the JMH runner in benchmarks.jar.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SummaryBenchmark {
+    // ========================== Fields ==========================
+    @Param({"1000", "100000"})
+    public int accounts;
+
+    @Param({"true", "false"})
+    public boolean includeTransactions;
+
+    private Ledger ledger;
+    private ReportEngine reportEngine;
+    private ReportFilter filter;
+
+    // ===================== Default Values =======================
+    private static final int TRANSACTIONS_PER_ACCOUNT = 4;
+
+    // ====================== Other Methods =======================
+
+    /**
+     * setUp: Builds the ledger and gives every account a few
+     * deposits and withdrawals to list.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ledger = BenchmarkAccounts.ledger(accounts);
+        for (BankAccount account : ledger.getAccounts()) {
+            for (int i = 0; i < TRANSACTIONS_PER_ACCOUNT; i += 2) {
+                account.deposit(25.00, "Paycheck");
+                account.withdraw(10.00, "Groceries");
+            }
+        }
+        reportEngine = new ReportEngine();
+        filter = new ReportFilter();
+        filter.setIncludeTransactions(includeTransactions);
+    }
+
+    @Benchmark
+    public int writeSummary() throws IOException {
+        return reportEngine.writeSummary(ledger, filter, Writer.nullWriter());
+    }
+} // End of class SummaryBenchmark
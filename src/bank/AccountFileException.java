@@ -0,0 +1,57 @@
+package bank;
+
+/**
+ * AccountFileException: This exception reports a line of an account
+ * file that could not be parsed, with the file name and line number
+ * so the line can be found and fixed.
+ * NOTE: This class is used by CsvAccountLoader and BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.IOException;
+
+public class AccountFileException extends IOException {
+    // ========================== Fields ==========================
+    private static final long serialVersionUID = 1L;
+    private final String fileName;      // File that holds the bad line
+    private final long lineNumber;      // 1-based line number
+    private final String problem;       // What is wrong with the line
+
+    // ====================== Constructors ========================
+
+    /**
+     * AccountFileException: This constructor initializes an exception
+     * for one bad line.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param fileName The name of the account file
+     * @param lineNumber The 1-based number of the bad line
+     * @param problem What is wrong with the line
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public AccountFileException(String fileName, long lineNumber, String problem) {
+        super(fileName + " line " + lineNumber + ": " + problem);
+        this.fileName = fileName;
+        this.lineNumber = lineNumber;
+        this.problem = problem;
+    }
+
+    // ========================= Getters ==========================
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getProblem() {
+        return problem;
+    }
+} // End of class AccountFileException
@@ -0,0 +1,276 @@
+package bank;
+
+/**
+ * AccountIndex: This class is a hash index from account ID to
+ * BankAccount. It uses open addressing with linear probing over
+ * a primitive int key array, so lookups never box the ID into an
+ * Integer and cost O(1) on average instead of a scan of every
+ * account. Duplicate IDs are rejected at insert time.
+ * NOTE: This class is not thread-safe on its own. It is used by
+ * Ledger, which guards it with a lock.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.util.Arrays;
+
+public class AccountIndex {
+    // ========================== Fields ==========================
+    private int[] keys;                 // Account IDs, valid where values[i] != null
+    private BankAccount[] values;       // Accounts, null marks an empty slot
+    private int size;                   // Number of accounts in the index
+    private int resizeThreshold;        // Size at which the table doubles
+
+    // ===================== Default Values =======================
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // ====================== Constructors ========================
+
+    /**
+     * AccountIndex: This no argument constructor initializes
+     * an empty index with the default capacity.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public AccountIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * AccountIndex: This constructor initializes an empty index sized
+     * to hold the expected number of accounts without resizing.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param expectedAccounts The number of accounts expected
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public AccountIndex(int expectedAccounts) {
+        int capacity = tableSizeFor((int) Math.min(1 << 30,
+                (long) (Math.max(expectedAccounts, 1) / LOAD_FACTOR) + 1));
+        this.keys = new int[capacity];
+        this.values = new BankAccount[capacity];
+        this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * size: Returns the number of accounts in the index.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of indexed accounts
+     * @since 18 Oct 2026
+     */
+    public int size() {
+        return size;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * get: Returns the account with the given ID.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to find
+     * @return A BankAccount object if found, or null otherwise
+     * @since 18 Oct 2026
+     */
+    public BankAccount get(int accountID) {
+        int mask = keys.length - 1;
+        for (int i = hash(accountID) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == accountID) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * containsID: Returns true if an account with the given ID
+     * is in the index.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID to look for
+     * @return true if the ID is taken
+     * @since 18 Oct 2026
+     */
+    public boolean containsID(int accountID) {
+        return get(accountID) != null;
+    }
+
+    /**
+     * add: Adds an account under its current account ID. The account
+     * is rejected if another account already uses the same ID.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account The account to add
+     * @return true if added, false if the ID is already taken
+     * @since 18 Oct 2026
+     */
+    public boolean add(BankAccount account) {
+        int accountID = account.getAccountID();
+        int mask = keys.length - 1;
+        int i = hash(accountID) & mask;
+        while (values[i] != null) {
+            if (keys[i] == accountID) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = accountID;
+        values[i] = account;
+        if (++size > resizeThreshold) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * remove: Removes the account with the given ID, if present.
+     * The probe chain after the removed slot is shifted back so
+     * later lookups still find every key.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to remove
+     * @return the removed BankAccount, or null if not found
+     * @since 18 Oct 2026
+     */
+    public BankAccount remove(int accountID) {
+        int mask = keys.length - 1;
+        int i = hash(accountID) & mask;
+        while (values[i] != null) {
+            if (keys[i] == accountID) {
+                BankAccount removed = values[i];
+                shiftBack(i, mask);
+                size--;
+                return removed;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * changeID: Moves an account from its old ID to a new ID. Nothing
+     * changes if the new ID is already taken by another account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param oldID The ID the account is indexed under
+     * @param newID The ID the account will be indexed under
+     * @return true if the account was moved, false if newID is taken
+     * @since 18 Oct 2026
+     */
+    public boolean changeID(int oldID, int newID) {
+        if (oldID == newID) {
+            return true;
+        }
+        if (containsID(newID)) {
+            return false;
+        }
+        BankAccount account = remove(oldID);
+        if (account != null) {
+            int mask = keys.length - 1;
+            int i = hash(newID) & mask;
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = newID;
+            values[i] = account;
+            size++;
+        }
+        return true;
+    }
+
+    /**
+     * clear: Removes every account from the index.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * shiftBack: Fills the hole left at slot i by moving later entries
+     * of the same probe chain back, so no tombstones are needed.
+     */
+    private void shiftBack(int i, int mask) {
+        int hole = i;
+        int j = (i + 1) & mask;
+        while (values[j] != null) {
+            int home = hash(keys[j]) & mask;
+            // Move j into the hole if its home slot is not in (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+            j = (j + 1) & mask;
+        }
+        values[hole] = null;
+    }
+
+    /**
+     * resize: Doubles the table and reinserts every account.
+     */
+    private void resize() {
+        int[] oldKeys = keys;
+        BankAccount[] oldValues = values;
+        int capacity = oldKeys.length << 1;
+        int mask = capacity - 1;
+        keys = new int[capacity];
+        values = new BankAccount[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldValues[k] != null) {
+                int i = hash(oldKeys[k]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+    }
+
+    /**
+     * hash: Spreads the bits of an account ID, since IDs are often
+     * sequential and would otherwise cluster in the table. Also used
+     * by AccountStore's slot index.
+     */
+    static int hash(int accountID) {
+        int h = accountID * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * tableSizeFor: Returns the smallest power of two >= n.
+     */
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        return Math.max(capacity, DEFAULT_CAPACITY);
+    }
+} // End of class AccountIndex
@@ -0,0 +1,456 @@
+package bank;
+
+/**
+ * AccountStore: This class is a fixed-width binary account file read
+ * and updated through a MappedByteBuffer. Opening the file maps it
+ * instead of parsing it, so startup does no text parsing: loading the
+ * ledger reads every record once, in file order, straight from the
+ * mapped pages. Balances, rates and interest state can be updated in
+ * place, and such updates only touch the pages of the records changed.
+ *
+ * File format (big-endian):
+ *   header, 32 bytes: int magic, int version, int record count,
+ *     int record size, long string region offset, long journal
+ *     epoch covered by the store plus one (0 if not known)
+ *   records, RECORD_SIZE bytes each: byte type code, 3 bytes padding,
+ *     int account ID, long balance in cents, double interest rate,
+ *     int name offset, int name length, int last interest period
+ *     (yyyymm, 0 if never), int rate plan ID (0 if none), long start
+ *     of the interest period, long time the balance integral was
+ *     saved (both epoch milliseconds), double balance integral from
+ *     the period start to that time (cent-milliseconds)
+ *   string region: the UTF-8 customer names, referenced by offset
+ *     from the start of the region
+ * The interest rate is the plan's rate when the record was written;
+ * it is only used when the plan ID is not known. Version 1 files have
+ * 40-byte records that end after the rate plan ID; they are still
+ * read, and their accounts start a new interest period when loaded.
+ * NOTE: This class is used by BankSystem and Checkpointer. The text
+ * format of accounts.txt is still used for import and export.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccountStore implements Closeable {
+    // ========================== Fields ==========================
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int recordCount;
+    private final int stringRegionOffset;
+    private final int recordSize;           // RECORD_SIZE, or the smaller version 1 size
+    private int[] slotKeys;                 // Account IDs of the slot index
+    private int[] slotValues;               // Record slot + 1, 0 marks empty
+
+    // ===================== Default Values =======================
+    public static final int RECORD_SIZE = 64;
+    private static final int MAGIC = 0x42414354;    // "BACT"
+    private static final int VERSION = 2;
+    private static final int VERSION_1_RECORD_SIZE = 40;
+    private static final int HEADER_SIZE = 32;
+    private static final int COVERED_EPOCH_OFFSET = 24;
+
+    // Record field offsets
+    private static final int TYPE_OFFSET = 0;
+    private static final int ID_OFFSET = 4;
+    private static final int BALANCE_OFFSET = 8;
+    private static final int RATE_OFFSET = 16;
+    private static final int NAME_OFFSET_OFFSET = 24;
+    private static final int NAME_LENGTH_OFFSET = 28;
+    private static final int INTEREST_PERIOD_OFFSET = 32;
+    private static final int RATE_PLAN_OFFSET = 36;
+    private static final int PERIOD_START_OFFSET = 40;
+    private static final int INTEGRAL_TIME_OFFSET = 48;
+    private static final int INTEGRAL_OFFSET = 56;
+
+    // ====================== Constructors ========================
+
+    /**
+     * AccountStore: This constructor maps an existing account file.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The account store file, for error messages
+     * @param channel An open read/write channel to the file
+     * @return void
+     * @throws IOException if the file is not a valid account store
+     * @since 18 Oct 2026
+     */
+    private AccountStore(Path path, FileChannel channel) throws IOException {
+        this.channel = channel;
+        long size = channel.size();
+        if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+            throw new IOException("Invalid account store size " + size + ": " + path);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an account store: " + path);
+        }
+        int version = buffer.getInt(4);
+        this.recordSize = buffer.getInt(12);
+        if (!(version == VERSION && recordSize == RECORD_SIZE)
+                && !(version == 1 && recordSize == VERSION_1_RECORD_SIZE)) {
+            throw new IOException("Unsupported account store version " + version + ": " + path);
+        }
+        this.recordCount = buffer.getInt(8);
+        this.stringRegionOffset = (int) buffer.getLong(16);
+        if ((long) HEADER_SIZE + (long) recordCount * recordSize > stringRegionOffset
+                || stringRegionOffset > size) {
+            throw new IOException("Corrupt account store header: " + path);
+        }
+    }
+
+    /**
+     * open: Maps the account store at the given path for reading and
+     * in-place updates.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The account store file
+     * @return the opened AccountStore
+     * @throws IOException if the file cannot be mapped or is invalid
+     * @since 18 Oct 2026
+     */
+    public static AccountStore open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new AccountStore(path, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getCoveredEpoch: Returns the last journal epoch whose records
+     * the store already includes. Journal files of that epoch or
+     * earlier must not be replayed on top of it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the covered epoch, or -1 if the store does not say
+     * @since 18 Oct 2026
+     */
+    public long getCoveredEpoch() {
+        return buffer.getLong(COVERED_EPOCH_OFFSET) - 1L;
+    }
+
+    /**
+     * size: Returns the number of account records in the store.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of records
+     * @since 18 Oct 2026
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    public AccountType getAccountType(int slot) {
+        return AccountType.fromCode(buffer.get(recordOffset(slot) + TYPE_OFFSET));
+    }
+
+    public int getAccountID(int slot) {
+        return buffer.getInt(recordOffset(slot) + ID_OFFSET);
+    }
+
+    public long getBalanceCents(int slot) {
+        return buffer.getLong(recordOffset(slot) + BALANCE_OFFSET);
+    }
+
+    public double getAnnualInterestRate(int slot) {
+        return buffer.getDouble(recordOffset(slot) + RATE_OFFSET);
+    }
+
+    public int getLastInterestPeriod(int slot) {
+        return buffer.getInt(recordOffset(slot) + INTEREST_PERIOD_OFFSET);
+    }
+
+    public int getRatePlanID(int slot) {
+        return buffer.getInt(recordOffset(slot) + RATE_PLAN_OFFSET);
+    }
+
+    /**
+     * hasInterestState: Returns true if the records carry the interest
+     * period and balance integral, which version 1 files do not.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return true if the interest state fields exist
+     * @since 18 Oct 2026
+     */
+    public boolean hasInterestState() {
+        return recordSize >= RECORD_SIZE;
+    }
+
+    public long getInterestPeriodStart(int slot) {
+        return buffer.getLong(recordOffset(slot) + PERIOD_START_OFFSET);
+    }
+
+    public long getIntegralTime(int slot) {
+        return buffer.getLong(recordOffset(slot) + INTEGRAL_TIME_OFFSET);
+    }
+
+    public double getBalanceIntegral(int slot) {
+        return buffer.getDouble(recordOffset(slot) + INTEGRAL_OFFSET);
+    }
+
+    /**
+     * getCustomerName: Decodes the customer name of a record from the
+     * string region.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param slot The record number
+     * @return the customer name
+     * @since 18 Oct 2026
+     */
+    public String getCustomerName(int slot) {
+        int record = recordOffset(slot);
+        int offset = buffer.getInt(record + NAME_OFFSET_OFFSET);
+        int length = buffer.getInt(record + NAME_LENGTH_OFFSET);
+        byte[] bytes = new byte[length];
+        buffer.get(stringRegionOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ========================= Setters ==========================
+
+    public void setBalanceCents(int slot, long balanceCents) {
+        buffer.putLong(recordOffset(slot) + BALANCE_OFFSET, balanceCents);
+    }
+
+    public void setAnnualInterestRate(int slot, double annualInterestRate) {
+        buffer.putDouble(recordOffset(slot) + RATE_OFFSET, annualInterestRate);
+    }
+
+    public void setLastInterestPeriod(int slot, int period) {
+        buffer.putInt(recordOffset(slot) + INTEREST_PERIOD_OFFSET, period);
+    }
+
+    public void setRatePlanID(int slot, int planID) {
+        buffer.putInt(recordOffset(slot) + RATE_PLAN_OFFSET, planID);
+    }
+
+    /**
+     * setInterestState: Writes a record's interest period and balance
+     * integral. Does nothing for version 1 files, which have no room
+     * for them.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param slot The record number
+     * @param periodStart The start of the interest period, in epoch milliseconds
+     * @param integralTime When the integral was taken, in epoch milliseconds
+     * @param integral The balance integral up to integralTime, in cent-milliseconds
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void setInterestState(int slot, long periodStart, long integralTime, double integral) {
+        if (hasInterestState()) {
+            int record = recordOffset(slot);
+            buffer.putLong(record + PERIOD_START_OFFSET, periodStart);
+            buffer.putLong(record + INTEGRAL_TIME_OFFSET, integralTime);
+            buffer.putDouble(record + INTEGRAL_OFFSET, integral);
+        }
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * readAccount: Creates a BankAccount from one record.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param slot The record number
+     * @return a new BankAccount of the stored type
+     * @since 18 Oct 2026
+     */
+    public BankAccount readAccount(int slot) {
+        BankAccount account = getAccountType(slot).newAccount(getCustomerName(slot),
+                getAccountID(slot), Money.toDollars(getBalanceCents(slot)));
+        account.setRatePlan(RatePlans.getDefault().resolve(getRatePlanID(slot),
+                getAnnualInterestRate(slot)));
+        account.setLastInterestPeriod(getLastInterestPeriod(slot));
+        if (hasInterestState()) {
+            account.restoreInterestPeriod(getInterestPeriodStart(slot), getIntegralTime(slot),
+                    getBalanceIntegral(slot));
+        }
+        return account;
+    }
+
+    /**
+     * readAllAccounts: Creates a BankAccount for every record, in
+     * file order.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a List of BankAccount objects
+     * @since 18 Oct 2026
+     */
+    public List<BankAccount> readAllAccounts() {
+        long start = Metrics.start();
+        List<BankAccount> accounts = new ArrayList<>(recordCount);
+        for (int slot = 0; slot < recordCount; slot++) {
+            accounts.add(readAccount(slot));
+        }
+        if (Metrics.ENABLED) {
+            Metrics.LOAD.recordSince(start);
+        }
+        return accounts;
+    }
+
+    /**
+     * findSlot: Returns the record number of the account with the
+     * given ID. The first call builds a primitive open addressing
+     * index over the IDs.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The account ID to look for
+     * @return the record number, or -1 if the ID is not stored
+     * @since 18 Oct 2026
+     */
+    public int findSlot(int accountID) {
+        if (slotKeys == null) {
+            buildSlotIndex();
+        }
+        int mask = slotKeys.length - 1;
+        for (int i = AccountIndex.hash(accountID) & mask; slotValues[i] != 0; i = (i + 1) & mask) {
+            if (slotKeys[i] == accountID) {
+                return slotValues[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * force: Writes in-place updates back to the file.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * write: Writes the given accounts to a new account store file.
+     * The file is built next to the target, fsynced and then renamed
+     * over it, so readers never see a half-written store. Balance
+     * integrals are taken at the time the write starts; account
+     * changes should be paused for them to match the balances.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The account store file
+     * @param accounts The accounts to write, in order
+     * @param coveredEpoch The last journal epoch the accounts include
+     * @return void
+     * @throws IOException if the file cannot be written
+     * @since 18 Oct 2026
+     */
+    public static void write(Path path, List<BankAccount> accounts, long coveredEpoch)
+            throws IOException {
+        byte[][] names = new byte[accounts.size()][];
+        long namesSize = 0;
+        for (int i = 0; i < names.length; i++) {
+            String name = accounts.get(i).getCustomerName();
+            names[i] = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+            namesSize += names[i].length;
+        }
+        long stringRegion = HEADER_SIZE + (long) accounts.size() * RECORD_SIZE;
+        long size = stringRegion + namesSize;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Too many accounts for one account store: " + accounts.size());
+        }
+
+        long now = System.currentTimeMillis();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer map = out.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+            map.putInt(MAGIC).putInt(VERSION).putInt(accounts.size()).putInt(RECORD_SIZE)
+                    .putLong(stringRegion).putLong(coveredEpoch + 1L);
+            int nameOffset = 0;
+            for (int i = 0; i < names.length; i++) {
+                BankAccount account = accounts.get(i);
+                map.put(AccountType.of(account).getCode()).put((byte) 0).putShort((short) 0)
+                        .putInt(account.getAccountID())
+                        .putLong(account.getBalanceCents())
+                        .putDouble(account.getAnnualInterestRate())
+                        .putInt(nameOffset)
+                        .putInt(names[i].length)
+                        .putInt(account.getLastInterestPeriod())
+                        .putInt(account.getRatePlan().getPlanID())
+                        .putLong(account.getInterestPeriodStart())
+                        .putLong(now)
+                        .putDouble(account.getBalanceIntegral(now));
+                nameOffset += names[i].length;
+            }
+            for (byte[] name : names) {
+                map.put(name);
+            }
+            map.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ====================== Helper Methods ======================
+
+    private int recordOffset(int slot) {
+        if (slot < 0 || slot >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + slot + " of " + recordCount);
+        }
+        return HEADER_SIZE + slot * recordSize;
+    }
+
+    private void buildSlotIndex() {
+        int capacity = Integer.highestOneBit(Math.max(recordCount, 8) * 2 - 1) << 1;
+        int[] keys = new int[capacity];
+        int[] values = new int[capacity];
+        int mask = capacity - 1;
+        for (int slot = 0; slot < recordCount; slot++) {
+            int accountID = getAccountID(slot);
+            int i = AccountIndex.hash(accountID) & mask;
+            while (values[i] != 0 && keys[i] != accountID) {
+                i = (i + 1) & mask;
+            }
+            if (values[i] == 0) {       // The first record for an ID wins
+                keys[i] = accountID;
+                values[i] = slot + 1;
+            }
+        }
+        slotKeys = keys;
+        slotValues = values;
+    }
+} // End of class AccountStore
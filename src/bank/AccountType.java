@@ -0,0 +1,141 @@
+package bank;
+
+/**
+ * AccountType: This enum lists the kinds of accounts the system
+ * stores. Each type has the name used in accounts.txt and a one-byte
+ * code used by the binary files, and can create a new account of
+ * its kind.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+public enum AccountType {
+    BANK_ACCOUNT("BankAccount", (byte) 0),
+    CHECKING("Checking", (byte) 1),
+    SAVINGS("Savings", (byte) 2);
+
+    // ========================== Fields ==========================
+    private final String name;  // Name written to accounts.txt
+    private final byte code;    // Code written to binary files
+
+    // ====================== Constructors ========================
+
+    AccountType(String name, byte code) {
+        this.name = name;
+        this.code = code;
+    }
+
+    // ========================= Getters ==========================
+
+    public String getName() {
+        return name;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * of: Returns the type of the given account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account The account to check
+     * @return the AccountType of the account
+     * @since 18 Oct 2026
+     */
+    public static AccountType of(BankAccount account) {
+        if (account instanceof CheckingAccount) {
+            return CHECKING;
+        } else if (account instanceof SavingsAccount) {
+            return SAVINGS;
+        }
+        return BANK_ACCOUNT;
+    }
+
+    /**
+     * fromName: Returns the type with the given name, ignoring case.
+     * Unknown names map to BANK_ACCOUNT, as they always have when
+     * loading accounts.txt.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param name The type name, e.g. "Checking"
+     * @return the matching AccountType
+     * @since 18 Oct 2026
+     */
+    public static AccountType fromName(String name) {
+        if (CHECKING.name.equalsIgnoreCase(name)) {
+            return CHECKING;
+        } else if (SAVINGS.name.equalsIgnoreCase(name)) {
+            return SAVINGS;
+        }
+        return BANK_ACCOUNT;
+    }
+
+    /**
+     * parse: Returns the type with the given name, ignoring case and
+     * surrounding spaces. Unlike fromName, unknown names are rejected,
+     * for input typed or sent by a user.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param name The type name, e.g. "Checking"
+     * @return the matching AccountType
+     * @throws IllegalArgumentException if no type has that name
+     * @since 18 Oct 2026
+     */
+    public static AccountType parse(String name) {
+        String trimmed = name.trim();
+        for (AccountType type : values()) {
+            if (type.name.equalsIgnoreCase(trimmed)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("unknown account type " + trimmed);
+    }
+
+    /**
+     * fromCode: Returns the type with the given binary code.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param code The type code
+     * @return the matching AccountType
+     * @throws IllegalArgumentException if the code is unknown
+     * @since 18 Oct 2026
+     */
+    public static AccountType fromCode(byte code) {
+        for (AccountType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown account type code: " + code);
+    }
+
+    /**
+     * newAccount: Creates an account of this type.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param customerName The name of the account holder
+     * @param accountID The account ID
+     * @param initialBalance The initial balance for the account
+     * @return a new BankAccount of this type
+     * @since 18 Oct 2026
+     */
+    public BankAccount newAccount(String customerName, int accountID, double initialBalance) {
+        switch (this) {
+            case CHECKING:
+                return new CheckingAccount(customerName, accountID, initialBalance);
+            case SAVINGS:
+                return new SavingsAccount(customerName, accountID, initialBalance);
+            default:
+                return new BankAccount(customerName, accountID, initialBalance);
+        }
+    }
+} // End of enum AccountType
@@ -0,0 +1,141 @@
+package bank;
+
+/**
+ * AccrualSummary: This class totals one month-end interest run by
+ * account type: how many accounts were posted, how much interest
+ * they earned, and how many were skipped because that month was
+ * already posted by an earlier run.
+ * NOTE: This class is used by InterestAccrual and BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.time.YearMonth;
+
+public class AccrualSummary {
+    // ========================== Fields ==========================
+    private final YearMonth period;         // Month the run posted for
+    private final long[] postedCounts;      // Accounts posted, by AccountType ordinal
+    private final long[] interestCents;     // Interest posted, by AccountType ordinal
+    private final long[] skippedCounts;     // Accounts already posted, by AccountType ordinal
+
+    // ====================== Constructors ========================
+
+    /**
+     * AccrualSummary: This constructor initializes empty totals for
+     * a run over the given month.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param period The month the run posts interest for
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public AccrualSummary(YearMonth period) {
+        int types = AccountType.values().length;
+        this.period = period;
+        this.postedCounts = new long[types];
+        this.interestCents = new long[types];
+        this.skippedCounts = new long[types];
+    }
+
+    // ========================= Getters ==========================
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public long getPostedCount(AccountType type) {
+        return postedCounts[type.ordinal()];
+    }
+
+    public long getInterestCents(AccountType type) {
+        return interestCents[type.ordinal()];
+    }
+
+    public long getSkippedCount(AccountType type) {
+        return skippedCounts[type.ordinal()];
+    }
+
+    /**
+     * getPostedCount: Returns the number of accounts posted by this
+     * run, over every account type.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of accounts posted
+     * @since 18 Oct 2026
+     */
+    public long getPostedCount() {
+        return sum(postedCounts);
+    }
+
+    /**
+     * getInterestCents: Returns the interest posted by this run, over
+     * every account type.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the total interest in cents
+     * @since 18 Oct 2026
+     */
+    public long getInterestCents() {
+        return sum(interestCents);
+    }
+
+    /**
+     * getSkippedCount: Returns the number of accounts skipped because
+     * the month was already posted, over every account type.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of accounts skipped
+     * @since 18 Oct 2026
+     */
+    public long getSkippedCount() {
+        return sum(skippedCounts);
+    }
+
+    // ====================== Other Methods =======================
+
+    void addPosted(AccountType type, long cents) {
+        postedCounts[type.ordinal()]++;
+        interestCents[type.ordinal()] += cents;
+    }
+
+    void addSkipped(AccountType type) {
+        skippedCounts[type.ordinal()]++;
+    }
+
+    /**
+     * merge: Adds another partition's totals to these.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param other The totals to add
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void merge(AccrualSummary other) {
+        for (int i = 0; i < postedCounts.length; i++) {
+            postedCounts[i] += other.postedCounts[i];
+            interestCents[i] += other.interestCents[i];
+            skippedCounts[i] += other.skippedCounts[i];
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    private static long sum(long[] values) {
+        long total = 0L;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+} // End of class AccrualSummary
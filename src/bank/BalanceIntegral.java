@@ -0,0 +1,247 @@
+package bank;
+
+/**
+ * BalanceIntegral: This class keeps the running integral of one
+ * account's balance over time since the start of its interest period,
+ * from which the average daily balance and the interest earned on it
+ * are read in O(1) at any time.
+ *
+ * Replaying the history to integrate would cost one step per
+ * transaction. Instead, the integral is kept up to the time of the
+ * last balance change, together with the balance since then, so each
+ * change only adds balance * (time - last time) and moves the balance
+ * by its delta. The integral to a later time T is that integral plus
+ * balance * (T - last time). Changes that arrive slightly out of time
+ * order subtract what was over-counted, so the sum is exact in any
+ * order.
+ *
+ * The whole state is one immutable object swapped with a
+ * compare-and-set, so a change and the closing of a period can never
+ * interleave: every change lands wholly in the period before the
+ * close or wholly in the one after it, and concurrent deposits and
+ * withdrawals still need no lock. Each change moves the point the
+ * integral is measured from up to its own time, so no long-lived
+ * origin is kept. Amounts are in cents and times in epoch
+ * milliseconds; the integral is kept exactly as whole cent-days plus
+ * the cent-milliseconds left over, in longs, which holds for balances
+ * up to a billion dollars.
+ * NOTE: This class is used by BankAccount.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+public class BalanceIntegral {
+    // ========================== Fields ==========================
+    private volatile State state;       // Period start, integral and balance as of the last change
+
+    // ===================== Default Values =======================
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(BalanceIntegral.class, "state", State.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // ====================== Constructors ========================
+
+    /**
+     * BalanceIntegral: This constructor starts an interest period at
+     * the given time and balance.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The start of the period, in epoch milliseconds
+     * @param balanceCents The balance at that time, in cents
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public BalanceIntegral(long time, long balanceCents) {
+        this.state = new State(time, time, 0L, 0L, balanceCents);
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getPeriodStart: Returns when the current period began.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the start of the period, in epoch milliseconds
+     * @since 18 Oct 2026
+     */
+    public long getPeriodStart() {
+        return state.periodStart;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * addFlow: Records a balance change. Called once for every
+     * deposit, withdrawal or other change, after the balance moved.
+     * A change dated before the period started counts from the start.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param deltaCents The change in cents, negative for withdrawals
+     * @param time When the change happened, in epoch milliseconds
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void addFlow(long deltaCents, long time) {
+        State current;
+        State next;
+        do {
+            current = state;
+            next = current.advance(Math.max(time, current.periodStart), deltaCents);
+        } while (!STATE.compareAndSet(this, current, next));
+    }
+
+    /**
+     * integral: Returns the integral of the balance from the start of
+     * the period to the given time, in cent-milliseconds.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time to integrate to, in epoch milliseconds
+     * @return the balance-time integral
+     * @since 18 Oct 2026
+     */
+    public double integral(long time) {
+        State s = state.advance(time, 0L);
+        return (double) s.days * MILLIS_PER_DAY + s.millis;
+    }
+
+    /**
+     * balanceDays: Returns the integral from the start of the period
+     * to the given time in cent-days, i.e. the sum of the daily
+     * balances. Interest at a daily rate is this times the rate.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time to integrate to, in epoch milliseconds
+     * @return the integral in cent-days, rounded
+     * @since 18 Oct 2026
+     */
+    public long balanceDays(long time) {
+        return state.advance(time, 0L).roundedDays();
+    }
+
+    /**
+     * averageBalance: Returns the average balance from the start of
+     * the period to the given time.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time to average to, in epoch milliseconds
+     * @return the average balance in cents, or the current balance if
+     *         the period has just started
+     * @since 18 Oct 2026
+     */
+    public long averageBalance(long time) {
+        State s = state;
+        long elapsed = time - s.periodStart;
+        if (elapsed <= 0L) {
+            return s.balance;
+        }
+        State at = s.advance(time, 0L);
+        return Math.round(((double) at.days * MILLIS_PER_DAY + at.millis) / elapsed);
+    }
+
+    /**
+     * startPeriod: Closes the current period at the given time and
+     * starts a new one with the balance then, in one compare-and-set,
+     * so no change is counted in both periods or in neither.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The start of the new period, in epoch milliseconds
+     * @return the closed period's integral in cent-days, rounded
+     * @since 18 Oct 2026
+     */
+    public long startPeriod(long time) {
+        State current;
+        State closed;
+        do {
+            current = state;
+            closed = current.advance(time, 0L);
+        } while (!STATE.compareAndSet(this, current, new State(time, time, 0L, 0L, closed.balance)));
+        return closed.roundedDays();
+    }
+
+    /**
+     * restore: Continues a period saved earlier, given its start and
+     * the integral up to when it was saved. Changes recorded after
+     * this call should be the ones that happened after the save.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param periodStart The start of the saved period, in epoch milliseconds
+     * @param savedTime When the integral was saved, in epoch milliseconds
+     * @param savedIntegral The integral up to savedTime, in cent-milliseconds
+     * @param balanceCents The balance at savedTime, in cents
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void restore(long periodStart, long savedTime, double savedIntegral, long balanceCents) {
+        long days = (long) Math.floor(savedIntegral / MILLIS_PER_DAY);
+        long millis = Math.round(savedIntegral - (double) days * MILLIS_PER_DAY);
+        state = new State(periodStart, savedTime, days + Math.floorDiv(millis, MILLIS_PER_DAY),
+                Math.floorMod(millis, MILLIS_PER_DAY), balanceCents);
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * State: The start of the period, the time of the last change, the
+     * integral up to it as whole cent-days plus leftover
+     * cent-milliseconds, and the balance since it.
+     */
+    private static final class State {
+        private final long periodStart;
+        private final long time;
+        private final long days;
+        private final long millis;      // Always in [0, MILLIS_PER_DAY)
+        private final long balance;
+
+        private State(long periodStart, long time, long days, long millis, long balance) {
+            this.periodStart = periodStart;
+            this.time = time;
+            this.days = days;
+            this.millis = millis;
+            this.balance = balance;
+        }
+
+        /**
+         * advance: Returns the state after integrating the balance up
+         * to the given time and then moving it by the delta. The
+         * elapsed time is split into days and milliseconds so neither
+         * product can overflow.
+         */
+        private State advance(long to, long deltaCents) {
+            long elapsed = to - time;
+            long leftover = millis + balance * Math.floorMod(elapsed, MILLIS_PER_DAY);
+            long wholeDays = days + balance * Math.floorDiv(elapsed, MILLIS_PER_DAY)
+                    + Math.floorDiv(leftover, MILLIS_PER_DAY);
+            return new State(periodStart, to, wholeDays, Math.floorMod(leftover, MILLIS_PER_DAY),
+                    balance + deltaCents);
+        }
+
+        /**
+         * roundedDays: Returns the integral in cent-days, rounded half up.
+         */
+        private long roundedDays() {
+            return days + (2 * millis >= MILLIS_PER_DAY ? 1L : 0L);
+        }
+    }
+} // End of class BalanceIntegral
@@ -0,0 +1,925 @@
+package bank;
+
+/**
+ * BankAccount: This class represents a bank account with data fields:
+ * account ID, customer name, balance, rate plan, date
+ * created, and a list of transactions. It provides functionality to
+ * deposit, withdraw, and calculate monthly interest.
+ * The balance is a fixed-point long of cents updated with
+ * compare-and-set, so concurrent deposits and withdrawals never
+ * block each other or lose an update, and no rounding drift builds
+ * up over millions of operations. The interest rate comes from a
+ * RatePlan shared with other accounts, so a rate change reaches every
+ * account on the plan at once. Month-end interest is posted at most
+ * once per month, tracked by the last month it was posted for, and is
+ * earned on the average daily balance: a BalanceIntegral updated in
+ * O(1) on every balance change gives the sum of the daily balances
+ * since the last posting without replaying any transactions.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 14 Feb 2025
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+
+public class BankAccount {
+    // ========================== Fields ==========================
+    private volatile int accountID;         // Unique account ID
+    private volatile String customerName;   // Name of the customer
+    private volatile long balanceCents;     // Current balance in cents, updated by CAS
+    private volatile RatePlan ratePlan;     // Plan the interest rate comes from
+    private Date dateCreated;               // Date the account was created
+    private final TransactionLog transactions = new TransactionLog(); // Transaction history
+    private final BalanceIntegral balanceIntegral; // Balance over time since the last interest
+    private volatile Ledger ledger;         // Ledger this account is registered in, if any
+    private volatile boolean dirty;         // Changed since the last checkpoint
+    private volatile int lastInterestPeriod; // Last month interest was posted for, as yyyymm
+    private volatile long reportCutStamp;   // Epoch of the last ReportCut that saved this account
+    private int archivedHistory;            // History entries already in the HistoryArchive
+
+    // ===================== Default Values =======================
+    private static final int DEFAULT_ID = 0;
+    private static final double DEFAULT_BALANCE = 0.0;
+    private static final double DEFAULT_INTEREST_RATE = 0.0;
+    static final long DECLINED = Long.MIN_VALUE;     // Returned by applyUnjournaled
+
+    private static final VarHandle BALANCE_CENTS;
+    private static final VarHandle DIRTY;
+    private static final VarHandle LAST_INTEREST_PERIOD;
+    private static final VarHandle REPORT_CUT_STAMP;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            BALANCE_CENTS = lookup.findVarHandle(BankAccount.class, "balanceCents", long.class);
+            DIRTY = lookup.findVarHandle(BankAccount.class, "dirty", boolean.class);
+            LAST_INTEREST_PERIOD = lookup.findVarHandle(BankAccount.class, "lastInterestPeriod", int.class);
+            REPORT_CUT_STAMP = lookup.findVarHandle(BankAccount.class, "reportCutStamp", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // ====================== Constructors ========================
+
+    /**
+     * BankAccount: This no argument constructor initializes
+     * a default BankAccount object.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 14 Feb 2025
+     */
+    public BankAccount() {
+        this.customerName = "NoName";
+        this.accountID = DEFAULT_ID;
+        this.balanceCents = Money.toCents(DEFAULT_BALANCE);
+        this.ratePlan = RatePlans.getDefault().forRate(DEFAULT_INTEREST_RATE);
+        this.dateCreated = new Date();
+        this.balanceIntegral = new BalanceIntegral(dateCreated.getTime(), balanceCents);
+    }
+
+    /**
+     * BankAccount: This constructor initializes an account with the
+     * customer name, account ID, and initial balance.
+     *
+     * @author London Paris
+     * @version
+     *   1.0
+     * @param customerName The name of the account holder
+     * @param accountID The account ID
+     * @param initialBalance The initial balance for the account
+     * @return void
+     * @since 14 Feb 2025
+     */
+    public BankAccount(String customerName, int accountID, double initialBalance) {
+        this.customerName = customerName;
+        this.accountID = accountID;
+        this.balanceCents = Money.toCents(initialBalance);
+        this.ratePlan = RatePlans.getDefault().forRate(DEFAULT_INTEREST_RATE);
+        this.dateCreated = new Date();
+        this.balanceIntegral = new BalanceIntegral(dateCreated.getTime(), balanceCents);
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getAccountID: Returns the account ID.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @return the int accountID
+     * @since 14 Feb 2025
+     */
+    public int getAccountID() {
+        return accountID;
+    }
+
+    /**
+     * getBalance: Returns the current balance of this account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the double balance
+     * @since 14 Feb 2025
+     */
+    public double getBalance() {
+        return Money.toDollars(balanceCents);
+    }
+
+    /**
+     * getBalanceCents: Returns the current balance of this account
+     * in cents.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the long balance in cents
+     * @since 18 Oct 2026
+     */
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    /**
+     * getAnnualInterestRate: Returns the current annual interest rate
+     * of this account's rate plan as a percentage.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the double annual interest rate
+     * @since 14 Feb 2025
+     */
+    public double getAnnualInterestRate() {
+        return ratePlan.getAnnualInterestRate();
+    }
+
+    /**
+     * getRatePlan: Returns the rate plan this account earns interest
+     * under.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the account's RatePlan
+     * @since 18 Oct 2026
+     */
+    public RatePlan getRatePlan() {
+        return ratePlan;
+    }
+
+    /**
+     * getDateCreated: Returns the Date the account was created.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a Date object representing the creation date
+     * @since 14 Feb 2025
+     */
+    public Date getDateCreated() {
+        return dateCreated;
+    }
+
+    /**
+     * getCustomerName: Returns the customer's name.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a String representing the customer's name
+     * @since 14 Feb 2025
+     */
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    /**
+     * getLastInterestPeriod: Returns the last month interest was
+     * posted for, as yyyymm (e.g. 202610).
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the last posted period, or 0 if interest was never posted
+     * @since 18 Oct 2026
+     */
+    public int getLastInterestPeriod() {
+        return lastInterestPeriod;
+    }
+
+    /**
+     * getAverageDailyBalance: Returns the average balance since
+     * interest was last posted (or since the account was opened or
+     * loaded, if it never was), weighted by how long each balance was
+     * held.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the average balance in dollars
+     * @since 18 Oct 2026
+     */
+    public double getAverageDailyBalance() {
+        return Money.toDollars(balanceIntegral.averageBalance(System.currentTimeMillis()));
+    }
+
+    /**
+     * getAccruedInterest: Returns the interest earned so far on the
+     * daily balances since interest was last posted, which is what
+     * posting interest now would add.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the accrued interest in dollars
+     * @since 18 Oct 2026
+     */
+    public double getAccruedInterest() {
+        return Money.toDollars(accruedInterestCents(ratePlan.getFactors(),
+                balanceIntegral.balanceDays(System.currentTimeMillis())));
+    }
+
+    /**
+     * getInterestPeriodStart: Returns when the current interest period
+     * began: when interest was last posted, or when the account was
+     * opened if it never was.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the start of the period, in epoch milliseconds
+     * @since 18 Oct 2026
+     */
+    public long getInterestPeriodStart() {
+        return balanceIntegral.getPeriodStart();
+    }
+
+    /**
+     * getTransactions: Returns a read-only view of the transactions
+     * associated with this account so far. The view is safe to
+     * iterate while other threads keep using the account; each entry
+     * is built from the transaction log as it is read.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a read-only List of Transaction objects
+     * @since 14 Feb 2025
+     */
+    public List<Transaction> getTransactions() {
+        return transactions.view();
+    }
+
+    /**
+     * findTransactions: Returns one page of this account's
+     * transactions between two dates, optionally of one type only,
+     * oldest first. Pass 0 as startIndex for the first page and
+     * the previous page's next index for each following one.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param from The earliest date to include
+     * @param to The date to stop before
+     * @param type The transaction type ('D', 'W' or 'I'), or
+     *        TransactionLog.ANY_TYPE for all types
+     * @param startIndex The entry index to resume from
+     * @param limit The most transactions to return
+     * @return a TransactionPage of matching transactions
+     * @since 18 Oct 2026
+     */
+    public TransactionPage findTransactions(Date from, Date to, char type,
+                                            int startIndex, int limit) {
+        return transactions.query(from.getTime(), to.getTime(), type, startIndex, limit);
+    }
+
+    /**
+     * getTransactionLog: Returns the columnar log behind this
+     * account's history, for callers that want the primitive columns
+     * without building Transaction objects.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the account's TransactionLog
+     * @since 18 Oct 2026
+     */
+    public TransactionLog getTransactionLog() {
+        return transactions;
+    }
+
+    /**
+     * getArchivedHistory: Returns how many of this account's history
+     * entries are already in the HistoryArchive. Read and written only
+     * while the ledger's changes are paused, or before it is shared.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of archived entries
+     * @since 18 Oct 2026
+     */
+    int getArchivedHistory() {
+        return archivedHistory;
+    }
+
+    // ========================= Setters ==========================
+    // If required, you can add doc blocks for these as well.
+
+    /**
+     * setAccountID: Changes the account ID of an account that is not
+     * registered in a Ledger yet. A registered account keeps its ID,
+     * since its journal records, snapshots and archived history are
+     * all kept under it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The new account ID
+     * @return void
+     * @throws IllegalStateException if the account is in a ledger
+     * @since 18 Oct 2026
+     */
+    public void setAccountID(int accountID) {
+        if (ledger != null) {
+            throw new IllegalStateException("Account " + this.accountID
+                    + " is in a ledger and cannot change its ID.");
+        }
+        this.accountID = accountID;
+    }
+
+    /**
+     * setBalance: Sets the balance directly, without a transaction.
+     * The jump still counts toward the average daily balance from now.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param balance The new balance
+     * @return void
+     * @since 14 Feb 2025
+     */
+    public void setBalance(double balance) {
+        long newCents = Money.toCents(balance);
+        preserveForReport();
+        long oldCents = (long) BALANCE_CENTS.getAndSet(this, newCents);
+        balanceIntegral.addFlow(newCents - oldCents, System.currentTimeMillis());
+        markDirty();
+    }
+
+    /**
+     * setAnnualInterestRate: Moves this account to the shared rate
+     * plan for the given rate, creating that plan if no account has
+     * used the rate yet.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param annualInterestRate The annual interest rate in percent
+     * @return void
+     * @since 14 Feb 2025
+     */
+    public void setAnnualInterestRate(double annualInterestRate) {
+        setRatePlan(RatePlans.getDefault().forRate(annualInterestRate));
+    }
+
+    public void setRatePlan(RatePlan ratePlan) {
+        preserveForReport();
+        this.ratePlan = ratePlan;
+        markDirty();
+    }
+
+    public void setCustomerName(String customerName) {
+        this.customerName = customerName;
+        markDirty();
+    }
+
+    void setLastInterestPeriod(int lastInterestPeriod) {
+        this.lastInterestPeriod = lastInterestPeriod;
+        markDirty();
+    }
+
+    void setArchivedHistory(int archivedHistory) {
+        this.archivedHistory = archivedHistory;
+    }
+
+    void setLedger(Ledger ledger) {
+        this.ledger = ledger;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * getMonthlyInterestRate: Returns the monthly interest rate,
+     * (annualInterestRate / 12) as a decimal, not a percentage.
+     * Example: if annualInterestRate is 1.5%, this method returns
+     * 0.015 / 12 = 0.00125. The value comes from the rate plan's
+     * precomputed monthly factor.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the monthly interest rate in decimal form
+     * @since 14 Feb 2025
+     */
+    public double getMonthlyInterestRate() {
+        return ratePlan.getFactors().getMonthlyInterestRate();
+    }
+
+    /**
+     * getMonthlyInterest: Returns the monthly interest in dollars,
+     * calculated as balance * monthlyInterestRate and rounded to the
+     * cent, the same amount month-end accrual would post now.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the monthly interest amount
+     * @since 14 Feb 2025
+     */
+    public double getMonthlyInterest() {
+        return Money.toDollars(ratePlan.getFactors().monthlyInterestCents(balanceCents));
+    }
+
+    /**
+     * withdraw: Withdraws the specified amount from this account
+     * if the balance stays at or above the account's overdraft floor.
+     * A declined withdrawal changes nothing and prints nothing; use
+     * tryWithdraw to find out whether it went through.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param amount The amount to withdraw
+     * @param description A short description for this withdrawal
+     * @return void
+     * @since 14 Feb 2025
+     */
+    public void withdraw(double amount, String description) {
+        tryWithdraw(amount, description);
+    }
+
+    /**
+     * tryWithdraw: Withdraws the specified amount like withdraw and
+     * returns the outcome. The results are shared enum constants, so
+     * nothing is allocated or printed either way, and the subclasses'
+     * rules apply through getOverdraftFloorCents.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param amount The amount to withdraw
+     * @param description A short description for this withdrawal
+     * @return OK, INSUFFICIENT_FUNDS or OVERDRAFT_EXCEEDED
+     * @since 18 Oct 2026
+     */
+    public TransactionResult tryWithdraw(double amount, String description) {
+        return tryWithdrawCents(Money.toCents(amount), description);
+    }
+
+    /**
+     * deposit: Deposits the amount into this account and
+     * records a transaction.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param amount The amount to deposit
+     * @param description A short description for this deposit
+     * @return void
+     * @since 14 Feb 2025
+     */
+    public void deposit(double amount, String description) {
+        depositCents(Money.toCents(amount), description);
+    }
+
+    /**
+     * getOverdraftFloorCents: Returns the lowest balance in cents this
+     * account may reach through a withdrawal. A plain account cannot
+     * go below zero; subclasses override this for their own rules.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the balance floor in cents
+     * @since 18 Oct 2026
+     */
+    protected long getOverdraftFloorCents() {
+        return 0L;
+    }
+
+    /**
+     * depositCents: Adds the amount to the balance with a single
+     * atomic add and records a transaction.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param amountCents The amount to deposit in cents
+     * @param description A short description for this deposit
+     * @return void
+     * @since 18 Oct 2026
+     */
+    protected final void depositCents(long amountCents, String description) {
+        Ledger owner = ledger;
+        int stripe = owner != null ? owner.enterChange() : 0;
+        try {
+            preserveForReport();
+            long balanceAfter = (long) BALANCE_CENTS.getAndAdd(this, amountCents) + amountCents;
+            long time = recordTransaction('D', amountCents, balanceAfter, description);
+            balanceIntegral.addFlow(amountCents, time);
+            if (Metrics.ENABLED) {
+                Metrics.DEPOSITS.increment();
+            }
+        } finally {
+            if (owner != null) {
+                owner.exitMutation(stripe);
+            }
+        }
+    }
+
+    /**
+     * withdrawCents: Withdraws the amount with a compare-and-set loop,
+     * as long as the balance stays at or above the given floor, and
+     * records a transaction. Subclasses call this with the floor that
+     * matches their overdraft rule.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param amountCents The amount to withdraw in cents
+     * @param floorCents The lowest balance allowed after the withdrawal
+     * @param description A short description for this withdrawal
+     * @return true if withdrawn, false if the floor would be crossed
+     * @since 18 Oct 2026
+     */
+    protected final boolean withdrawCents(long amountCents, long floorCents, String description) {
+        Ledger owner = ledger;
+        int stripe = owner != null ? owner.enterChange() : 0;
+        try {
+            preserveForReport();
+            long current;
+            long balanceAfter;
+            do {
+                current = balanceCents;
+                balanceAfter = current - amountCents;
+                if (balanceAfter < floorCents) {
+                    if (Metrics.ENABLED) {
+                        Metrics.recordDecline(AccountType.of(this), declineReason());
+                    }
+                    return false;
+                }
+            } while (!BALANCE_CENTS.compareAndSet(this, current, balanceAfter));
+            long time = recordTransaction('W', amountCents, balanceAfter, description);
+            balanceIntegral.addFlow(-amountCents, time);
+            if (Metrics.ENABLED) {
+                Metrics.WITHDRAWALS.increment();
+            }
+            return true;
+        } finally {
+            if (owner != null) {
+                owner.exitMutation(stripe);
+            }
+        }
+    }
+
+    /**
+     * tryWithdrawCents: Withdraws the amount in cents under this
+     * account's overdraft floor and reports why it was declined.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param amountCents The amount to withdraw in cents
+     * @param description A short description for this withdrawal
+     * @return OK, or the reason the withdrawal was declined
+     * @since 18 Oct 2026
+     */
+    public TransactionResult tryWithdrawCents(long amountCents, String description) {
+        if (withdrawCents(amountCents, getOverdraftFloorCents(), description)) {
+            return TransactionResult.OK;
+        }
+        return declineReason();
+    }
+
+    /**
+     * declineReason: Returns why a withdrawal crossing this account's
+     * overdraft floor is declined.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return OVERDRAFT_EXCEEDED if the account may overdraw,
+     *         INSUFFICIENT_FUNDS otherwise
+     * @since 18 Oct 2026
+     */
+    TransactionResult declineReason() {
+        return getOverdraftFloorCents() < 0L ? TransactionResult.OVERDRAFT_EXCEEDED
+                : TransactionResult.INSUFFICIENT_FUNDS;
+    }
+
+    /**
+     * applyUnjournaled: Applies a deposit or a withdrawal under this
+     * account's overdraft floor and records it in the history, like
+     * depositCents and withdrawCents, but neither enters the ledger's
+     * mutation gate nor journals it. Used by LedgerEngine, whose
+     * business thread holds the gate for a whole batch of commands
+     * and whose journal stage journals them afterwards.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The amount in cents
+     * @param time The time of the transaction, in epoch milliseconds
+     * @param description A short description of the transaction
+     * @return the balance after in cents, or DECLINED if a withdrawal
+     *         would cross the floor
+     * @since 18 Oct 2026
+     */
+    long applyUnjournaled(char type, long amountCents, long time, String description) {
+        preserveForReport();
+        long balanceAfter;
+        if (type == 'D') {
+            balanceAfter = (long) BALANCE_CENTS.getAndAdd(this, amountCents) + amountCents;
+        } else {
+            long floorCents = getOverdraftFloorCents();
+            long current;
+            do {
+                current = balanceCents;
+                balanceAfter = current - amountCents;
+                if (balanceAfter < floorCents) {
+                    if (Metrics.ENABLED) {
+                        Metrics.recordDecline(AccountType.of(this), declineReason());
+                    }
+                    return DECLINED;
+                }
+            } while (!BALANCE_CENTS.compareAndSet(this, current, balanceAfter));
+        }
+        time = transactions.append(time, type, amountCents, balanceAfter, description);
+        balanceIntegral.addFlow(type == 'D' ? amountCents : -amountCents, time);
+        markDirty();
+        if (Metrics.ENABLED) {
+            (type == 'D' ? Metrics.DEPOSITS : Metrics.WITHDRAWALS).increment();
+        }
+        return balanceAfter;
+    }
+
+    /**
+     * postInterest: Posts the interest earned on the daily balances
+     * since interest was last posted as an 'I' transaction, unless
+     * interest was already posted for this month or a later one, and
+     * starts a new interest period. The month is claimed with a
+     * compare-and-set before the balance moves, so two runs for the
+     * same month can never both post. The interest is the sum of the
+     * daily balances times the plan's daily rate, read in O(1) from
+     * the balance integral, so money deposited just before the posting
+     * earns only for the time it was held. The old period is closed
+     * and the new one started in one step of the integral, so a
+     * deposit made meanwhile counts in exactly one of them. Accounts
+     * whose balance averaged zero or less earn nothing but are still
+     * marked as posted.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param period The month to post for, as yyyymm
+     * @param description A short description for the interest transaction
+     * @return the interest posted in cents, or -1 if already posted
+     * @since 18 Oct 2026
+     */
+    public long postInterest(int period, String description) {
+        Ledger owner = ledger;
+        int stripe = owner != null ? owner.enterChange() : 0;
+        try {
+            int last;
+            do {
+                last = lastInterestPeriod;
+                if (last >= period) {
+                    return -1L;
+                }
+            } while (!LAST_INTEREST_PERIOD.compareAndSet(this, last, period));
+
+            preserveForReport();
+            long time = System.currentTimeMillis();
+            long interest = accruedInterestCents(ratePlan.getFactors(),
+                    balanceIntegral.startPeriod(time));
+            long balanceAfter = (long) BALANCE_CENTS.getAndAdd(this, interest) + interest;
+            if (interest != 0L) {
+                time = transactions.append(time, 'I', interest, balanceAfter, description);
+                balanceIntegral.addFlow(interest, time);
+            }
+            if (owner != null) {
+                // Journaled even when nothing was earned, to keep the month marked
+                owner.journalInterest(accountID, period, time, interest, balanceAfter, description);
+            }
+            markDirty();
+            return interest;
+        } finally {
+            if (owner != null) {
+                owner.exitMutation(stripe);
+            }
+        }
+    }
+
+    /**
+     * recordTransaction: Appends a transaction to this account's
+     * history and, if the account belongs to a journaled ledger, to
+     * the journal, and marks the account dirty for the next
+     * checkpoint. The transaction log is the only state behind a
+     * lock, and it is held just long enough to append.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The transaction amount in cents
+     * @param balanceAfterCents The balance after the transaction in cents
+     * @param description A short description of the transaction
+     * @return the time the transaction was logged at, in epoch milliseconds
+     * @since 18 Oct 2026
+     */
+    protected final long recordTransaction(char type, long amountCents,
+                                           long balanceAfterCents, String description) {
+        long time = transactions.append(System.currentTimeMillis(), type, amountCents,
+                balanceAfterCents, description);
+        Ledger owner = ledger;
+        if (owner != null) {
+            owner.journalTransaction(accountID, time, type, amountCents,
+                    balanceAfterCents, description);
+        }
+        markDirty();
+        return time;
+    }
+
+    /**
+     * recordTransaction: Records an already built transaction. Its
+     * amounts are rounded to cents.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param t The transaction to record
+     * @return void
+     * @since 18 Oct 2026
+     */
+    protected void recordTransaction(Transaction t) {
+        recordTransaction(t.getTransactionType(), Money.toCents(t.getAmount()),
+                Money.toCents(t.getBalanceAfter()), t.getDescription());
+    }
+
+    /**
+     * preserveForReport: Saves this account's state for the report
+     * cut its ledger has open, if any, before the account changes.
+     * Must be called inside the ledger's mutation gate.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private void preserveForReport() {
+        Ledger owner = ledger;
+        ReportCut cut = owner != null ? owner.getReportCut() : null;
+        if (cut != null) {
+            cut.preserve(this);
+        }
+    }
+
+    long getReportCutStamp() {
+        return reportCutStamp;
+    }
+
+    boolean claimReportCut(long expected, long claimed) {
+        return REPORT_CUT_STAMP.compareAndSet(this, expected, claimed);
+    }
+
+    void setReportCutStamp(long stamp) {
+        reportCutStamp = stamp;
+    }
+
+    /**
+     * replayTransaction: Re-applies a transaction read back from the
+     * journal. The balance is moved by the transaction amount rather
+     * than set to the recorded balance, since concurrent transactions
+     * may have reached the journal in a different order than they
+     * were applied.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time of the original transaction, in epoch milliseconds
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The transaction amount in cents
+     * @param balanceAfterCents The balance recorded after the transaction
+     * @param description The transaction description
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void replayTransaction(long time, char type, long amountCents,
+                           long balanceAfterCents, String description) {
+        long delta = type == 'W' ? -amountCents : amountCents;
+        preserveForReport();
+        BALANCE_CENTS.getAndAdd(this, delta);
+        balanceIntegral.addFlow(delta, transactions.append(time, type, amountCents,
+                balanceAfterCents, description));
+        markDirty();
+    }
+
+    /**
+     * replayInterest: Re-applies an interest posting read back from
+     * the journal, marking its month as posted and starting a new
+     * interest period at the time of the posting.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param period The month the interest was posted for, as yyyymm
+     * @param time The time of the posting, in epoch milliseconds
+     * @param amountCents The interest posted in cents
+     * @param balanceAfterCents The balance recorded after the posting
+     * @param description The transaction description
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void replayInterest(int period, long time, long amountCents,
+                        long balanceAfterCents, String description) {
+        if (period > lastInterestPeriod) {
+            lastInterestPeriod = period;
+        }
+        preserveForReport();
+        balanceIntegral.startPeriod(time);
+        if (amountCents != 0L) {
+            BALANCE_CENTS.getAndAdd(this, amountCents);
+            balanceIntegral.addFlow(amountCents,
+                    transactions.append(time, 'I', amountCents, balanceAfterCents, description));
+        }
+        markDirty();
+    }
+
+    /**
+     * getBalanceIntegral: Returns the integral of the balance from the
+     * start of the interest period to the given time, in
+     * cent-milliseconds. Checkpoints save it with the account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time to integrate to, in epoch milliseconds
+     * @return the balance-time integral
+     * @since 18 Oct 2026
+     */
+    double getBalanceIntegral(long time) {
+        return balanceIntegral.integral(time);
+    }
+
+    /**
+     * restoreInterestPeriod: Continues an interest period saved with
+     * the account's current balance. Called when loading an account,
+     * before any later transactions are replayed.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param periodStart The start of the saved period, in epoch milliseconds
+     * @param savedTime When the integral was saved, in epoch milliseconds
+     * @param savedIntegral The integral up to savedTime, in cent-milliseconds
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void restoreInterestPeriod(long periodStart, long savedTime, double savedIntegral) {
+        balanceIntegral.restore(periodStart, savedTime, savedIntegral, balanceCents);
+    }
+
+    /**
+     * markDirty: Flags this account as changed since the last
+     * checkpoint and queues it on its ledger, once per checkpoint.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void markDirty() {
+        Ledger owner = ledger;
+        if (owner != null && !dirty && DIRTY.compareAndSet(this, false, true)) {
+            owner.queueDirtyAccount(this);
+        }
+    }
+
+    /**
+     * accruedInterestCents: Returns the interest on a sum of daily
+     * balances at a plan's daily rate, or zero if the sum is not
+     * positive.
+     */
+    private static long accruedInterestCents(RatePlan.Factors factors, long balanceDays) {
+        return balanceDays > 0L ? factors.dailyInterestCents(balanceDays) : 0L;
+    }
+
+    /**
+     * clearDirty: Clears the dirty flag. Called by the checkpoint
+     * before it copies the account's state, so a change that races
+     * with the copy queues the account again.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void clearDirty() {
+        dirty = false;
+    }
+} // End of class BankAccount
@@ -0,0 +1,470 @@
+package bank;
+
+/**
+ * BankServer: This class is the embedded HTTP/JSON server that lets
+ * other local processes use the ledger. It is built on the JDK's
+ * com.sun.net.httpserver and only listens on the loopback address.
+ *   POST /accounts                        create an account
+ *   GET  /accounts/{id}                   look up an account
+ *   POST /accounts/{id}/deposit           deposit
+ *   POST /accounts/{id}/withdraw          withdraw
+ *   GET  /accounts/{id}/transactions      page through the history
+ *   GET  /metrics                         the Metrics dump, as plain text
+ *
+ * Request bodies are flat JSON objects. A create takes "type",
+ * "accountID", "customerName", "balance" and either "ratePlan" (a
+ * plan name or rate) or "annualInterestRate"; a deposit or withdrawal
+ * takes "amount" and an optional "description". The history takes
+ * the query parameters from and to (yyyy-MM-dd, both included), type
+ * (D, W or I), start (the nextStart of the previous page) and limit.
+ * Amounts are JSON numbers with two decimals. Declined operations
+ * answer 409 with the TransactionResult name, unknown accounts 404,
+ * malformed requests 400 with "error": "INVALID", and unexpected
+ * failures, such as a journal that can no longer be written, 500 with
+ * "error": "INTERNAL".
+ *
+ * Withdrawals use the same overdraft rules as the menu, through the
+ * account's own floor. When a ReadReplica is given, histories are read
+ * from its copy of the accounts once it is fresh enough, so paging
+ * through long histories does not compete with deposits and
+ * withdrawals; an account too new for the replica is read from the
+ * ledger. Each request runs on its own virtual thread
+ * when the JDK has them (21 and later); older JDKs use a fixed pool
+ * of platform threads instead. Either way an idle or slow connection
+ * does not hold a thread, since the server's dispatcher reads
+ * requests with non-blocking I/O and handlers only run once a request
+ * has arrived, so thousands of clients need only a few threads.
+ * TCP_NODELAY is a JVM-wide setting of the JDK server, the
+ * sun.net.httpserver.nodelay system property, so it is left to the
+ * launcher; BankSystem sets it for the server mode.
+ * NOTE: This class is used by BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class BankServer implements Closeable {
+    // ========================== Fields ==========================
+    private final Ledger ledger;
+    private final ReadReplica replica;          // Serves histories, if given
+    private final HttpServer server;
+    private final ExecutorService executor;     // Runs the request handlers
+
+    // ===================== Default Values =======================
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int BACKLOG = 4096;            // Pending connections the OS may queue
+    private static final int MAX_BODY_SIZE = 1 << 16;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_CREATED = 201;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_BAD_METHOD = 405;
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+    private static final String ACCOUNTS_PATH = "/accounts";
+    private static final String METRICS_PATH = "/metrics";
+
+    // ====================== Constructors ========================
+
+    /**
+     * BankServer: This constructor binds the server to the given port
+     * on the loopback address. Call start() to begin serving.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger the requests are applied to
+     * @param replica A replica of the ledger for history queries, or null
+     * @param port The port to listen on, or 0 for any free port
+     * @return void
+     * @throws IOException if the port cannot be bound
+     * @since 18 Oct 2026
+     */
+    public BankServer(Ledger ledger, ReadReplica replica, int port) throws IOException {
+        this.ledger = ledger;
+        this.replica = replica;
+        this.server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext(ACCOUNTS_PATH, this::handle);
+        server.createContext(METRICS_PATH, BankServer::handleMetrics);
+    }
+
+    // ========================= Getters ==========================
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * start: Starts serving requests on a background thread.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * close: Stops accepting requests, waits up to a second for the
+     * ones in progress to finish, and stops the handler threads.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * newRequestExecutor: Returns an executor that starts a virtual
+     * thread per request, looked up by reflection so the code still
+     * compiles and runs on JDKs without them, or else a fixed pool.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            int threads = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+            return Executors.newFixedThreadPool(threads, task -> {
+                Thread thread = new Thread(task, "bank-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * handle: Routes one request and always sends a response.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = Metrics.start();
+        try {
+            String[] parts = exchange.getRequestURI().getRawPath().split("/");
+            String method = exchange.getRequestMethod();
+            // parts[0] is empty and parts[1] is "accounts"
+            if (parts.length == 2 && parts[1].equals("accounts")) {
+                if (!method.equals("POST")) {
+                    sendError(exchange, HTTP_BAD_METHOD, "METHOD_NOT_ALLOWED", method);
+                    return;
+                }
+                createAccount(exchange);
+                return;
+            }
+            if (parts.length < 3 || parts.length > 4 || !parts[1].equals("accounts")) {
+                sendError(exchange, HTTP_NOT_FOUND, "NOT_FOUND", exchange.getRequestURI().getPath());
+                return;
+            }
+            int accountID = parseID(parts[2]);
+            String action = parts.length == 4 ? parts[3] : "";
+            boolean isGet = action.isEmpty() || action.equals("transactions");
+            if (!action.isEmpty() && !isGet && !action.equals("deposit") && !action.equals("withdraw")) {
+                sendError(exchange, HTTP_NOT_FOUND, "NOT_FOUND", exchange.getRequestURI().getPath());
+                return;
+            }
+            if (!method.equals(isGet ? "GET" : "POST")) {
+                sendError(exchange, HTTP_BAD_METHOD, "METHOD_NOT_ALLOWED", method);
+                return;
+            }
+            BankAccount account = ledger.findAccount(accountID);
+            if (account == null) {
+                sendResult(exchange, HTTP_NOT_FOUND, accountID, TransactionResult.UNKNOWN_ACCOUNT, null);
+                return;
+            }
+            switch (action) {
+                case "":
+                    StringBuilder body = new StringBuilder(256);
+                    appendAccount(body, account);
+                    send(exchange, HTTP_OK, body);
+                    break;
+                case "transactions":
+                    listTransactions(exchange, historyOf(account));
+                    break;
+                default:
+                    moveMoney(exchange, account, action.equals("deposit"));
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, HTTP_BAD_REQUEST, "INVALID", e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Request " + exchange.getRequestURI() + " failed: " + e);
+            sendError(exchange, HTTP_INTERNAL_ERROR, "INTERNAL", e.toString());
+        } finally {
+            exchange.close();
+            if (Metrics.ENABLED) {
+                Metrics.REQUEST.recordSince(start);
+            }
+        }
+    }
+
+    /**
+     * handleMetrics: Answers GET /metrics with the metrics dump.
+     */
+    private static void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET")) {
+                sendError(exchange, HTTP_BAD_METHOD, "METHOD_NOT_ALLOWED", method);
+                return;
+            }
+            byte[] bytes = Metrics.dump().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(HTTP_OK, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * createAccount: Opens an account from the request body.
+     */
+    private void createAccount(HttpExchange exchange) throws IOException {
+        Map<String, String> fields = readBody(exchange);
+        AccountType type = AccountType.parse(required(fields, "type"));
+        int accountID = parseID(required(fields, "accountID"));
+        String customerName = required(fields, "customerName");
+        if (customerName.isBlank()) {
+            throw new IllegalArgumentException("customerName is empty");
+        }
+        double balance = Money.parseAmount(fields.getOrDefault("balance", "0"));
+        String planText = fields.containsKey("ratePlan") ? fields.get("ratePlan")
+                : fields.getOrDefault("annualInterestRate", "0");
+        RatePlan plan = RatePlans.getDefault().parse(planText);
+
+        BankAccount account = type.newAccount(customerName, accountID, balance);
+        account.setRatePlan(plan);
+        if (!ledger.addAccount(account)) {
+            sendError(exchange, HTTP_CONFLICT, "DUPLICATE_ID", "account " + accountID + " already exists");
+            return;
+        }
+        StringBuilder body = new StringBuilder(256);
+        appendAccount(body, account);
+        send(exchange, HTTP_CREATED, body);
+    }
+
+    /**
+     * moveMoney: Applies a deposit or withdrawal from the request body
+     * and answers with the result and the balance.
+     */
+    private void moveMoney(HttpExchange exchange, BankAccount account, boolean deposit) throws IOException {
+        Map<String, String> fields = readBody(exchange);
+        long amountCents = Money.toCents(Money.parseAmount(required(fields, "amount")));
+        String description = fields.getOrDefault("description", "");
+        TransactionResult result;
+        if (deposit) {
+            account.depositCents(amountCents, description);
+            result = TransactionResult.OK;
+        } else {
+            result = account.tryWithdrawCents(amountCents, description);
+        }
+        sendResult(exchange, result.isOK() ? HTTP_OK : HTTP_CONFLICT,
+                account.getAccountID(), result, account);
+    }
+
+    /**
+     * historyOf: Returns the replica's copy of the account when there
+     * is a replica fresh enough to have it, otherwise the account.
+     */
+    private BankAccount historyOf(BankAccount account) {
+        if (replica == null || !replica.awaitFresh()) {
+            return account;
+        }
+        BankAccount copy = replica.getLedger().findAccount(account.getAccountID());
+        return copy != null ? copy : account;
+    }
+
+    /**
+     * listTransactions: Answers with one page of the account's history.
+     */
+    private void listTransactions(HttpExchange exchange, BankAccount account) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        long from = query.containsKey("from") ? parseDate(query.get("from")) : Long.MIN_VALUE;
+        long to = query.containsKey("to")
+                ? parseDate(query.get("to")) + TimeUnit.DAYS.toMillis(1) : Long.MAX_VALUE;
+        char type = TransactionLog.ANY_TYPE;
+        String typeText = query.getOrDefault("type", "").trim().toUpperCase(Locale.ROOT);
+        if (!typeText.isEmpty()) {
+            if (typeText.length() != 1 || "DWI".indexOf(typeText.charAt(0)) < 0) {
+                throw new IllegalArgumentException("type must be D, W or I");
+            }
+            type = typeText.charAt(0);
+        }
+        int start = parseCount(query.getOrDefault("start", "0"), "start");
+        int limit = parseCount(query.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE)), "limit");
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be 1 to " + MAX_PAGE_SIZE);
+        }
+
+        TransactionPage page = account.findTransactions(new Date(from), new Date(to), type, start, limit);
+        StringBuilder body = new StringBuilder(64 + 128 * page.getTransactions().size());
+        body.append("{\"accountID\":").append(account.getAccountID()).append(",\"transactions\":[");
+        boolean first = true;
+        for (Transaction t : page.getTransactions()) {
+            body.append(first ? "{" : ",{");
+            first = false;
+            body.append("\"date\":\"").append(t.getTransactionDate().toInstant()).append('"');
+            body.append(",\"type\":\"").append(t.getTransactionType()).append('"');
+            body.append(",\"amount\":");
+            Money.appendDollars(body, Money.toCents(t.getAmount()));
+            body.append(",\"balanceAfter\":");
+            Money.appendDollars(body, Money.toCents(t.getBalanceAfter()));
+            body.append(",\"description\":");
+            Json.appendString(body, t.getDescription() == null ? "" : t.getDescription());
+            body.append('}');
+        }
+        body.append("],\"nextStart\":").append(page.getNextIndex())
+                .append(",\"hasMore\":").append(page.hasMore()).append('}');
+        send(exchange, HTTP_OK, body);
+    }
+
+    private static void appendAccount(StringBuilder body, BankAccount account) {
+        RatePlan plan = account.getRatePlan();
+        body.append("{\"accountID\":").append(account.getAccountID());
+        body.append(",\"type\":\"").append(AccountType.of(account).getName()).append('"');
+        body.append(",\"customerName\":");
+        Json.appendString(body, account.getCustomerName());
+        body.append(",\"balance\":");
+        Money.appendDollars(body, account.getBalanceCents());
+        body.append(",\"annualInterestRate\":").append(plan.getAnnualInterestRate());
+        body.append(",\"ratePlan\":");
+        Json.appendString(body, plan.getName());
+        body.append(",\"dateCreated\":\"").append(account.getDateCreated().toInstant()).append("\"}");
+    }
+
+    private static void sendResult(HttpExchange exchange, int status, int accountID,
+                                   TransactionResult result, BankAccount account) throws IOException {
+        StringBuilder body = new StringBuilder(96);
+        body.append("{\"accountID\":").append(accountID)
+                .append(",\"result\":\"").append(result.name()).append('"');
+        if (account != null) {
+            body.append(",\"balance\":");
+            Money.appendDollars(body, account.getBalanceCents());
+        }
+        body.append('}');
+        send(exchange, status, body);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String error,
+                                  String message) throws IOException {
+        StringBuilder body = new StringBuilder(96);
+        body.append("{\"error\":\"").append(error).append("\",\"message\":");
+        Json.appendString(body, message == null ? "" : message).append('}');
+        send(exchange, status, body);
+    }
+
+    private static void send(HttpExchange exchange, int status, StringBuilder body) throws IOException {
+        byte[] bytes = body.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * readBody: Reads the request body as a flat JSON object.
+     */
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes = exchange.getRequestBody().readNBytes(MAX_BODY_SIZE + 1);
+        if (bytes.length > MAX_BODY_SIZE) {
+            throw new IllegalArgumentException("request body is too large");
+        }
+        return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static int parseID(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid account ID " + text.trim());
+        }
+    }
+
+    private static int parseCount(String text, String name) {
+        try {
+            int value = Integer.parseInt(text.trim());
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("invalid " + name + " " + text.trim());
+    }
+
+    private static long parseDate(String text) {
+        try {
+            return LocalDate.parse(text.trim()).atStartOfDay(ZoneId.systemDefault())
+                    .toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date " + text.trim() + ", expected yyyy-MM-dd");
+        }
+    }
+} // End of class BankServer
@@ -0,0 +1,1200 @@
+package bank;
+
+/**
+ * BankSystem: This is the main driver class for the Bank Account project.
+ * It provides an interactive menu for creating Checking/Savings accounts,
+ * making deposits/withdrawals, loading/saving accounts to a file,
+ * and viewing summaries of all accounts. Every change is also written
+ * to a journal, and changed accounts are checkpointed to incremental
+ * snapshot files, which are replayed at startup so a crash does not
+ * lose the work done since the last save. With --batch it runs
+ * headless instead, taking commands from a file or standard input,
+ * and with --serve it serves the ledger over HTTP on localhost. With
+ * --shard it serves one shard of a sharded ledger, and --batch --router
+ * runs commands against the shards. Started with -Dbank.replica=true,
+ * the menu and the server read summaries, reports and histories from a
+ * ReadReplica that follows the journal, instead of the live accounts.
+ * NOTE: This class depends on BankAccount, CheckingAccount,
+ * SavingsAccount, and Transaction classes.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 14 Feb 2025
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+public class BankSystem {
+
+    // ========================== Fields ==========================
+    private static final String ACCOUNTS_FILE_NAME = "accounts.txt";
+    private static final String STORE_FILE_NAME = "accounts.dat";
+    private static final String JOURNAL_FILE_NAME = "accounts.journal";
+    private static final String TRANSFERS_FILE_NAME = "accounts.transfers";
+    private static final String RATE_PLANS_FILE_NAME = "rateplans.txt";
+    private static final String BATCH_OPTION = "--batch";
+    private static final String SERVE_OPTION = "--serve";
+    private static final String ENGINE_OPTION = "--engine";
+    private static final String SHARD_OPTION = "--shard";
+    private static final String ROUTER_OPTION = "--router";
+    private static final String STANDARD_STREAM = "-";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final int BATCH_BUFFER_SIZE = 1 << 16;
+    private static final int EXIT_CHOICE = 15;
+    private static final int SEARCH_PAGE_SIZE = 10;
+    private static final Ledger ledger = new Ledger();
+    private static final Checkpointer checkpointer =
+            new Checkpointer(ledger, Paths.get(STORE_FILE_NAME));
+    private static final ReportEngine reportEngine = new ReportEngine();
+    private static final boolean USE_REPLICA = Boolean.getBoolean(ReadReplica.ENABLED_PROPERTY);
+    private static ReadReplica replica;     // Serves reads, if enabled and opened
+
+    // ======================== Main Method =======================
+
+    /**
+     * main: The entry point of the program. Recovers the accounts
+     * saved last time plus the journal, then displays a menu
+     * to the user, processes input commands, and orchestrates
+     * the bank account operations. Started with --batch, it runs
+     * the commands in a file or standard input instead; see runBatch.
+     * Started with --serve, it runs the HTTP server; see runServer.
+     * Started with --shard, it runs one shard node; see runShard.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param args The command-line arguments: none for the menu,
+     *        --batch [--engine | --router ports] [command file [result file]],
+     *        --serve [port], or --shard index count [port]
+     * @return void
+     * @since 14 Feb 2025
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(BATCH_OPTION)) {
+            System.exit(runBatch(args));
+        }
+        if (args.length > 0 && args[0].equals(SERVE_OPTION)) {
+            runServer(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(SHARD_OPTION)) {
+            runShard(args);
+            return;
+        }
+        recoverAccounts();
+        openReplica();
+        Scanner input = new Scanner(System.in);
+        int userChoice = 0;
+
+        while (userChoice != EXIT_CHOICE) {
+            printMenu();
+            System.out.print("Enter your choice: ");
+            try {
+                userChoice = Integer.parseInt(input.nextLine());
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid input. Please enter a number 1-" + EXIT_CHOICE + ".");
+                continue;
+            }
+
+            switch (userChoice) {
+                case 1:
+                    createSavingsAccount(input);
+                    break;
+                case 2:
+                    createCheckingAccount(input);
+                    break;
+                case 3:
+                    depositToAccount(input);
+                    break;
+                case 4:
+                    withdrawFromAccount(input);
+                    break;
+                case 5:
+                    if (loadAccountsFromFile()) {
+                        saveAccountStore();
+                        // The replica cannot follow a replacement of every account
+                        closeReplica();
+                        openReplica();
+                    }
+                    break;
+                case 6:
+                    viewSummary();
+                    break;
+                case 7:
+                    transferBetweenAccounts(input);
+                    break;
+                case 8:
+                    saveAccountStore();
+                    break;
+                case 9:
+                    saveAccountsToFile();
+                    break;
+                case 10:
+                    searchTransactions(input);
+                    break;
+                case 11:
+                    writeReportToFile(input);
+                    break;
+                case 12:
+                    postMonthlyInterest(input);
+                    break;
+                case 13:
+                    manageRatePlans(input);
+                    break;
+                case 14:
+                    System.out.print(Metrics.dump());
+                    break;
+                case EXIT_CHOICE:
+                    reportEngine.close();
+                    closeReplica();
+                    checkpointer.close();
+                    saveCheckpoint();
+                    closeJournal();
+                    System.out.println("Exiting. Accounts have been saved.");
+                    break;
+                default:
+                    System.out.println("Invalid choice. Please try again.");
+            }
+        }
+        input.close();
+    } // End of method main
+
+    // ======================== Batch Mode ========================
+
+    /**
+     * runBatch: Runs the headless batch mode. The accounts are
+     * recovered as for the menu, the commands in the command file (or
+     * standard input, if none or "-" is given) are run through a
+     * BatchRunner with results written to the result file (or standard
+     * output), and the accounts are checkpointed as on exit. With
+     * --engine, money movements run on a LedgerEngine. With --router
+     * and a comma-separated list of shard node ports, in shard order,
+     * nothing is loaded locally and the commands go to the shards
+     * instead. Status messages go to standard error, so standard
+     * output holds only results.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param args The command-line arguments, starting with --batch
+     * @return the exit status: 0 if every command was run, 1 if any
+     *         command was invalid, 2 if the files could not be read
+     *         or written
+     * @since 18 Oct 2026
+     */
+    private static int runBatch(String[] args) {
+        PrintStream standardOut = System.out;
+        System.setOut(System.err);
+        boolean useEngine = args.length > 1 && args[1].equals(ENGINE_OPTION);
+        boolean useRouter = args.length > 1 && args[1].equals(ROUTER_OPTION);
+        int first = useEngine ? 2 : useRouter ? 3 : 1;
+        String commandFile = args.length > first ? args[first] : STANDARD_STREAM;
+        String resultFile = args.length > first + 1 ? args[first + 1] : STANDARD_STREAM;
+
+        ShardRouter router = null;
+        if (useRouter) {
+            try {
+                if (args.length < 3) {
+                    throw new IllegalArgumentException("no shard ports given");
+                }
+                router = new ShardRouter(parsePorts(args[2]));
+            } catch (IOException | IllegalArgumentException e) {
+                System.out.println("Error connecting to shards: " + e.getMessage());
+                return 2;
+            }
+        } else {
+            recoverAccounts();
+        }
+
+        LedgerEngine engine = null;
+        if (useEngine) {
+            engine = new LedgerEngine(ledger);
+            engine.start();
+        }
+        BatchRunner runner = router != null ? new BatchRunner(router) : new BatchRunner(ledger, engine);
+        long startTime = System.nanoTime();
+        int status = 0;
+        try (BufferedReader in = new BufferedReader(commandFile.equals(STANDARD_STREAM)
+                     ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                     : new InputStreamReader(new FileInputStream(commandFile), StandardCharsets.UTF_8),
+                     BATCH_BUFFER_SIZE);
+             Writer out = new BufferedWriter(new OutputStreamWriter(resultFile.equals(STANDARD_STREAM)
+                     ? standardOut : new FileOutputStream(resultFile), StandardCharsets.UTF_8),
+                     BATCH_BUFFER_SIZE)) {
+            runner.run(in, out);
+            if (runner.getInvalidCount() > 0) {
+                status = 1;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // IllegalStateException: the engine stopped after a journal failure
+            System.out.println("Error running batch: " + e.getMessage());
+            status = 2;
+        }
+        if (engine != null) {
+            engine.close();
+            if (engine.getFailure() != null) {
+                System.out.println("Error in ledger engine: " + engine.getFailure().getMessage());
+                status = 2;
+            }
+        }
+        System.out.println("Batch commands: " + runner.getCommandCount()
+                + ", declined: " + runner.getDeclinedCount()
+                + ", invalid: " + runner.getInvalidCount()
+                + ", time: " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+
+        if (router != null) {
+            router.close();
+        } else {
+            reportEngine.close();
+            checkpointer.close();
+            saveCheckpoint();
+            closeJournal();
+        }
+        if (Metrics.ENABLED) {
+            System.out.print(Metrics.dump());
+        }
+        return status;
+    }
+
+    /**
+     * runServer: Runs the HTTP server mode. The accounts are recovered
+     * as for the menu and served on the given port (BankServer's
+     * default if none) of the loopback address until the process is
+     * stopped, for example with Ctrl-C; the accounts are then
+     * checkpointed as on exit.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param args The command-line arguments, starting with --serve
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void runServer(String[] args) {
+        int port = BankServer.DEFAULT_PORT;
+        if (args.length > 1) {
+            try {
+                port = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid port: " + args[1]);
+                System.exit(2);
+            }
+        }
+        // Without TCP_NODELAY the server's separate header and body
+        // writes wait out the client's delayed ACK, about 40 ms each.
+        // The JDK server reads this once for the whole JVM.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        recoverAccounts();
+        openReplica();
+        BankServer server;
+        try {
+            server = new BankServer(ledger, replica, port);
+        } catch (IOException e) {
+            System.out.println("Error starting server: " + e.getMessage());
+            reportEngine.close();
+            closeReplica();
+            checkpointer.close();
+            closeJournal();
+            System.exit(2);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            reportEngine.close();
+            closeReplica();
+            checkpointer.close();
+            saveCheckpoint();
+            closeJournal();
+            System.out.println("Server stopped. Accounts have been saved.");
+        }));
+        server.start();
+        System.out.println("Serving accounts on http://" + InetAddress.getLoopbackAddress().getHostAddress()
+                + ":" + server.getPort() + "/accounts (Ctrl-C to stop)");
+    }
+
+    /**
+     * runShard: Runs one shard node of a sharded ledger. The accounts
+     * in the working directory are recovered as for the menu, so each
+     * shard needs a directory of its own. Accounts that belong to
+     * other shards are dropped and the rest saved, so every shard can
+     * start from a copy of the same accounts file. The node keeps its
+     * cross-shard transfer legs in TRANSFERS_FILE_NAME and, before the
+     * drop, finishes the legs the journal replayed. It then serves its accounts to routers on the given port (ShardNode's
+     * base port plus the index if none) of the loopback address until
+     * the process is stopped, and the accounts are checkpointed as on
+     * exit.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param args The command-line arguments: --shard index count [port]
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void runShard(String[] args) {
+        int index;
+        int count;
+        int port;
+        try {
+            if (args.length < 3) {
+                throw new IllegalArgumentException("expected --shard index count [port]");
+            }
+            index = Integer.parseInt(args[1]);
+            count = Integer.parseInt(args[2]);
+            port = args.length > 3 ? Integer.parseInt(args[3]) : ShardNode.DEFAULT_BASE_PORT + index;
+            if (count < 1 || index < 0 || index >= count) {
+                throw new IllegalArgumentException("invalid shard " + index + " of " + count);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid shard arguments: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        recoverAccounts();
+        ShardNode node;
+        try {
+            node = new ShardNode(ledger, index, count, port, Paths.get(TRANSFERS_FILE_NAME));
+        } catch (IOException e) {
+            System.out.println("Error starting shard: " + e.getMessage());
+            reportEngine.close();
+            checkpointer.close();
+            closeJournal();
+            System.exit(2);
+            return;
+        }
+        List<BankAccount> owned = new ArrayList<>();
+        for (BankAccount account : ledger.getAccounts()) {
+            if (ShardRouter.shardOf(account.getAccountID(), count) == index) {
+                owned.add(account);
+            }
+        }
+        int dropped = ledger.size() - owned.size();
+        if (dropped > 0) {
+            ledger.replaceAccounts(owned);
+            saveAccountStore();
+            System.out.println("Dropped " + dropped + " account(s) owned by other shards.");
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            node.close();
+            reportEngine.close();
+            checkpointer.close();
+            saveCheckpoint();
+            closeJournal();
+            System.out.println("Shard stopped. Accounts have been saved.");
+        }));
+        node.start();
+        System.out.println("Shard " + index + " of " + count + " serving " + ledger.size() + " account(s) on "
+                + InetAddress.getLoopbackAddress().getHostAddress() + ":" + node.getPort() + " (Ctrl-C to stop)");
+    }
+
+    /**
+     * parsePorts: Parses a comma-separated list of ports.
+     */
+    private static int[] parsePorts(String text) {
+        String[] parts = text.split(",");
+        int[] ports = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                ports[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid port " + parts[i].trim());
+            }
+        }
+        return ports;
+    }
+
+    // ===================== Menu and Actions =====================
+
+    /**
+     * printMenu: Prints the available menu options to the user.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 14 Feb 2025
+     */
+    private static void printMenu() {
+        System.out.println("\nBank Account System");
+        System.out.println("1. Create Savings Account");
+        System.out.println("2. Create Checking Account");
+        System.out.println("3. Deposit");
+        System.out.println("4. Withdraw");
+        System.out.println("5. Import Accounts from CSV File");
+        System.out.println("6. View Summary");
+        System.out.println("7. Transfer");
+        System.out.println("8. Save Accounts to File");
+        System.out.println("9. Export Accounts to CSV File");
+        System.out.println("10. Search Transactions");
+        System.out.println("11. Write Report to File");
+        System.out.println("12. Post Monthly Interest");
+        System.out.println("13. Manage Rate Plans");
+        System.out.println("14. View Metrics");
+        System.out.println("15. Exit");
+    }
+
+    /**
+     * createSavingsAccount: Prompts the user for necessary data and
+     * creates a new SavingsAccount. Adds the account to the ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 14 Feb 2025
+     */
+    private static void createSavingsAccount(Scanner input) {
+        System.out.print("Enter customer name: ");
+        String name = input.nextLine();
+
+        System.out.print("Enter account ID (int): ");
+        int id = Integer.parseInt(input.nextLine());
+        if (ledger.findAccount(id) != null) {
+            System.out.println("An account with ID " + id + " already exists.");
+            return;
+        }
+
+        System.out.print("Enter initial balance: ");
+        double balance = Double.parseDouble(input.nextLine());
+
+        SavingsAccount account = new SavingsAccount(name, id, balance);
+
+        RatePlan plan = readRatePlan(input, "Enter annual interest rate (1.5 for 1.5%) or rate plan name: ");
+        if (plan == null) {
+            return;
+        }
+        account.setRatePlan(plan);
+
+        if (!ledger.addAccount(account)) {
+            System.out.println("An account with ID " + id + " already exists.");
+            return;
+        }
+        System.out.println("Savings account created successfully!");
+    }
+
+    /**
+     * createCheckingAccount: Prompts the user for necessary data and
+     * creates a new CheckingAccount. Adds the account to the ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 14 Feb 2025
+     */
+    private static void createCheckingAccount(Scanner input) {
+        System.out.print("Enter customer name: ");
+        String name = input.nextLine();
+
+        System.out.print("Enter account ID (int): ");
+        int id = Integer.parseInt(input.nextLine());
+        if (ledger.findAccount(id) != null) {
+            System.out.println("An account with ID " + id + " already exists.");
+            return;
+        }
+
+        System.out.print("Enter initial balance: ");
+        double balance = Double.parseDouble(input.nextLine());
+
+        CheckingAccount account = new CheckingAccount(name, id, balance);
+
+        RatePlan plan = readRatePlan(input, "Enter annual interest rate (e.g. 1.5 for 1.5%) or rate plan name: ");
+        if (plan == null) {
+            return;
+        }
+        account.setRatePlan(plan);
+
+        if (!ledger.addAccount(account)) {
+            System.out.println("An account with ID " + id + " already exists.");
+            return;
+        }
+        System.out.println("Checking account created successfully!");
+    }
+
+    /**
+     * readRatePlan: Prompts for an interest rate or the name of a rate
+     * plan. A rate selects the plan shared by every account opened
+     * with that rate.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @param prompt The prompt to print
+     * @return the chosen RatePlan, or null if no such plan exists
+     * @since 18 Oct 2026
+     */
+    private static RatePlan readRatePlan(Scanner input, String prompt) {
+        System.out.print(prompt);
+        String text = input.nextLine().trim();
+        try {
+            return RatePlans.getDefault().parse(text);
+        } catch (IllegalArgumentException e) {
+            System.out.println("No rate plan named " + text + ".");
+            return null;
+        }
+    }
+
+    /**
+     * depositToAccount: Prompts the user for an account ID and
+     * deposit amount, then performs the deposit on the matching
+     * BankAccount object, if found.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 14 Feb 2025
+     */
+    private static void depositToAccount(Scanner input) {
+        if (ledger.isEmpty()) {
+            System.out.println("No accounts available. Please create an account first.");
+            return;
+        }
+
+        System.out.print("Enter account ID to deposit into: ");
+        int id = Integer.parseInt(input.nextLine());
+        BankAccount account = findAccountByID(id);
+
+        if (account == null) {
+            System.out.println("Account not found.");
+            return;
+        }
+
+        System.out.print("Enter deposit amount: ");
+        double amount = Double.parseDouble(input.nextLine());
+
+        System.out.print("Enter deposit description: ");
+        String desc = input.nextLine();
+
+        account.deposit(amount, desc);
+        System.out.println("Deposit successful.");
+    }
+
+    /**
+     * withdrawFromAccount: Prompts the user for an account ID and
+     * withdrawal amount, then performs the withdraw on the matching
+     * BankAccount object, if found, and prints whether it went through.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 14 Feb 2025
+     */
+    private static void withdrawFromAccount(Scanner input) {
+        if (ledger.isEmpty()) {
+            System.out.println("No accounts available. Please create an account first.");
+            return;
+        }
+
+        System.out.print("Enter account ID to withdraw from: ");
+        int id = Integer.parseInt(input.nextLine());
+        BankAccount account = findAccountByID(id);
+
+        if (account == null) {
+            System.out.println("Account not found.");
+            return;
+        }
+
+        System.out.print("Enter withdrawal amount: ");
+        double amount = Double.parseDouble(input.nextLine());
+
+        System.out.print("Enter withdrawal description: ");
+        String desc = input.nextLine();
+
+        TransactionResult result = account.tryWithdraw(amount, desc);
+        if (result.isOK()) {
+            System.out.println("Withdrawal successful.");
+        } else {
+            System.out.println("Withdrawal declined. " + result.getMessage());
+        }
+    }
+
+    /**
+     * transferBetweenAccounts: Prompts the user for a source account,
+     * a destination account and an amount, then moves the money
+     * through the ledger in one step.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void transferBetweenAccounts(Scanner input) {
+        if (ledger.size() < 2) {
+            System.out.println("At least two accounts are needed for a transfer.");
+            return;
+        }
+
+        System.out.print("Enter account ID to transfer from: ");
+        int fromID = Integer.parseInt(input.nextLine());
+
+        System.out.print("Enter account ID to transfer to: ");
+        int toID = Integer.parseInt(input.nextLine());
+        if (fromID == toID) {
+            System.out.println("Cannot transfer to the same account.");
+            return;
+        }
+
+        System.out.print("Enter transfer amount: ");
+        double amount = Double.parseDouble(input.nextLine());
+        if (!(amount > 0.0)) {
+            System.out.println("Transfer amount must be positive.");
+            return;
+        }
+
+        System.out.print("Enter transfer description: ");
+        String desc = input.nextLine();
+
+        TransactionResult result = ledger.transfer(fromID, toID, amount, desc);
+        if (result.isOK()) {
+            System.out.println("Transfer successful.");
+        } else {
+            System.out.println("Transfer declined. " + result.getMessage());
+        }
+    }
+
+    /**
+     * searchTransactions: Prompts the user for an account ID, a date
+     * range and an optional transaction type, then prints the matching
+     * transactions a page at a time.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void searchTransactions(Scanner input) {
+        System.out.print("Enter account ID to search: ");
+        int id = Integer.parseInt(input.nextLine());
+        BankAccount account = readLedger().findAccount(id);
+        if (account == null) {
+            System.out.println("Account not found.");
+            return;
+        }
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setLenient(false);
+        Date from;
+        Date to;
+        try {
+            System.out.print("Enter first date (yyyy-MM-dd): ");
+            from = format.parse(input.nextLine().trim());
+            System.out.print("Enter last date (yyyy-MM-dd): ");
+            // Include the whole last day
+            to = new Date(format.parse(input.nextLine().trim()).getTime() + TimeUnit.DAYS.toMillis(1));
+        } catch (ParseException e) {
+            System.out.println("Invalid date. Please use the format yyyy-MM-dd.");
+            return;
+        }
+        System.out.print("Enter type (D, W, I, or blank for all): ");
+        String typeText = input.nextLine().trim().toUpperCase();
+        char type = typeText.isEmpty() ? TransactionLog.ANY_TYPE : typeText.charAt(0);
+
+        int start = 0;
+        while (true) {
+            TransactionPage page = account.findTransactions(from, to, type, start, SEARCH_PAGE_SIZE);
+            if (start == 0 && page.getTransactions().isEmpty()) {
+                System.out.println("No matching transactions.");
+                return;
+            }
+            for (Transaction t : page.getTransactions()) {
+                System.out.printf("%-6c $%-10.2f $%-15.2f %-20s %s%n",
+                        t.getTransactionType(),
+                        t.getAmount(),
+                        t.getBalanceAfter(),
+                        t.getTransactionDate().toString(),
+                        t.getDescription());
+            }
+            if (!page.hasMore()) {
+                return;
+            }
+            System.out.print("Show more? (y/n): ");
+            if (!input.nextLine().trim().equalsIgnoreCase("y")) {
+                return;
+            }
+            start = page.getNextIndex();
+        }
+    }
+
+    /**
+     * viewSummary: Prints a summary of every account (customer name,
+     * account ID, interest rate, monthly interest, balance) and a table
+     * of transactions, streamed through the report engine.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 14 Feb 2025
+     */
+    private static void viewSummary() {
+        try {
+            reportEngine.writeSummary(readLedger(), new ReportFilter(), System.out);
+        } catch (IOException e) {
+            System.out.println("Error writing summary: " + e.getMessage());
+        }
+    }
+
+    /**
+     * writeReportToFile: Prompts the user for a file name and report
+     * filters, then writes the report on a background thread so the
+     * menu can be used while it runs.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void writeReportToFile(Scanner input) {
+        System.out.print("Enter report file name: ");
+        String fileName = input.nextLine().trim();
+        if (fileName.isEmpty()) {
+            System.out.println("No file name given.");
+            return;
+        }
+        ReportFilter filter = new ReportFilter();
+        try {
+            System.out.print("Account type (Checking, Savings, or blank for all): ");
+            String type = input.nextLine().trim();
+            if (!type.isEmpty()) {
+                filter.setAccountType(AccountType.fromName(type));
+            }
+            System.out.print("Minimum balance (blank for none): ");
+            String min = input.nextLine().trim();
+            System.out.print("Maximum balance (blank for none): ");
+            String max = input.nextLine().trim();
+            filter.setBalanceRange(min.isEmpty() ? Long.MIN_VALUE : Money.toCents(Double.parseDouble(min)),
+                    max.isEmpty() ? Long.MAX_VALUE : Money.toCents(Double.parseDouble(max)));
+            System.out.print("Lowest account ID (blank for none): ");
+            String lowID = input.nextLine().trim();
+            System.out.print("Highest account ID (blank for none): ");
+            String highID = input.nextLine().trim();
+            filter.setAccountIDRange(lowID.isEmpty() ? Integer.MIN_VALUE : Integer.parseInt(lowID),
+                    highID.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(highID));
+            System.out.print("Most accounts to include (blank for all): ");
+            String limit = input.nextLine().trim();
+            if (!limit.isEmpty()) {
+                filter.setRowLimit(Integer.parseInt(limit));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid filter: " + e.getMessage());
+            return;
+        }
+
+        reportEngine.submitSummary(readLedger(), filter, Paths.get(fileName)).whenComplete((count, error) -> {
+            if (error != null) {
+                System.out.println("\nError writing report: " + error.getCause().getMessage());
+            } else {
+                System.out.println("\nReport written to " + fileName + ": " + count + " account(s).");
+            }
+        });
+        System.out.println("Writing report to " + fileName + " in the background.");
+    }
+
+    /**
+     * postMonthlyInterest: Prompts the user for a month, posts that
+     * month's interest to every account not yet posted for it, and
+     * prints the totals by account type.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void postMonthlyInterest(Scanner input) {
+        System.out.print("Enter month (yyyy-MM, blank for this month): ");
+        String monthText = input.nextLine().trim();
+        YearMonth period;
+        try {
+            period = monthText.isEmpty() ? YearMonth.now() : YearMonth.parse(monthText);
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid month. Please use the format yyyy-MM.");
+            return;
+        }
+
+        AccrualSummary summary;
+        try {
+            summary = new InterestAccrual(ledger).run(period);
+        } catch (IOException e) {
+            System.out.println("Error journaling interest: " + e.getMessage());
+            return;
+        }
+        System.out.println("Interest posted for " + period + ":");
+        for (AccountType type : AccountType.values()) {
+            if (summary.getPostedCount(type) > 0 || summary.getSkippedCount(type) > 0) {
+                System.out.printf("%-12s %8d account(s) $%.2f%n", type.getName(),
+                        summary.getPostedCount(type), Money.toDollars(summary.getInterestCents(type)));
+            }
+        }
+        System.out.printf("%-12s %8d account(s) $%.2f%n", "Total",
+                summary.getPostedCount(), Money.toDollars(summary.getInterestCents()));
+        if (summary.getSkippedCount() > 0) {
+            System.out.println("Already posted for " + period + ": "
+                    + summary.getSkippedCount() + " account(s).");
+        }
+    }
+
+    /**
+     * manageRatePlans: Lists the rate plans, then either changes the
+     * rate of one plan, which every account on it picks up at once,
+     * or adds a new named plan.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param input A Scanner object for reading user input
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void manageRatePlans(Scanner input) {
+        RatePlans plans = RatePlans.getDefault();
+        System.out.println("Rate plans:");
+        for (RatePlan plan : plans.getPlans()) {
+            System.out.println(plan.getPlanID() + ". " + plan);
+        }
+        System.out.print("Enter plan ID to change (blank to add a plan): ");
+        String idText = input.nextLine().trim();
+        try {
+            if (idText.isEmpty()) {
+                System.out.print("Enter plan name: ");
+                String name = input.nextLine().trim();
+                System.out.print("Enter annual interest rate (1.5 for 1.5%): ");
+                RatePlan plan = plans.define(name, Double.parseDouble(input.nextLine()));
+                System.out.println("Rate plan " + plan + " created.");
+                return;
+            }
+            RatePlan plan = plans.get(Integer.parseInt(idText));
+            if (plan == null) {
+                System.out.println("Rate plan not found.");
+                return;
+            }
+            System.out.print("Enter new annual interest rate: ");
+            plans.changeRate(plan, Double.parseDouble(input.nextLine()));
+            System.out.println("Rate plan " + plan + " updated for all of its accounts.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid input. " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.out.println("Error saving rate plans: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * readLedger: Returns the ledger that summaries, reports and
+     * history searches read from: the replica's copy once it is within
+     * its staleness bound, or the live ledger if there is no replica
+     * or it has stopped.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the Ledger to read from
+     * @since 18 Oct 2026
+     */
+    private static Ledger readLedger() {
+        ReadReplica current = replica;
+        return current != null && current.awaitFresh() ? current.getLedger() : ledger;
+    }
+
+    /**
+     * findAccountByID: Looks up the account with the matching ID
+     * in the ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param id The ID of the account to find
+     * @return A BankAccount object if found, or null otherwise
+     * @since 14 Feb 2025
+     */
+    private static BankAccount findAccountByID(int id) {
+        return ledger.findAccount(id);
+    }
+
+    // =============== Save/Load from File Methods ===============
+
+    /**
+     * saveAccountsToFile: Saves all current accounts to a text file
+     * in CSV format:
+     * type,accountID,name,balance,interestRate
+     * The name has commas replaced with semicolons to avoid parsing issues.
+     * The file is written as UTF-8, which CsvAccountLoader expects.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return true if the file was written
+     * @since 14 Feb 2025
+     */
+    private static boolean saveAccountsToFile() {
+        try {
+            CsvAccountLoader.save(Paths.get(ACCOUNTS_FILE_NAME), ledger.getAccounts());
+            System.out.println("Accounts saved to file: " + ACCOUNTS_FILE_NAME);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving accounts: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * loadAccountsFromFile: Loads accounts from a text file following
+     * the same CSV format used by saveAccountsToFile(). Replaces the
+     * accounts in the ledger with the loaded data.
+     * Lines with an account ID that was already loaded are skipped.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return true if the accounts were loaded
+     * @since 14 Feb 2025
+     */
+    private static boolean loadAccountsFromFile() {
+        File file = new File(ACCOUNTS_FILE_NAME);
+        if (!file.exists()) {
+            System.out.println("No file found to load accounts.");
+            return false;
+        }
+        try {
+            List<BankAccount> loadedAccounts = CsvAccountLoader.loadParallel(file.toPath());
+            int duplicates = ledger.replaceAccounts(loadedAccounts);
+            System.out.println("Accounts loaded from file: " + ACCOUNTS_FILE_NAME);
+            if (duplicates > 0) {
+                System.out.println("Skipped " + duplicates + " account(s) with duplicate IDs.");
+            }
+            return true;
+        } catch (AccountFileException e) {
+            System.out.println("Error loading accounts: " + e.getMessage());
+            return false;
+        } catch (IOException e) {
+            System.out.println("Error reading " + ACCOUNTS_FILE_NAME + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ================== Journal and Recovery ===================
+
+    /**
+     * recoverAccounts: Loads the rate plans, then the accounts saved
+     * to accounts.dat (or accounts.txt if there is no account store
+     * yet), then the snapshots checkpointed since and the archived
+     * transaction history, then replays the
+     * journal on top of them to redo every later change. Finally
+     * attaches the journal to the ledger and starts periodic
+     * checkpoints. If any of the saved accounts, snapshots or journal
+     * cannot be read, the program stops instead of starting from
+     * partial state, since the next checkpoint or save would then
+     * overwrite the files that still hold the lost changes.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void recoverAccounts() {
+        try {
+            RatePlans.getDefault().open(Paths.get(RATE_PLANS_FILE_NAME));
+        } catch (IOException e) {
+            System.out.println("Error loading rate plans, plan changes will not be saved: "
+                    + e.getMessage());
+        }
+        boolean loaded = true;
+        if (new File(STORE_FILE_NAME).exists()) {
+            loaded = loadAccountStore();
+        } else if (new File(ACCOUNTS_FILE_NAME).exists()) {
+            loaded = loadAccountsFromFile();
+        }
+        if (!loaded) {
+            stopStartup();
+        }
+        try {
+            int restored = checkpointer.loadSnapshots();
+            if (restored > 0) {
+                System.out.println("Accounts restored from snapshots: " + restored);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error loading snapshots: " + e.getMessage());
+            stopStartup();
+        }
+        try {
+            checkpointer.loadHistory(Paths.get(JOURNAL_FILE_NAME));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error loading transaction history: " + e.getMessage());
+            stopStartup();
+        }
+        try {
+            ledger.setJournal(Journal.recover(Paths.get(JOURNAL_FILE_NAME), ledger,
+                    checkpointer.getCoveredEpoch()));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error replaying journal: " + e.getMessage());
+            stopStartup();
+        }
+        checkpointer.start(ledger.getJournal());
+    }
+
+    /**
+     * stopStartup: Exits after recovery failed, leaving every file as
+     * it is so it can be repaired or restored.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void stopStartup() {
+        System.out.println("Recovery failed; stopping without changing any account file.");
+        System.exit(1);
+    }
+
+    /**
+     * openReplica: Opens a ReadReplica from the files the ledger was
+     * just recovered from, if -Dbank.replica=true was given and the
+     * journal is open. Must be called before anything else is
+     * journaled. Reads fall back to the ledger if it cannot be opened.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void openReplica() {
+        Journal journal = ledger.getJournal();
+        if (!USE_REPLICA || journal == null) {
+            return;
+        }
+        try {
+            replica = ReadReplica.open(Paths.get(STORE_FILE_NAME), Paths.get(ACCOUNTS_FILE_NAME),
+                    Paths.get(JOURNAL_FILE_NAME), journal);
+            System.out.println("Read replica following the journal with " + replica.getLedger().size()
+                    + " account(s).");
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error opening read replica, reads will use the live accounts: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * closeReplica: Stops the read replica, if one is open.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void closeReplica() {
+        ReadReplica current = replica;
+        replica = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * saveCheckpoint: Writes the accounts changed since the last
+     * checkpoint to a snapshot file and empties the journal.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void saveCheckpoint() {
+        try {
+            checkpointer.checkpoint();
+        } catch (IOException e) {
+            System.out.println("Error saving checkpoint: " + e.getMessage());
+        }
+    }
+
+    /**
+     * loadAccountStore: Replaces the accounts in the ledger with the
+     * ones in the binary account store.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return true if the accounts were loaded
+     * @since 18 Oct 2026
+     */
+    private static boolean loadAccountStore() {
+        try (AccountStore store = AccountStore.open(Paths.get(STORE_FILE_NAME))) {
+            int duplicates = ledger.replaceAccounts(store.readAllAccounts());
+            System.out.println("Accounts loaded from file: " + STORE_FILE_NAME);
+            if (duplicates > 0) {
+                System.out.println("Skipped " + duplicates + " account(s) with duplicate IDs.");
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error loading accounts: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * saveAccountStore: Writes every account to the binary account
+     * store, which then replaces the snapshots and the journal.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void saveAccountStore() {
+        try {
+            checkpointer.saveStore();
+            System.out.println("Accounts saved to file: " + STORE_FILE_NAME);
+        } catch (IOException e) {
+            System.out.println("Error saving accounts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * closeJournal: Flushes and closes the journal.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private static void closeJournal() {
+        Journal journal = ledger.getJournal();
+        if (journal == null) {
+            return;
+        }
+        ledger.setJournal(null);
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal: " + e.getMessage());
+        }
+    }
+} // End of class BankSystem
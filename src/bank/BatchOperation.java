@@ -0,0 +1,69 @@
+package bank;
+
+/**
+ * BatchOperation: This class represents one entry of a batch of
+ * deposits and withdrawals submitted to the Ledger, such as a line of
+ * a nightly ACH file. It includes the account ID, the type ('D' for
+ * deposit, 'W' for withdrawal), the amount and a description.
+ * NOTE: This class is used by Ledger.applyBatch.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+public class BatchOperation {
+    // ========================= Fields =========================
+    private final int accountID;
+    private final char operationType;   // 'D' for deposit, 'W' for withdrawal
+    private final long amountCents;
+    private final String description;
+
+    // ====================== Constructor =======================
+
+    /**
+     * BatchOperation: Constructs a BatchOperation object with
+     * the specified parameters.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to apply this to
+     * @param operationType The operation type ('D' or 'W')
+     * @param amount The amount to deposit or withdraw
+     * @param description A short description of the operation
+     * @return void
+     * @throws IllegalArgumentException if the type is not 'D' or 'W',
+     *         or the amount is negative
+     * @since 18 Oct 2026
+     */
+    public BatchOperation(int accountID, char operationType,
+                          double amount, String description) {
+        if (operationType != 'D' && operationType != 'W') {
+            throw new IllegalArgumentException("Unknown operation type: " + operationType);
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative: " + amount);
+        }
+        this.accountID = accountID;
+        this.operationType = operationType;
+        this.amountCents = Money.toCents(amount);
+        this.description = description;
+    }
+
+    // ======================== Getters =========================
+
+    public int getAccountID() {
+        return accountID;
+    }
+
+    public char getOperationType() {
+        return operationType;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+} // End of class BatchOperation
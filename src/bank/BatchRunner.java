@@ -0,0 +1,400 @@
+package bank;
+
+/**
+ * BatchRunner: This class runs the headless batch mode. It reads one
+ * command per line from a command file or stream and writes one
+ * machine-readable result line per command, with no prompts, so
+ * scripts and integration pipelines can drive the ledger directly.
+ *
+ * Commands are comma-separated; the last field of each command takes
+ * the rest of the line, so names and descriptions may contain commas.
+ * Blank lines and lines starting with # are skipped.
+ *   create,<type>,<id>,<balance>,<rate or plan name>,<name>
+ *   deposit,<id>,<amount>[,<description>]
+ *   withdraw,<id>,<amount>[,<description>]
+ *   transfer,<from id>,<to id>,<amount>[,<description>]
+ *   summary[,<id>]
+ *
+ * Each result line starts with the command's line number, the command
+ * and a status: OK, a TransactionResult name such as
+ * INSUFFICIENT_FUNDS, DUPLICATE_ID, or INVALID followed by the reason.
+ * Summary writes one line per account:
+ *   <line>,summary,OK,<id>,<type>,<balance>,<rate>,<name>
+ *
+ * Runs of deposits and withdrawals are collected and applied through
+ * Ledger.applyBatch, so each account is looked up and locked once per
+ * run instead of once per line. Every other command first applies the
+ * collected run, so commands still take effect in file order. Given a
+ * LedgerEngine, deposits, withdrawals and transfers are published to
+ * it instead, and its reply thread writes their results; other
+ * commands first wait for the engine to catch up. Given a ShardRouter
+ * instead of a ledger, every command goes to the shard processes that
+ * own its accounts, and each collected run becomes one batch per shard.
+ * NOTE: This class is used by BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+
+public class BatchRunner {
+    // ========================== Fields ==========================
+    private final Ledger ledger;
+    private final LedgerEngine engine;      // Applies money movements, if given
+    private final ShardRouter router;       // Replaces the ledger, if given
+    private final EngineReply engineReply;
+    private long lastSequence = -1L;        // Last command published to the engine
+    private final BatchOperation[] pending = new BatchOperation[MAX_PENDING];
+    private final long[] pendingLines = new long[MAX_PENDING];
+    private int pendingCount;               // Deposits and withdrawals not applied yet
+    private final StringBuilder line = new StringBuilder(128);
+    private long commandCount;              // Commands read
+    private long declinedCount;             // Commands that were not OK
+    private long invalidCount;              // Commands that could not be parsed
+
+    // ===================== Default Values =======================
+    public static final int MAX_PENDING = 4096;     // Most deposits and withdrawals applied at once
+    public static final String STATUS_DUPLICATE_ID = "DUPLICATE_ID";
+    public static final String STATUS_INVALID = "INVALID";
+
+    // ====================== Constructors ========================
+
+    /**
+     * BatchRunner: This constructor initializes a runner for the
+     * given ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger the commands are applied to
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public BatchRunner(Ledger ledger) {
+        this(ledger, null);
+    }
+
+    /**
+     * BatchRunner: This constructor initializes a runner for the
+     * given ledger whose deposits, withdrawals and transfers go
+     * through the given engine, which must be started.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger the commands are applied to
+     * @param engine The engine for money movements, or null for none
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public BatchRunner(Ledger ledger, LedgerEngine engine) {
+        this.ledger = ledger;
+        this.engine = engine;
+        this.router = null;
+        this.engineReply = engine != null ? new EngineReply() : null;
+    }
+
+    /**
+     * BatchRunner: This constructor initializes a runner whose
+     * commands go to the shards of a sharded ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param router The router to the shards
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public BatchRunner(ShardRouter router) {
+        this.ledger = null;
+        this.engine = null;
+        this.router = router;
+        this.engineReply = null;
+    }
+
+    // ========================= Getters ==========================
+
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    public long getDeclinedCount() {
+        return declinedCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * run: Reads commands until the end of the input, applies each one
+     * to the ledger and writes its result. The output is flushed, not
+     * closed, when the input ends.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param in The commands to run
+     * @param out Where the results are written
+     * @return void
+     * @throws IOException if the input cannot be read or the output written
+     * @since 18 Oct 2026
+     */
+    public void run(BufferedReader in, Writer out) throws IOException {
+        if (engineReply != null) {
+            engineReply.out = out;
+        }
+        String text;
+        long lineNumber = 0L;
+        while ((text = in.readLine()) != null) {
+            lineNumber++;
+            if (text.isBlank() || text.charAt(0) == '#') {
+                continue;
+            }
+            commandCount++;
+            runCommand(text, lineNumber, out);
+        }
+        applyPending(out);
+        out.flush();
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * runCommand: Parses and runs one command line.
+     */
+    private void runCommand(String text, long lineNumber, Writer out) throws IOException {
+        int comma = text.indexOf(',');
+        String command = (comma < 0 ? text : text.substring(0, comma)).trim().toLowerCase(Locale.ROOT);
+        String[] fields;
+        try {
+            switch (command) {
+                case "deposit":
+                case "withdraw":
+                    fields = split(text, 4, 3);
+                    char type = command.equals("deposit") ? 'D' : 'W';
+                    int accountID = parseID(fields[1]);
+                    double amount = Money.parseAmount(fields[2]);
+                    String description = fields.length > 3 ? fields[3] : "";
+                    if (engine != null) {
+                        long amountCents = Money.toCents(amount);
+                        lastSequence = type == 'D'
+                                ? engine.deposit(accountID, amountCents, description, lineNumber, engineReply)
+                                : engine.withdraw(accountID, amountCents, description, lineNumber, engineReply);
+                        return;
+                    }
+                    BatchOperation op = new BatchOperation(accountID, type, amount, description);
+                    pending[pendingCount] = op;
+                    pendingLines[pendingCount] = lineNumber;
+                    if (++pendingCount == MAX_PENDING) {
+                        applyPending(out);
+                    }
+                    return;
+                case "create":
+                    applyPending(out);
+                    create(split(text, 6, 6), lineNumber, out);
+                    return;
+                case "transfer":
+                    transfer(split(text, 5, 4), lineNumber, out);
+                    return;
+                case "summary":
+                    applyPending(out);
+                    summary(split(text, 2, 1), lineNumber, out);
+                    return;
+                default:
+                    throw new IllegalArgumentException("unknown command");
+            }
+        } catch (IllegalArgumentException e) {
+            applyPending(out);
+            invalidCount++;
+            startResult(lineNumber, command, STATUS_INVALID);
+            line.append(',').append(e.getMessage());
+            endResult(out);
+        }
+    }
+
+    /**
+     * applyPending: Applies the collected deposits and withdrawals as
+     * one batch and writes their results in the order they were read,
+     * or with an engine, waits until it has written every result.
+     */
+    private void applyPending(Writer out) throws IOException {
+        if (engine != null) {
+            if (lastSequence >= 0L) {
+                engine.await(lastSequence);
+                lastSequence = -1L;
+            }
+            if (engineReply.failure != null) {
+                throw engineReply.failure;
+            }
+            return;
+        }
+        if (pendingCount == 0) {
+            return;
+        }
+        BatchOperation[] operations = pendingCount == MAX_PENDING ? pending
+                : Arrays.copyOf(pending, pendingCount);
+        TransactionResult[] results = router != null ? router.applyBatch(operations)
+                : ledger.applyBatch(operations);
+        for (int i = 0; i < pendingCount; i++) {
+            writeResult(pendingLines[i],
+                    operations[i].getOperationType() == 'D' ? "deposit" : "withdraw",
+                    results[i].name(), results[i].isOK(), out);
+            pending[i] = null;
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * create: Opens an account and writes its ID and balance.
+     */
+    private void create(String[] fields, long lineNumber, Writer out) throws IOException {
+        AccountType type = AccountType.parse(fields[1]);
+        int id = parseID(fields[2]);
+        double balance = Money.parseAmount(fields[3]);
+        if (fields[5].isBlank()) {
+            throw new IllegalArgumentException("customer name is empty");
+        }
+        boolean created;
+        if (router != null) {
+            // The shard resolves the plan against its own rate plans
+            created = router.create(type, id, Money.toCents(balance), fields[4].trim(), fields[5]);
+        } else {
+            RatePlan plan = RatePlans.getDefault().parse(fields[4]);
+            BankAccount account = type.newAccount(fields[5], id, balance);
+            account.setRatePlan(plan);
+            created = ledger.addAccount(account);
+        }
+        if (!created) {
+            writeResult(lineNumber, "create", STATUS_DUPLICATE_ID, false, out);
+            return;
+        }
+        startResult(lineNumber, "create", TransactionResult.OK.name());
+        line.append(',').append(id).append(',');
+        Money.appendDollars(line, Money.toCents(balance));
+        endResult(out);
+    }
+
+    /**
+     * transfer: Moves money between two accounts through the engine,
+     * or else through the ledger.
+     */
+    private void transfer(String[] fields, long lineNumber, Writer out) throws IOException {
+        int fromID = parseID(fields[1]);
+        int toID = parseID(fields[2]);
+        if (fromID == toID) {
+            throw new IllegalArgumentException("cannot transfer to the same account");
+        }
+        double amount = Money.parseAmount(fields[3]);
+        String description = fields.length > 4 ? fields[4] : "";
+        if (engine != null) {
+            lastSequence = engine.transfer(fromID, toID, Money.toCents(amount), description,
+                    lineNumber, engineReply);
+            return;
+        }
+        applyPending(out);
+        TransactionResult result = router != null
+                ? router.transfer(fromID, toID, Money.toCents(amount), description)
+                : ledger.transfer(fromID, toID, amount, description);
+        writeResult(lineNumber, "transfer", result.name(), result.isOK(), out);
+    }
+
+    /**
+     * summary: Writes one line for the given account, or for every
+     * account if no ID is given.
+     */
+    private void summary(String[] fields, long lineNumber, Writer out) throws IOException {
+        if (fields.length > 1 && !fields[1].isBlank()) {
+            int accountID = parseID(fields[1]);
+            BankAccount account = router != null ? router.findAccount(accountID) : ledger.findAccount(accountID);
+            if (account == null) {
+                writeResult(lineNumber, "summary", TransactionResult.UNKNOWN_ACCOUNT.name(), false, out);
+            } else {
+                writeAccount(account, lineNumber, out);
+            }
+            return;
+        }
+        for (BankAccount account : router != null ? router.getAccounts() : ledger.getAccounts()) {
+            writeAccount(account, lineNumber, out);
+        }
+    }
+
+    private void writeAccount(BankAccount account, long lineNumber, Writer out) throws IOException {
+        startResult(lineNumber, "summary", TransactionResult.OK.name());
+        line.append(',').append(account.getAccountID())
+                .append(',').append(AccountType.of(account).getName()).append(',');
+        Money.appendDollars(line, account.getBalanceCents());
+        line.append(',').append(account.getAnnualInterestRate())
+                .append(',').append(account.getCustomerName());
+        endResult(out);
+    }
+
+    private void writeResult(long lineNumber, String command, String status,
+                             boolean ok, Writer out) throws IOException {
+        if (!ok) {
+            declinedCount++;
+        }
+        startResult(lineNumber, command, status);
+        endResult(out);
+    }
+
+    private void startResult(long lineNumber, String command, String status) {
+        line.setLength(0);
+        line.append(lineNumber).append(',').append(command).append(',').append(status);
+    }
+
+    private void endResult(Writer out) throws IOException {
+        line.append('\n');
+        out.append(line);
+    }
+
+    /**
+     * split: Splits a command into at most limit fields, the last one
+     * taking the rest of the line, and checks there are enough.
+     */
+    private static String[] split(String text, int limit, int required) {
+        String[] fields = text.split(",", limit);
+        if (fields.length < required) {
+            throw new IllegalArgumentException("expected " + required + " fields");
+        }
+        return fields;
+    }
+
+    private static int parseID(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid account ID " + text.trim());
+        }
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * EngineReply: Writes the results of the commands run by the
+     * engine, on its reply thread. The main thread only writes once
+     * the engine has caught up, so the two never write at once.
+     */
+    private final class EngineReply implements LedgerEngine.Reply {
+        private Writer out;
+        private IOException failure;    // First write error, rethrown by applyPending
+
+        @Override
+        public void onResult(char type, long tag, TransactionResult result, long balanceAfterCents) {
+            if (failure != null) {
+                return;
+            }
+            String command = type == LedgerEngine.DEPOSIT ? "deposit"
+                    : type == LedgerEngine.WITHDRAWAL ? "withdraw" : "transfer";
+            try {
+                writeResult(tag, command, result.name(), result.isOK(), out);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+    }
+} // End of class BatchRunner
@@ -1,3 +1,5 @@
+package bank;
+
 /**
  * CheckingAccount: This class extends BankAccount and has an overdraft
  * limit of $200.00, allowing balance to go as low as -200.
@@ -9,7 +11,7 @@
 public class CheckingAccount extends BankAccount {
 
     // ================== Fields/Constants ==================
-    private static final double OVERDRAFT_LIMIT = 200.0;
+    private static final long OVERDRAFT_LIMIT_CENTS = 20000L;   // $200.00
 
     // ====================== Constructors ==================
 
@@ -46,24 +48,20 @@ public class CheckingAccount extends BankAccount {
     // ====================== Methods ======================
 
     /**
-     * withdraw: Overrides the generic BankAccount withdraw method to
-     * allow overdrafting up to $200.
+     * getOverdraftFloorCents: Returns the lowest balance allowed,
+     * which is the $200 overdraft limit below zero. withdraw and
+     * tryWithdraw check it and update the balance in one
+     * compare-and-set, so concurrent withdrawals can never push the
+     * balance past the limit.
      *
      * @author London Paris
-     * @version  1.0
-     * @param amount The amount to withdraw
-     * @param description A short description for this withdrawal
-     * @return void
-     * @since 14 Feb 2025
+     * @version 1.0
+     * @param void
+     * @return the balance floor in cents
+     * @since 18 Oct 2026
      */
     @Override
-    public void withdraw(double amount, String description) {
-        if (getBalance() - amount >= -OVERDRAFT_LIMIT) {
-            setBalance(getBalance() - amount);
-            Transaction t = new Transaction('W', amount, getBalance(), description);
-            getTransactions().add(t);
-        } else {
-            System.out.println("Withdrawal declined. Overdraft limit exceeded.");
-        }
+    protected long getOverdraftFloorCents() {
+        return -OVERDRAFT_LIMIT_CENTS;
     }
 } // End of class CheckingAccount
@@ -0,0 +1,603 @@
+package bank;
+
+/**
+ * Checkpointer: This class periodically writes the accounts changed
+ * since the last checkpoint to a new incremental snapshot file, then
+ * empties the journal. Startup loads the account store, then every
+ * snapshot in order (later snapshots win), then the journal tail, so
+ * both the checkpoint and the restart cost depend on recent activity
+ * instead of the total number of accounts. When too many snapshots
+ * pile up they are merged into one, and the merged balances of
+ * accounts already in the account store are written into it in place.
+ *
+ * Snapshots hold balances and account details, not transaction
+ * history, so before the journal is emptied the history entries
+ * recorded since the last checkpoint are appended to a HistoryArchive
+ * next to the store, which loadHistory() reads back at startup.
+ *
+ * A checkpoint pauses account changes through the ledger while it
+ * copies the dirty accounts, archives their new history, writes and
+ * fsyncs the snapshot, and resets the journal. That keeps the snapshot and the journal an
+ * exact cut of each other; the pause grows with the number of dirty
+ * accounts only. Each snapshot, and the account store, records the
+ * journal epoch it covers, so a crash after the snapshot is renamed
+ * into place but before the journal is reset does not apply the
+ * journal's records a second time. Snapshots that the account store
+ * already covers, left over from a crash during saveStore(), are
+ * skipped for the same reason.
+ *
+ * Snapshot format: magic, version, account count, covered journal
+ * epoch, then for each
+ * account its type code, ID, balance in cents, interest rate, name,
+ * last interest period, rate plan ID, and the start of the interest
+ * period with the balance integral up to the checkpoint, followed by
+ * a CRC32 of the records. Snapshots from older versions, without the
+ * interest period (version 1), the rate plan ID (version 2) or the
+ * balance integral (version 3), or the covered epoch (version 4),
+ * are still read.
+ * NOTE: This class is used by BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+public class Checkpointer implements Closeable {
+    // ========================== Fields ==========================
+    private final Ledger ledger;
+    private final Path storePath;               // The AccountStore file
+    private final Path directory;               // Where snapshot files live
+    private final HistoryArchive history;       // History the emptied journals held
+    private Journal journal;                    // Journal emptied after each checkpoint
+    private ScheduledExecutorService scheduler; // Runs periodic checkpoints
+    private int lastSnapshotNumber;             // Number of the newest snapshot file
+    private long coveredEpoch = -1L;            // Last journal epoch in the loaded files
+
+    // ===================== Default Values =======================
+    public static final long CHECKPOINT_INTERVAL_SECONDS = 30L;
+    public static final int MAX_SNAPSHOTS = 16;
+    private static final String SNAPSHOT_PREFIX = "accounts-";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String HISTORY_FILE_NAME = "accounts.history";
+    private static final int MAGIC = 0x42534E50;    // "BSNP"
+    private static final int VERSION = 5;
+    private static final int OLDEST_VERSION = 1;
+
+    // ====================== Constructors ========================
+
+    /**
+     * Checkpointer: This constructor initializes a checkpointer for
+     * the given ledger. Snapshots and the history archive are kept
+     * next to the account store.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger to checkpoint
+     * @param storePath The AccountStore file holding the full state
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public Checkpointer(Ledger ledger, Path storePath) {
+        this.ledger = ledger;
+        this.storePath = storePath.toAbsolutePath();
+        this.directory = this.storePath.getParent();
+        this.history = new HistoryArchive(directory.resolve(HISTORY_FILE_NAME));
+    }
+
+    // ================= Loading and Scheduling ==================
+
+    /**
+     * loadSnapshots: Applies every snapshot file, oldest first, on top
+     * of the accounts already in the ledger, except those the account
+     * store already covers. Call this after loading the account store
+     * and before loadHistory() and replaying the journal, and pass
+     * getCoveredEpoch() to the journal's recovery.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of account records applied
+     * @throws IOException if a snapshot cannot be read
+     * @since 18 Oct 2026
+     */
+    public synchronized int loadSnapshots() throws IOException {
+        int applied = 0;
+        long storeEpoch = -1L;
+        if (Files.exists(storePath)) {
+            try (AccountStore store = AccountStore.open(storePath)) {
+                storeEpoch = store.getCoveredEpoch();
+            }
+        }
+        coveredEpoch = storeEpoch;
+        for (Path file : listSnapshots()) {
+            lastSnapshotNumber = Math.max(lastSnapshotNumber, snapshotNumber(file));
+            Snapshot snapshot = readSnapshot(file);
+            if (storeEpoch >= 0L && snapshot.coveredEpoch <= storeEpoch) {
+                continue;   // Older than the store; saveStore() crashed before deleting it
+            }
+            for (SnapshotRecord record : snapshot.records.values()) {
+                record.applyTo(ledger);
+                applied++;
+            }
+            coveredEpoch = Math.max(coveredEpoch, snapshot.coveredEpoch);
+        }
+        // Everything just loaded is already in a snapshot
+        ledger.drainDirtyAccounts();
+        return applied;
+    }
+
+    /**
+     * loadHistory: Appends the archived transaction history to the
+     * ledger's accounts, leaving out what the journal at the given
+     * path is about to replay. Call this after loadSnapshots() and
+     * before replaying the journal, so the history stays in order.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param journalPath The journal file about to be replayed
+     * @return the number of history entries loaded
+     * @throws IOException if the archive or the journal header cannot
+     *         be read
+     * @since 18 Oct 2026
+     */
+    public synchronized int loadHistory(Path journalPath) throws IOException {
+        long journalEpoch = Journal.readEpoch(journalPath);
+        return history.load(ledger, journalEpoch > coveredEpoch ? journalEpoch : Long.MAX_VALUE);
+    }
+
+    /**
+     * getCoveredEpoch: Returns the last journal epoch whose records are
+     * already in the account store or the snapshots loaded.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the covered epoch, or -1 if none is known
+     * @since 18 Oct 2026
+     */
+    public synchronized long getCoveredEpoch() {
+        return coveredEpoch;
+    }
+
+    /**
+     * start: Starts periodic checkpoints. After each checkpoint the
+     * given journal is emptied.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param journal The ledger's journal, or null if there is none
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public synchronized void start(Journal journal) {
+        this.journal = journal;
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "checkpointer");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint();
+            } catch (IOException e) {
+                System.err.println("Checkpoint failed: " + e.getMessage());
+            }
+        }, CHECKPOINT_INTERVAL_SECONDS, CHECKPOINT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * close: Stops periodic checkpoints. Does not take a final one.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = scheduler;
+            scheduler = null;
+        }
+        if (running != null) {
+            running.shutdown();
+            try {
+                running.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ======================= Checkpoints ========================
+
+    /**
+     * checkpoint: Writes every account changed since the last
+     * checkpoint to a new snapshot file, archives their new history
+     * and empties the journal.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of accounts written
+     * @throws IOException if the snapshot cannot be written
+     * @since 18 Oct 2026
+     */
+    public synchronized int checkpoint() throws IOException {
+        long start = Metrics.start();
+        int written;
+        ledger.pauseMutations();
+        try {
+            List<BankAccount> dirty = ledger.drainDirtyAccounts();
+            if (dirty.isEmpty()) {
+                return 0;
+            }
+            List<SnapshotRecord> records = new ArrayList<>(dirty.size());
+            long now = System.currentTimeMillis();
+            for (BankAccount account : dirty) {
+                records.add(new SnapshotRecord(account, now));
+            }
+            coverJournal();
+            history.append(coveredEpoch, dirty);
+            writeSnapshot(lastSnapshotNumber + 1, coveredEpoch, records);
+            lastSnapshotNumber++;
+            written = dirty.size();
+            if (journal != null) {
+                journal.reset();
+            }
+        } finally {
+            ledger.resumeMutations();
+        }
+        if (listSnapshots().size() > MAX_SNAPSHOTS) {
+            compact();
+        }
+        if (Metrics.ENABLED) {
+            Metrics.CHECKPOINT.recordSince(start);
+        }
+        return written;
+    }
+
+    /**
+     * saveStore: Archives the history not yet archived, writes every
+     * account to the account store and then deletes the snapshots and
+     * empties the journal, since the store
+     * now holds the full state on its own. Changes are paused for the
+     * duration so the store is an exact cut.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws IOException if the store cannot be written
+     * @since 18 Oct 2026
+     */
+    public synchronized void saveStore() throws IOException {
+        long start = Metrics.start();
+        ledger.pauseMutations();
+        try {
+            coverJournal();
+            history.append(coveredEpoch, ledger.getAccounts());
+            AccountStore.write(storePath, ledger.getAccounts(), coveredEpoch);
+            for (Path file : listSnapshots()) {
+                Files.deleteIfExists(file);
+            }
+            lastSnapshotNumber = 0;
+            ledger.drainDirtyAccounts();
+            if (journal != null) {
+                journal.reset();
+            }
+        } finally {
+            ledger.resumeMutations();
+        }
+        if (Metrics.ENABLED) {
+            Metrics.SAVE.recordSince(start);
+        }
+    }
+
+    /**
+     * compact: Merges every snapshot into one file numbered like the
+     * newest, keeping the latest record for each account, then folds
+     * the records of accounts already in the account store into it and
+     * rewrites the merged snapshot with the rest. Every step leaves a
+     * set of files that still loads to the same state, so a crash part
+     * way through is harmless.
+     */
+    private void compact() throws IOException {
+        List<Path> files = listSnapshots();
+        Map<Integer, SnapshotRecord> merged = new LinkedHashMap<>();
+        long mergedEpoch = -1L;
+        for (Path file : files) {
+            Snapshot snapshot = readSnapshot(file);
+            merged.putAll(snapshot.records);
+            mergedEpoch = Math.max(mergedEpoch, snapshot.coveredEpoch);
+        }
+        writeSnapshot(lastSnapshotNumber, mergedEpoch, merged.values());
+        for (Path file : files) {
+            if (snapshotNumber(file) != lastSnapshotNumber) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        if (!Files.exists(storePath)) {
+            return;
+        }
+        try (AccountStore store = AccountStore.open(storePath)) {
+            Iterator<SnapshotRecord> records = merged.values().iterator();
+            while (records.hasNext()) {
+                if (records.next().foldInto(store)) {
+                    records.remove();
+                }
+            }
+            store.force();
+        }
+        if (merged.isEmpty()) {
+            Files.deleteIfExists(snapshotPath(lastSnapshotNumber));
+        } else {
+            writeSnapshot(lastSnapshotNumber, mergedEpoch, merged.values());
+        }
+    }
+
+    /**
+     * coverJournal: Notes the journal's current epoch as the one the
+     * snapshot or store about to be written covers. Changes must be
+     * paused, so nothing is appended to that epoch after the write.
+     */
+    private void coverJournal() {
+        if (journal != null) {
+            coveredEpoch = journal.getEpoch();
+        }
+    }
+
+    // ===================== File Handling ========================
+
+    /**
+     * writeSnapshot: Writes the encoded records to a temporary file,
+     * fsyncs it and renames it into place.
+     */
+    private void writeSnapshot(int number, long epoch, Collection<SnapshotRecord> records)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(records.size() * 48);
+        DataOutputStream encoder = new DataOutputStream(bytes);
+        for (SnapshotRecord record : records) {
+            record.writeTo(encoder);
+        }
+        Path target = snapshotPath(number);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        byte[] data = bytes.toByteArray();
+        crc.update(data, 0, data.length);
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(records.size());
+            out.writeLong(epoch);
+            out.write(data);
+            out.writeLong(crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * readSnapshot: Reads one snapshot file.
+     *
+     * @return the snapshot, with its records by account ID in file order
+     */
+    private static Snapshot readSnapshot(Path file) throws IOException {
+        try (DataInputStream header = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (header.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            int version = header.readInt();
+            if (version < OLDEST_VERSION || version > VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            int count = header.readInt();
+            long epoch = version >= 5 ? header.readLong() : -1L;
+            CheckedInputStream checked = new CheckedInputStream(header, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            Map<Integer, SnapshotRecord> records = new LinkedHashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                SnapshotRecord record = SnapshotRecord.readFrom(in, version);
+                records.put(record.accountID, record);
+            }
+            if (header.readLong() != checked.getChecksum().getValue()) {
+                throw new IOException("Snapshot checksum mismatch: " + file);
+            }
+            return new Snapshot(epoch, records);
+        }
+    }
+
+    /**
+     * listSnapshots: Returns the snapshot files, oldest first.
+     */
+    private List<Path> listSnapshots() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SNAPSHOT_PREFIX + "[0-9]*" + SNAPSHOT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private Path snapshotPath(int number) {
+        return directory.resolve(String.format("%s%06d%s", SNAPSHOT_PREFIX, number, SNAPSHOT_SUFFIX));
+    }
+
+    private static int snapshotNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SNAPSHOT_PREFIX.length(),
+                name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    // ===================== Snapshot Record ======================
+
+    /**
+     * Snapshot: The contents of one snapshot file.
+     */
+    private static final class Snapshot {
+        private final long coveredEpoch;    // -1 for files older than version 5
+        private final Map<Integer, SnapshotRecord> records;
+
+        private Snapshot(long coveredEpoch, Map<Integer, SnapshotRecord> records) {
+            this.coveredEpoch = coveredEpoch;
+            this.records = records;
+        }
+    }
+
+    /**
+     * SnapshotRecord: The saved state of one account.
+     */
+    private static final class SnapshotRecord {
+        private final AccountType type;
+        private final int accountID;
+        private final long balanceCents;
+        private final double annualInterestRate;
+        private final String customerName;
+        private final int lastInterestPeriod;
+        private final int ratePlanID;
+        private final long periodStart;     // Start of the interest period, 0 if not saved
+        private final long integralTime;    // When the balance integral was taken
+        private final double integral;      // Balance integral from periodStart to integralTime
+
+        private SnapshotRecord(AccountType type, int accountID, long balanceCents,
+                               double annualInterestRate, String customerName,
+                               int lastInterestPeriod, int ratePlanID,
+                               long periodStart, long integralTime, double integral) {
+            this.type = type;
+            this.accountID = accountID;
+            this.balanceCents = balanceCents;
+            this.annualInterestRate = annualInterestRate;
+            this.customerName = customerName;
+            this.lastInterestPeriod = lastInterestPeriod;
+            this.ratePlanID = ratePlanID;
+            this.periodStart = periodStart;
+            this.integralTime = integralTime;
+            this.integral = integral;
+        }
+
+        private SnapshotRecord(BankAccount account, long now) {
+            this(AccountType.of(account), account.getAccountID(), account.getBalanceCents(),
+                    account.getAnnualInterestRate(), account.getCustomerName(),
+                    account.getLastInterestPeriod(), account.getRatePlan().getPlanID(),
+                    account.getInterestPeriodStart(), now, account.getBalanceIntegral(now));
+        }
+
+        private static SnapshotRecord readFrom(DataInputStream in, int version) throws IOException {
+            AccountType type = AccountType.fromCode(in.readByte());
+            int accountID = in.readInt();
+            long balanceCents = in.readLong();
+            double rate = in.readDouble();
+            String name = in.readUTF();
+            int period = version >= 2 ? in.readInt() : 0;
+            int planID = version >= 3 ? in.readInt() : 0;
+            long periodStart = 0L;
+            long integralTime = 0L;
+            double integral = 0.0;
+            if (version >= 4) {
+                periodStart = in.readLong();
+                integralTime = in.readLong();
+                integral = in.readDouble();
+            }
+            return new SnapshotRecord(type, accountID, balanceCents, rate, name, period, planID,
+                    periodStart, integralTime, integral);
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            out.writeByte(type.getCode());
+            out.writeInt(accountID);
+            out.writeLong(balanceCents);
+            out.writeDouble(annualInterestRate);
+            out.writeUTF(customerName == null ? "" : customerName);
+            out.writeInt(lastInterestPeriod);
+            out.writeInt(ratePlanID);
+            out.writeLong(periodStart);
+            out.writeLong(integralTime);
+            out.writeDouble(integral);
+        }
+
+        /**
+         * foldInto: Writes this record's balance, rate plan and
+         * interest state into the account store, if the store has the
+         * same account under the same type and name and room for the
+         * interest state.
+         *
+         * @return true if the record was folded into the store
+         */
+        private boolean foldInto(AccountStore store) {
+            int slot = store.findSlot(accountID);
+            if (slot < 0 || !store.hasInterestState() || store.getAccountType(slot) != type
+                    || !store.getCustomerName(slot).equals(customerName)) {
+                return false;
+            }
+            store.setBalanceCents(slot, balanceCents);
+            store.setAnnualInterestRate(slot, annualInterestRate);
+            store.setLastInterestPeriod(slot, lastInterestPeriod);
+            store.setRatePlanID(slot, ratePlanID);
+            store.setInterestState(slot, periodStart, integralTime, integral);
+            return true;
+        }
+
+        private void applyTo(Ledger ledger) {
+            BankAccount account = ledger.findAccount(accountID);
+            if (account == null) {
+                account = type.newAccount(customerName, accountID, Money.toDollars(balanceCents));
+                account.setRatePlan(RatePlans.getDefault().resolve(ratePlanID, annualInterestRate));
+                account.setLastInterestPeriod(lastInterestPeriod);
+                restoreInterestPeriod(account);
+                ledger.addAccount(account);
+            } else {
+                account.setBalance(Money.toDollars(balanceCents));
+                account.setRatePlan(RatePlans.getDefault().resolve(ratePlanID, annualInterestRate));
+                account.setCustomerName(customerName);
+                account.setLastInterestPeriod(lastInterestPeriod);
+                restoreInterestPeriod(account);
+            }
+        }
+
+        private void restoreInterestPeriod(BankAccount account) {
+            if (periodStart != 0L) {
+                account.restoreInterestPeriod(periodStart, integralTime, integral);
+            }
+        }
+    }
+} // End of class Checkpointer
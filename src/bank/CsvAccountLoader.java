@@ -0,0 +1,604 @@
+package bank;
+
+/**
+ * CsvAccountLoader: This class loads and saves accounts in the
+ * accounts.txt text format, one account per line:
+ * type,accountID,name,balance,interestRate
+ * The name has commas replaced with semicolons.
+ *
+ * The file is read through read-only memory-mapped windows and parsed
+ * straight from the bytes. IDs, balances and rates are parsed without
+ * building Strings, and names are decoded once from a reused scratch
+ * array, so the customer name String is the only per-line allocation
+ * besides the account itself. Unusual numbers (exponents, more than
+ * two decimal places in a balance) fall back to Double.parseDouble so
+ * the results match the old Scanner and split() loader exactly.
+ * Blank lines and lines with fewer than five fields are skipped, as
+ * before; any other bad line stops the load with an
+ * AccountFileException naming the line.
+ *
+ * loadParallel() splits the file into newline-aligned chunks and
+ * parses them on a ForkJoinPool, then joins the chunks in file order,
+ * so the ledger sees exactly the list a sequential load would give.
+ * NOTE: This class is used by BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class CsvAccountLoader {
+    // ========================== Fields ==========================
+    private final String fileName;      // Used in error messages
+    private byte[] scratch;             // Reused to decode names
+
+    // ===================== Default Values =======================
+    private static final int MAX_WINDOW = 1 << 30;      // Bytes mapped at a time
+    private static final long MIN_CHUNK = 4L << 20;     // Smallest parallel chunk
+    private static final int CHUNKS_PER_THREAD = 4;     // Evens out uneven chunks
+    private static final int MAX_FAST_DIGITS = 15;      // Digits that fit a double exactly
+    private static final byte[] CHECKING_NAME = bytes(AccountType.CHECKING.getName());
+    private static final byte[] SAVINGS_NAME = bytes(AccountType.SAVINGS.getName());
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // ====================== Constructors ========================
+
+    /**
+     * CsvAccountLoader: This constructor initializes a loader whose
+     * errors name the given file.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param fileName The name of the account file
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public CsvAccountLoader(String fileName) {
+        this.fileName = fileName;
+        this.scratch = new byte[64];
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * load: Reads every account in the given file, in file order.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The account file
+     * @return a List of BankAccount objects
+     * @throws AccountFileException if a line cannot be parsed
+     * @throws IOException if the file cannot be read
+     * @since 18 Oct 2026
+     */
+    public static List<BankAccount> load(Path path) throws IOException {
+        long start = Metrics.start();
+        CsvAccountLoader loader = new CsvAccountLoader(path.getFileName().toString());
+        List<BankAccount> accounts = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long lineNumber = 1;
+            while (position < size) {
+                int length = (int) Math.min(size - position, MAX_WINDOW);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = length;
+                if (position + length < size) {
+                    // Stop after the last complete line; the rest starts the next window
+                    end = lastIndexOf(window, (byte) '\n', length) + 1;
+                    if (end == 0) {
+                        throw new AccountFileException(loader.fileName, lineNumber,
+                                "line is longer than " + MAX_WINDOW + " bytes");
+                    }
+                }
+                lineNumber = loader.parse(window, 0, end, lineNumber, accounts);
+                position += end;
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.LOAD.recordSince(start);
+        }
+        return accounts;
+    }
+
+    /**
+     * save: Writes the given accounts to a file, replacing it, with
+     * balances and rates to two decimal places.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The account file
+     * @param accounts The accounts to write, in order
+     * @return void
+     * @throws IOException if the file cannot be written
+     * @since 18 Oct 2026
+     */
+    public static void save(Path path, List<BankAccount> accounts) throws IOException {
+        long start = Metrics.start();
+        try (PrintWriter pw = new PrintWriter(path.toFile(), StandardCharsets.UTF_8)) {
+            for (BankAccount acc : accounts) {
+                String accType = AccountType.of(acc).getName();
+                // Replace commas in name
+                String safeName = acc.getCustomerName().replace(",", ";");
+                pw.printf("%s,%d,%s,%.2f,%.2f%n",
+                        accType,
+                        acc.getAccountID(),
+                        safeName,
+                        acc.getBalance(),
+                        acc.getAnnualInterestRate());
+            }
+            if (pw.checkError()) {
+                throw new IOException("Error writing " + path);
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.SAVE.recordSince(start);
+        }
+    }
+
+    /**
+     * loadParallel: Reads every account in the given file using the
+     * common ForkJoinPool. The result is the same as load().
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The account file
+     * @return a List of BankAccount objects, in file order
+     * @throws AccountFileException if a line cannot be parsed
+     * @throws IOException if the file cannot be read
+     * @since 18 Oct 2026
+     */
+    public static List<BankAccount> loadParallel(Path path) throws IOException {
+        return loadParallel(path, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * loadParallel: Reads every account in the given file, parsing
+     * newline-aligned chunks of it in parallel on the given pool. The
+     * chunks are joined in file order, so the result is the same as
+     * load(), and an error reports the first bad line of the file.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The account file
+     * @param pool The pool to parse the chunks on
+     * @return a List of BankAccount objects, in file order
+     * @throws AccountFileException if a line cannot be parsed
+     * @throws IOException if the file cannot be read
+     * @since 18 Oct 2026
+     */
+    public static List<BankAccount> loadParallel(Path path, ForkJoinPool pool) throws IOException {
+        long start = Metrics.start();
+        String fileName = path.getFileName().toString();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkCount = Math.min(size / MIN_CHUNK, (long) pool.getParallelism() * CHUNKS_PER_THREAD);
+            chunkCount = Math.max(chunkCount, (size + MAX_WINDOW - 1) / MAX_WINDOW);
+            chunkCount = Math.max(chunkCount, 1);
+
+            List<ChunkTask> tasks = new ArrayList<>();
+            long chunkStart = 0;
+            for (long i = 1; i <= chunkCount && chunkStart < size; i++) {
+                long chunkEnd = i == chunkCount ? size : nextLineStart(channel, size * i / chunkCount);
+                if (chunkEnd > chunkStart) {
+                    if (chunkEnd - chunkStart > MAX_WINDOW) {
+                        throw new IOException(fileName + " has a line longer than " + MAX_WINDOW + " bytes");
+                    }
+                    tasks.add(new ChunkTask(channel, fileName, chunkStart, (int) (chunkEnd - chunkStart)));
+                    chunkStart = chunkEnd;
+                }
+            }
+            pool.invoke(new ChunkBatch(tasks));
+
+            int total = 0;
+            long lineOffset = 0;
+            for (ChunkTask task : tasks) {
+                if (task.lineError != null) {
+                    throw new AccountFileException(fileName,
+                            lineOffset + task.lineError.getLineNumber(), task.lineError.getProblem());
+                }
+                if (task.readError != null) {
+                    throw task.readError;
+                }
+                total += task.accounts.size();
+                lineOffset += task.lineCount;
+            }
+            List<BankAccount> accounts = new ArrayList<>(total);
+            for (ChunkTask task : tasks) {
+                accounts.addAll(task.accounts);
+            }
+            if (Metrics.ENABLED) {
+                Metrics.LOAD.recordSince(start);
+            }
+            return accounts;
+        }
+    }
+
+    /**
+     * parse: Parses the lines between two byte offsets of a buffer and
+     * adds an account for each to the given list. The range must start
+     * at the beginning of a line.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param buffer The file bytes
+     * @param start The offset of the first byte to parse
+     * @param end The offset just past the last byte to parse
+     * @param lineNumber The line number of the first line in the range
+     * @param out The list the accounts are added to
+     * @return the line number just after the range
+     * @throws AccountFileException if a line cannot be parsed
+     * @since 18 Oct 2026
+     */
+    public long parse(ByteBuffer buffer, int start, int end, long lineNumber,
+            List<BankAccount> out) throws AccountFileException {
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = indexOf(buffer, (byte) '\n', lineStart, end);
+            BankAccount account = parseLine(buffer, lineStart, lineEnd, lineNumber);
+            if (account != null) {
+                out.add(account);
+            }
+            lineStart = lineEnd + 1;
+            lineNumber++;
+        }
+        return lineNumber;
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * parseLine: Parses one line, without its newline.
+     *
+     * @return the account, or null if the line is skipped
+     */
+    private BankAccount parseLine(ByteBuffer buffer, int start, int end, long lineNumber)
+            throws AccountFileException {
+        // Trim like String.trim()
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return null;
+        }
+
+        int typeEnd = indexOf(buffer, (byte) ',', start, end);
+        int idEnd = indexOf(buffer, (byte) ',', typeEnd + 1, end);
+        int nameEnd = indexOf(buffer, (byte) ',', idEnd + 1, end);
+        int balanceEnd = indexOf(buffer, (byte) ',', nameEnd + 1, end);
+        if (balanceEnd >= end || onlyCommas(buffer, balanceEnd + 1, end)) {
+            return null;        // Fewer than five fields
+        }
+        int rateEnd = indexOf(buffer, (byte) ',', balanceEnd + 1, end);
+
+        AccountType type = parseType(buffer, start, typeEnd);
+        int accountID = parseID(buffer, typeEnd + 1, idEnd, lineNumber);
+        String name = parseName(buffer, idEnd + 1, nameEnd);
+        long balanceCents = parseCents(buffer, nameEnd + 1, balanceEnd, lineNumber);
+        double rate = parseRate(buffer, balanceEnd + 1, rateEnd, lineNumber);
+
+        BankAccount account = type.newAccount(name, accountID, Money.toDollars(balanceCents));
+        account.setAnnualInterestRate(rate);
+        return account;
+    }
+
+    private static AccountType parseType(ByteBuffer buffer, int start, int end) {
+        if (equalsIgnoreCase(buffer, start, end, CHECKING_NAME)) {
+            return AccountType.CHECKING;
+        } else if (equalsIgnoreCase(buffer, start, end, SAVINGS_NAME)) {
+            return AccountType.SAVINGS;
+        }
+        return AccountType.BANK_ACCOUNT;
+    }
+
+    private int parseID(ByteBuffer buffer, int start, int end, long lineNumber)
+            throws AccountFileException {
+        start = skipSpace(buffer, start, end);
+        end = trimSpace(buffer, start, end);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw error(lineNumber, "invalid account ID", buffer, start, end);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw error(lineNumber, "invalid account ID", buffer, start, end);
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw error(lineNumber, "account ID out of range", buffer, start, end);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error(lineNumber, "account ID out of range", buffer, start, end);
+        }
+        return (int) value;
+    }
+
+    /**
+     * parseName: Decodes the name field, turning the semicolons that
+     * stand in for commas back into commas on the way.
+     */
+    private String parseName(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(start + i);
+            scratch[i] = b == ';' ? (byte) ',' : b;
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * parseCents: Parses a dollar amount with at most two decimal
+     * places straight into cents. Anything else is parsed as a double
+     * and rounded to the nearest cent.
+     */
+    private long parseCents(ByteBuffer buffer, int start, int end, long lineNumber)
+            throws AccountFileException {
+        start = skipSpace(buffer, start, end);
+        end = trimSpace(buffer, start, end);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        int decimals = -1;      // Digits after the point, -1 before it
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (b >= '0' && b <= '9' && digits < MAX_FAST_DIGITS && decimals < 2) {
+                value = value * 10 + (b - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else {
+                break;
+            }
+        }
+        if (i == end && digits > 0) {
+            for (int d = Math.max(decimals, 0); d < 2; d++) {
+                value *= 10;
+            }
+            return negative ? -value : value;
+        }
+        try {
+            return Money.toCents(Double.parseDouble(text(buffer, start, end)));
+        } catch (NumberFormatException e) {
+            throw error(lineNumber, "invalid balance", buffer, start, end);
+        }
+    }
+
+    /**
+     * parseRate: Parses a decimal number. Up to 15 digits are read as
+     * an exact integer and divided by an exact power of ten, which
+     * rounds the same way Double.parseDouble does.
+     */
+    private double parseRate(ByteBuffer buffer, int start, int end, long lineNumber)
+            throws AccountFileException {
+        start = skipSpace(buffer, start, end);
+        end = trimSpace(buffer, start, end);
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (b >= '0' && b <= '9' && digits < MAX_FAST_DIGITS) {
+                value = value * 10 + (b - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else {
+                break;
+            }
+        }
+        if (i == end && digits > 0) {
+            double rate = value / POWERS_OF_TEN[Math.max(decimals, 0)];
+            return negative ? -rate : rate;
+        }
+        try {
+            return Double.parseDouble(text(buffer, start, end));
+        } catch (NumberFormatException e) {
+            throw error(lineNumber, "invalid interest rate", buffer, start, end);
+        }
+    }
+
+    private AccountFileException error(long lineNumber, String problem, ByteBuffer buffer,
+            int start, int end) {
+        return new AccountFileException(fileName, lineNumber,
+                problem + " \"" + text(buffer, start, end) + "\"");
+    }
+
+    private static String text(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean equalsIgnoreCase(ByteBuffer buffer, int start, int end, byte[] name) {
+        if (end - start != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            int b = buffer.get(start + i);
+            if (b != name[i]) {
+                // ASCII letters differ from their other case by one bit
+                int lower = b | 0x20;
+                if (lower != (name[i] | 0x20) || lower < 'a' || lower > 'z') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean onlyCommas(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) != ',') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipSpace(ByteBuffer buffer, int start, int end) {
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimSpace(ByteBuffer buffer, int start, int end) {
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * indexOf: Returns the offset of the first matching byte in the
+     * range, or end if there is none.
+     */
+    private static int indexOf(ByteBuffer buffer, byte value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * nextLineStart: Returns the offset of the first line that starts
+     * at or after the given position, or the file size if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long offset = position - 1;     // A newline just before position ends a line there
+        while (true) {
+            probe.clear();
+            int read = channel.read(probe, offset);
+            if (read <= 0) {
+                return channel.size();
+            }
+            int newline = indexOf(probe, (byte) '\n', 0, read);
+            if (newline < read) {
+                return offset + newline + 1;
+            }
+            offset += read;
+        }
+    }
+
+    private static int lastIndexOf(ByteBuffer buffer, byte value, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * ChunkTask: Parses one newline-aligned chunk of the file with its
+     * own loader. Line numbers are counted from the start of the chunk
+     * and fixed up by loadParallel() once the earlier chunks are known.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient FileChannel channel;
+        private final String fileName;
+        private final long start;
+        private final int length;
+        private final transient List<BankAccount> accounts = new ArrayList<>();
+        private long lineCount;
+        private AccountFileException lineError;
+        private IOException readError;
+
+        private ChunkTask(FileChannel channel, String fileName, long start, int length) {
+            this.channel = channel;
+            this.fileName = fileName;
+            this.start = start;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                lineCount = new CsvAccountLoader(fileName).parse(chunk, 0, length, 1, accounts) - 1;
+            } catch (AccountFileException e) {
+                lineError = e;
+            } catch (IOException e) {
+                readError = e;
+            }
+        }
+    }
+
+    /**
+     * ChunkBatch: Forks every chunk task and waits for all of them.
+     */
+    private static final class ChunkBatch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient List<ChunkTask> tasks;
+
+        private ChunkBatch(List<ChunkTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(tasks);
+        }
+    }
+} // End of class CsvAccountLoader
@@ -0,0 +1,252 @@
+package bank;
+
+/**
+ * HistoryArchive: This class keeps the accounts' transaction history
+ * on disk once the journal that held it has been emptied. Snapshots
+ * and the account store only hold balances and account details, so
+ * before each checkpoint or store save empties the journal, the
+ * history entries recorded since the last one are appended here as
+ * one batch and fsynced. Startup reads the archive back after the
+ * snapshots and before the journal is replayed, so every account gets
+ * its full history in order.
+ *
+ * Each batch records the journal epoch it was written for. A batch
+ * for the epoch the journal is about to replay was written by a
+ * checkpoint that crashed before its snapshot was in place; the
+ * journal still holds those entries, so the batch and anything after
+ * it are skipped, and cut off by the next append.
+ * History follows the account ID, so an account that takes over the
+ * ID of one that was dropped also gets its history.
+ *
+ * File format: a header (magic, version) followed by batches of
+ * [long epoch][int payload length][int CRC32 of payload][payload],
+ * where the payload is one entry after another: account ID, time,
+ * type, amount in cents, balance after in cents and description. A
+ * torn tail ends the read.
+ * NOTE: This class is used by Checkpointer.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+public class HistoryArchive {
+    // ========================== Fields ==========================
+    private final Path path;
+    private long validLength = -1L;     // End of the last batch kept, -1 until read
+
+    // ===================== Default Values =======================
+    private static final int MAGIC = 0x42484953;    // "BHIS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int BATCH_OVERHEAD = 16;   // Epoch, length and CRC
+
+    // ====================== Constructors ========================
+
+    /**
+     * HistoryArchive: This constructor initializes an archive on the
+     * given file, which is created by the first append.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The archive file
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public HistoryArchive(Path path) {
+        this.path = path;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * load: Appends the archived history to the ledger's accounts, up
+     * to the first batch for the epoch the journal will replay, and
+     * notes every account's history as archived. Entries for accounts
+     * the ledger does not have are skipped.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger to load into
+     * @param replayedEpoch The epoch of the journal records about to
+     *        be replayed, or Long.MAX_VALUE if none will be
+     * @return the number of entries loaded
+     * @throws IOException if the file cannot be read or is not a
+     *         history archive
+     * @since 18 Oct 2026
+     */
+    public synchronized int load(Ledger ledger, long replayedEpoch) throws IOException {
+        int loaded = read(ledger, replayedEpoch);
+        for (BankAccount account : ledger.getAccounts()) {
+            account.setArchivedHistory(account.getTransactionLog().size());
+        }
+        return loaded;
+    }
+
+    /**
+     * append: Appends, as one batch, every history entry of the given
+     * accounts that is not archived yet, fsyncs it and notes the
+     * entries as archived. Changes must be paused, so no entry is
+     * added while the batch is written.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param epoch The journal epoch about to be emptied
+     * @param accounts The accounts that may have new entries
+     * @return void
+     * @throws IOException if the archive cannot be written
+     * @since 18 Oct 2026
+     */
+    public synchronized void append(long epoch, Collection<BankAccount> accounts) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream encoder = new DataOutputStream(bytes);
+        boolean any = false;
+        for (BankAccount account : accounts) {
+            TransactionLog log = account.getTransactionLog();
+            int size = log.size();
+            for (int i = Math.min(account.getArchivedHistory(), size); i < size; i++) {
+                encoder.writeInt(account.getAccountID());
+                encoder.writeLong(log.getTime(i));
+                encoder.writeByte(log.getType(i));
+                encoder.writeLong(log.getAmountCents(i));
+                encoder.writeLong(log.getBalanceAfterCents(i));
+                String description = log.getDescription(i);
+                encoder.writeUTF(description == null ? "" : description);
+                any = true;
+            }
+        }
+        if (!any) {
+            return;
+        }
+        if (validLength < 0L) {
+            read(null, Long.MAX_VALUE);
+        }
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            // Cuts off batches a crashed checkpoint left behind
+            channel.truncate(validLength);
+            long position = validLength;
+            if (position == 0L) {
+                position += writeFully(channel,
+                        ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip(), position);
+            }
+            ByteBuffer batch = ByteBuffer.allocate(BATCH_OVERHEAD + payload.length)
+                    .putLong(epoch).putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            position += writeFully(channel, batch.flip(), position);
+            channel.force(false);
+            validLength = position;
+        }
+        for (BankAccount account : accounts) {
+            account.setArchivedHistory(account.getTransactionLog().size());
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * read: Reads the batches before the replayed epoch, appending their
+     * entries to the ledger's accounts unless the ledger is null, and
+     * notes where the last one kept ends.
+     *
+     * @return the number of entries read
+     */
+    private int read(Ledger ledger, long replayedEpoch) throws IOException {
+        validLength = 0L;
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        int entries = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a history archive: " + path);
+                }
+                int version = in.readInt();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported history archive version " + version + ": " + path);
+                }
+            } catch (EOFException e) {
+                return 0;   // Torn header; rewritten by the next append
+            }
+            long position = HEADER_SIZE;
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                try {
+                    long epoch = in.readLong();
+                    int length = in.readInt();
+                    int checksum = in.readInt();
+                    if (epoch >= replayedEpoch || length <= 0) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    crc.reset();
+                    crc.update(payload, 0, length);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                if (ledger != null) {
+                    entries += apply(payload, ledger);
+                }
+                position += BATCH_OVERHEAD + payload.length;
+            }
+            validLength = position;
+        }
+        return entries;
+    }
+
+    /**
+     * apply: Appends the entries of one batch to their accounts.
+     *
+     * @return the number of entries in the batch
+     */
+    private static int apply(byte[] payload, Ledger ledger) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int entries = 0;
+        while (in.available() > 0) {
+            int accountID = in.readInt();
+            long time = in.readLong();
+            char type = (char) in.readByte();
+            long amountCents = in.readLong();
+            long balanceAfterCents = in.readLong();
+            String description = in.readUTF();
+            BankAccount account = ledger.findAccount(accountID);
+            if (account != null) {
+                account.getTransactionLog().append(time, type, amountCents, balanceAfterCents, description);
+            }
+            entries++;
+        }
+        return entries;
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0L;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+} // End of class HistoryArchive
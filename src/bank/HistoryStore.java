@@ -0,0 +1,565 @@
+package bank;
+
+/**
+ * HistoryStore: This class holds the older part of every account's
+ * transaction history outside the Java heap. TransactionLog keeps
+ * the newest entries of an account in heap columns and hands older
+ * ones here in fixed-size segments. A segment first lives in a direct
+ * (off-heap) buffer; once the off-heap budget is used up, a background
+ * spiller thread writes the oldest segments to a segment file on disk
+ * and releases their buffers, so appending never waits on file I/O
+ * unless the spiller falls a whole budget behind. Reads go through the
+ * same segment wherever it lives, so history of any age is still
+ * available while the heap stays bounded.
+ *
+ * A segment whose account is dropped is released: its buffer is let
+ * go, or its space in the segment file is put on a free list that
+ * later spills reuse, and a free run at the end of the file is cut off.
+ *
+ * Segment format: SEGMENT_ENTRIES records of RECORD_SIZE bytes (long
+ * time, long amount in cents, long balance after in cents, int
+ * description offset, short description length or -1 for none, byte
+ * type, byte padding), then the UTF-8 descriptions, then a type
+ * index of SEGMENT_ENTRIES bytes: the entry numbers grouped by type
+ * code, in entry order within each type. A description repeated
+ * within a segment is stored once. Where each type's run of the type
+ * index starts is kept on the Segment object, so a query for one type
+ * jumps straight to that type's entries.
+ * The segment file is scratch space for this process only and is
+ * deleted when the program exits; the journal and snapshots remain
+ * the durable record of balances.
+ * NOTE: This class is used by TransactionLog.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class HistoryStore {
+    // ========================== Fields ==========================
+    private final long offHeapBudget;           // Bytes of segments kept off heap
+    private final Path directory;               // Where the segment file goes
+    private final LinkedHashSet<Segment> offHeap; // Off-heap segments, oldest first
+    private long offHeapBytes;                  // Bytes held by offHeap
+    private long diskBytes;                     // Bytes of live segments on disk
+    private volatile FileChannel file;          // Segment file, opened on first spill
+    private long fileSize;                      // End of the segment file
+    private final TreeMap<Long, Long> freeSpace = new TreeMap<>(); // Free runs of the file, by start
+    private Thread spiller;                     // Started on the first spill
+    private IOException spillFailure;           // Stops spilling; history stays off heap
+
+    // ===================== Default Values =======================
+    public static final int SEGMENT_ENTRIES = 256;
+    public static final long DEFAULT_OFF_HEAP_BUDGET = 64L << 20;
+    static final int RECORD_SIZE = 32;
+    private static final int TIME_OFFSET = 0;
+    private static final int AMOUNT_OFFSET = 8;
+    private static final int BALANCE_OFFSET = 16;
+    private static final int DESCRIPTION_OFFSET = 24;
+    private static final int DESCRIPTION_LENGTH_OFFSET = 28;
+    private static final int TYPE_OFFSET = 30;
+    private static final HistoryStore DEFAULT = new HistoryStore(DEFAULT_OFF_HEAP_BUDGET,
+            Paths.get(System.getProperty("java.io.tmpdir")));
+
+    // ====================== Constructors ========================
+
+    /**
+     * HistoryStore: This constructor initializes a store that keeps up
+     * to the given number of bytes off heap before spilling to a
+     * segment file in the given directory.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param offHeapBudget The most bytes of segments to keep off heap
+     * @param directory The directory for the segment file
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public HistoryStore(long offHeapBudget, Path directory) {
+        this.offHeapBudget = offHeapBudget;
+        this.directory = directory;
+        this.offHeap = new LinkedHashSet<>();
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getDefault: Returns the store shared by every TransactionLog
+     * created without one of its own.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the shared HistoryStore
+     * @since 18 Oct 2026
+     */
+    public static HistoryStore getDefault() {
+        return DEFAULT;
+    }
+
+    public synchronized long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    public synchronized long getDiskBytes() {
+        return diskBytes;
+    }
+
+    public synchronized long getFileSize() {
+        return fileSize;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * store: Encodes the first SEGMENT_ENTRIES entries of the given
+     * columns into a new off-heap segment, and wakes the spiller if
+     * that goes over the budget. Only waits for the spiller if the
+     * off-heap segments reach twice the budget.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param times The time column
+     * @param types The type column
+     * @param amountCents The amount column
+     * @param balanceAfterCents The balance column
+     * @param descriptions The description column
+     * @return the new segment
+     * @since 18 Oct 2026
+     */
+    public Segment store(long[] times, byte[] types, long[] amountCents,
+                         long[] balanceAfterCents, String[] descriptions) {
+        // Counting sort of the entry numbers by type code
+        int[] counts = new int[256];
+        int distinct = 0;
+        for (int i = 0; i < SEGMENT_ENTRIES; i++) {
+            if (counts[types[i] & 0xFF]++ == 0) {
+                distinct++;
+            }
+        }
+        byte[] typeCodes = new byte[distinct];
+        int[] runStarts = new int[distinct + 1];
+        int[] next = new int[256];
+        for (int code = 0, run = 0; code < 256; code++) {
+            if (counts[code] > 0) {
+                typeCodes[run] = (byte) code;
+                next[code] = runStarts[run];
+                runStarts[run + 1] = runStarts[run] + counts[code];
+                run++;
+            }
+        }
+        byte[] typeIndex = new byte[SEGMENT_ENTRIES];
+        for (int i = 0; i < SEGMENT_ENTRIES; i++) {
+            typeIndex[next[types[i] & 0xFF]++] = (byte) i;
+        }
+
+        ByteBuffer encoded = encode(times, types, amountCents, balanceAfterCents, descriptions,
+                typeIndex);
+        ByteBuffer memory = ByteBuffer.allocateDirect(encoded.remaining());
+        memory.put(encoded).flip();
+        Segment segment = new Segment(this, memory, times[0], typeCodes, runStarts,
+                memory.capacity() - SEGMENT_ENTRIES);
+        synchronized (this) {
+            offHeap.add(segment);
+            offHeapBytes += memory.capacity();
+            if (offHeapBytes > offHeapBudget && spillFailure == null) {
+                if (spiller == null) {
+                    spiller = new Thread(this::runSpiller, "history-spiller");
+                    spiller.setDaemon(true);
+                    spiller.start();
+                }
+                notifyAll();
+                boolean interrupted = false;
+                while (offHeapBytes > 2 * offHeapBudget && spillFailure == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * release: Frees a segment that is no longer needed, such as one
+     * of a dropped account's. Its buffer is let go, or its space in the
+     * segment file is freed for later spills. The segment must not be
+     * read afterwards.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param segment The segment to free
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public synchronized void release(Segment segment) {
+        if (segment.released) {
+            return;
+        }
+        segment.released = true;
+        if (segment.memory != null) {
+            // Still off heap; if it is being spilled, runSpiller() frees its file space
+            if (offHeap.remove(segment)) {
+                offHeapBytes -= segment.length;
+            }
+            segment.memory = null;
+        } else {
+            diskBytes -= segment.length;
+            freeFileSpace(segment.filePosition, segment.length);
+        }
+        notifyAll();
+    }
+
+    // ===================== Segment Encoding =====================
+
+    static long getTime(ByteBuffer segment, int entry) {
+        return segment.getLong(entry * RECORD_SIZE + TIME_OFFSET);
+    }
+
+    static long getAmountCents(ByteBuffer segment, int entry) {
+        return segment.getLong(entry * RECORD_SIZE + AMOUNT_OFFSET);
+    }
+
+    static long getBalanceAfterCents(ByteBuffer segment, int entry) {
+        return segment.getLong(entry * RECORD_SIZE + BALANCE_OFFSET);
+    }
+
+    static char getType(ByteBuffer segment, int entry) {
+        return (char) segment.get(entry * RECORD_SIZE + TYPE_OFFSET);
+    }
+
+    static String getDescription(ByteBuffer segment, int entry) {
+        int record = entry * RECORD_SIZE;
+        int length = segment.getShort(record + DESCRIPTION_LENGTH_OFFSET);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        segment.get(segment.getInt(record + DESCRIPTION_OFFSET), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * getIndexedEntry: Returns the entry number at a position of the
+     * segment's type index.
+     */
+    static int getIndexedEntry(ByteBuffer segment, Segment owner, int position) {
+        return segment.get(owner.typeIndexOffset + position) & 0xFF;
+    }
+
+    /**
+     * encode: Lays out the first SEGMENT_ENTRIES entries of the columns
+     * in segment format. Descriptions longer than Short.MAX_VALUE bytes
+     * are cut, as in the journal.
+     */
+    private static ByteBuffer encode(long[] times, byte[] types, long[] amountCents,
+                                     long[] balanceAfterCents, String[] descriptions,
+                                     byte[] typeIndex) {
+        Map<String, Integer> offsets = new HashMap<>();
+        byte[][] texts = new byte[SEGMENT_ENTRIES][];
+        int[] textOffsets = new int[SEGMENT_ENTRIES];
+        int textStart = SEGMENT_ENTRIES * RECORD_SIZE;
+        int textSize = 0;
+        for (int i = 0; i < SEGMENT_ENTRIES; i++) {
+            String description = descriptions[i];
+            if (description == null) {
+                continue;
+            }
+            byte[] bytes = description.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > Short.MAX_VALUE) {
+                bytes = Arrays.copyOf(bytes, Short.MAX_VALUE);
+            }
+            texts[i] = bytes;
+            Integer known = offsets.get(description);
+            if (known != null) {
+                textOffsets[i] = known;
+            } else {
+                textOffsets[i] = textStart + textSize;
+                offsets.put(description, textOffsets[i]);
+                textSize += bytes.length;
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(textStart + textSize + typeIndex.length);
+        for (int i = 0; i < SEGMENT_ENTRIES; i++) {
+            out.putLong(times[i])
+                    .putLong(amountCents[i])
+                    .putLong(balanceAfterCents[i])
+                    .putInt(textOffsets[i])
+                    .putShort(texts[i] == null ? (short) -1 : (short) texts[i].length)
+                    .put(types[i])
+                    .put((byte) 0);
+        }
+        for (int i = 0; i < SEGMENT_ENTRIES; i++) {
+            if (texts[i] != null && out.position() == textOffsets[i]) {
+                out.put(texts[i]);
+            }
+        }
+        out.put(typeIndex);
+        return out.flip();
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * runSpiller: Body of the spiller thread. While the off-heap
+     * segments are over the budget, takes the oldest, reserves space
+     * for it in the segment file under the lock, writes it without the
+     * lock, and then moves it to disk. Stops spilling for good if a
+     * write fails, keeping history off heap rather than losing it.
+     */
+    private void runSpiller() {
+        while (true) {
+            Segment oldest;
+            ByteBuffer data;
+            long position;
+            synchronized (this) {
+                try {
+                    while (offHeapBytes <= offHeapBudget || spillFailure != null) {
+                        wait();
+                    }
+                    if (file == null) {
+                        openFile();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } catch (IOException e) {
+                    failSpilling(e);
+                    continue;
+                }
+                oldest = offHeap.iterator().next();
+                data = oldest.memory.duplicate();
+                position = allocateFileSpace(oldest.length);
+            }
+            try {
+                data.clear();
+                long offset = position;
+                while (data.hasRemaining()) {
+                    offset += file.write(data, offset);
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    freeFileSpace(position, oldest.length);
+                    failSpilling(e);
+                }
+                continue;
+            }
+            synchronized (this) {
+                if (oldest.released) {
+                    freeFileSpace(position, oldest.length);
+                } else {
+                    offHeap.remove(oldest);
+                    offHeapBytes -= oldest.length;
+                    diskBytes += oldest.length;
+                    oldest.moveToDisk(position);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * openFile: Creates the segment file. Called with this store locked.
+     */
+    private void openFile() throws IOException {
+        Path path = Files.createTempFile(directory, "bank-history-", ".seg");
+        // Deleted when the channel closes, at the latest when the JVM exits
+        file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * failSpilling: Records a spill failure and wakes any appender
+     * waiting on the spiller. Called with this store locked.
+     */
+    private void failSpilling(IOException e) {
+        spillFailure = e;
+        System.err.println("History spill failed, keeping history off heap: " + e.getMessage());
+        notifyAll();
+    }
+
+    /**
+     * allocateFileSpace: Returns the position of the first free run of
+     * the segment file long enough for the given length, or the end of
+     * the file. Called with this store locked.
+     */
+    private long allocateFileSpace(int length) {
+        Iterator<Map.Entry<Long, Long>> runs = freeSpace.entrySet().iterator();
+        while (runs.hasNext()) {
+            Map.Entry<Long, Long> run = runs.next();
+            if (run.getValue() >= length) {
+                long position = run.getKey();
+                long rest = run.getValue() - length;
+                runs.remove();
+                if (rest > 0) {
+                    freeSpace.put(position + length, rest);
+                }
+                return position;
+            }
+        }
+        long position = fileSize;
+        fileSize += length;
+        return position;
+    }
+
+    /**
+     * freeFileSpace: Returns a run of the segment file to the free
+     * list, merging it with free neighbours, and cuts the file short if
+     * the run reaches its end. Called with this store locked.
+     */
+    private void freeFileSpace(long position, int length) {
+        long start = position;
+        long end = position + length;
+        Map.Entry<Long, Long> before = freeSpace.floorEntry(start);
+        if (before != null && before.getKey() + before.getValue() == start) {
+            start = before.getKey();
+            freeSpace.remove(start);
+        }
+        Long after = freeSpace.remove(end);
+        if (after != null) {
+            end += after;
+        }
+        if (end == fileSize) {
+            fileSize = start;
+            try {
+                file.truncate(fileSize);
+            } catch (IOException e) {
+                // The space is still reused by later spills
+                System.err.println("History file could not be shortened: " + e.getMessage());
+            }
+        } else {
+            freeSpace.put(start, end - start);
+        }
+    }
+
+    private ByteBuffer read(long position, int length) {
+        ByteBuffer data = ByteBuffer.allocate(length);
+        try {
+            while (data.hasRemaining()) {
+                if (file.read(data, position + data.position()) < 0) {
+                    throw new IOException("Segment file ends early");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read transaction history", e);
+        }
+        return data.flip();
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * Segment: One block of SEGMENT_ENTRIES history entries, either in
+     * an off-heap buffer or at a position in the segment file.
+     */
+    public static final class Segment {
+        private final HistoryStore store;
+        private final int length;
+        private final long startTime;           // Time of the first entry
+        private final byte[] typeCodes;         // Types present, ascending
+        private final int[] runStarts;          // Type index run of each type, plus end
+        private final int typeIndexOffset;      // Where the type index starts
+        private volatile ByteBuffer memory;     // Null once spilled to disk or released
+        private volatile long filePosition;
+        private volatile boolean released;
+
+        private Segment(HistoryStore store, ByteBuffer memory, long startTime, byte[] typeCodes,
+                        int[] runStarts, int typeIndexOffset) {
+            this.store = store;
+            this.length = memory.capacity();
+            this.memory = memory;
+            this.startTime = startTime;
+            this.typeCodes = typeCodes;
+            this.runStarts = runStarts;
+            this.typeIndexOffset = typeIndexOffset;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * getTypeCount: Returns the number of different transaction
+         * types in the segment.
+         */
+        public int getTypeCount() {
+            return typeCodes.length;
+        }
+
+        public char getType(int run) {
+            return (char) (typeCodes[run] & 0xFF);
+        }
+
+        /**
+         * findType: Returns the run of the type index holding the given
+         * type, or -1 if the segment has no entries of that type.
+         */
+        public int findType(char type) {
+            for (int run = 0; run < typeCodes.length; run++) {
+                if ((typeCodes[run] & 0xFF) == type) {
+                    return run;
+                }
+            }
+            return -1;
+        }
+
+        public int getRunStart(int run) {
+            return runStarts[run];
+        }
+
+        public int getRunEnd(int run) {
+            return runStarts[run + 1];
+        }
+
+        /**
+         * isOffHeap: Returns true while the segment is still in memory.
+         */
+        public boolean isOffHeap() {
+            return memory != null;
+        }
+
+        /**
+         * buffer: Returns the segment's bytes, reading them back from
+         * the segment file if it has been spilled. Only absolute reads
+         * may be used on the result.
+         */
+        ByteBuffer buffer() {
+            ByteBuffer inMemory = memory;
+            if (inMemory != null) {
+                return inMemory;
+            }
+            ByteBuffer data = released ? null : store.read(filePosition, length);
+            if (released) {
+                // Checked again after the read, since the space may have been reused
+                throw new IllegalStateException("Transaction history segment was released");
+            }
+            return data;
+        }
+
+        private void moveToDisk(long position) {
+            filePosition = position;
+            memory = null;
+        }
+    }
+} // End of class HistoryStore
@@ -0,0 +1,159 @@
+package bank;
+
+/**
+ * InterestAccrual: This class is the month-end interest job. It posts
+ * the interest each account in the ledger earned on its average daily
+ * balance since the last posting as an 'I' transaction, splitting the
+ * accounts into partitions that run on a ForkJoinPool, and totals the
+ * postings by account type. Each posting costs O(1), however many
+ * transactions the account had.
+ *
+ * Each account remembers the last month it was posted for, and that
+ * month is journaled and checkpointed with the posting itself. A run
+ * that is interrupted, even by a crash, can simply be started again
+ * for the same month: accounts already posted are skipped, so every
+ * account is posted exactly once per month. Postings go through the
+ * same lock-free balance updates as deposits, so online transactions
+ * keep running during the job.
+ * NOTE: This class is used by BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class InterestAccrual {
+    // ========================== Fields ==========================
+    private final Ledger ledger;
+
+    // ===================== Default Values =======================
+    public static final int PARTITION_SIZE = 4096;  // Most accounts one task posts
+
+    // ====================== Constructors ========================
+
+    /**
+     * InterestAccrual: This constructor initializes the job for the
+     * accounts of the given ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger whose accounts earn interest
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public InterestAccrual(Ledger ledger) {
+        this.ledger = ledger;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * run: Posts interest for the given month using the common
+     * ForkJoinPool.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param period The month to post interest for
+     * @return the totals of this run
+     * @throws IOException if the postings cannot be flushed to the journal
+     * @since 18 Oct 2026
+     */
+    public AccrualSummary run(YearMonth period) throws IOException {
+        return run(period, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * run: Posts interest for the given month to every account in the
+     * ledger that has not been posted for it yet, then flushes the
+     * journal so the postings are durable when this returns. Accounts
+     * created while the job runs are left for the next run.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param period The month to post interest for
+     * @param pool The pool to run the partitions on
+     * @return the totals of this run
+     * @throws IOException if the postings cannot be flushed to the journal
+     * @since 18 Oct 2026
+     */
+    public AccrualSummary run(YearMonth period, ForkJoinPool pool) throws IOException {
+        BankAccount[] accounts = ledger.getAccounts().toArray(new BankAccount[0]);
+        AccrualSummary summary = pool.invoke(new Partition(accounts, 0, accounts.length,
+                period, periodKey(period), "Interest for " + period));
+        Journal journal = ledger.getJournal();
+        if (journal != null) {
+            journal.flush();
+        }
+        return summary;
+    }
+
+    /**
+     * periodKey: Returns a month as the yyyymm number accounts use to
+     * remember the last month they were posted for.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param period The month
+     * @return the month as yyyymm, e.g. 202610
+     * @since 18 Oct 2026
+     */
+    public static int periodKey(YearMonth period) {
+        return period.getYear() * 100 + period.getMonthValue();
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * Partition: Posts interest to a range of accounts, splitting it
+     * in half until each part is at most PARTITION_SIZE accounts. Each
+     * part keeps its own totals, merged as the parts are joined.
+     */
+    private static final class Partition extends RecursiveTask<AccrualSummary> {
+        private static final long serialVersionUID = 1L;
+        private final transient BankAccount[] accounts;
+        private final int start;
+        private final int end;
+        private final YearMonth period;
+        private final int key;
+        private final String description;
+
+        private Partition(BankAccount[] accounts, int start, int end,
+                          YearMonth period, int key, String description) {
+            this.accounts = accounts;
+            this.start = start;
+            this.end = end;
+            this.period = period;
+            this.key = key;
+            this.description = description;
+        }
+
+        @Override
+        protected AccrualSummary compute() {
+            if (end - start > PARTITION_SIZE) {
+                int middle = (start + end) >>> 1;
+                Partition left = new Partition(accounts, start, middle, period, key, description);
+                left.fork();
+                AccrualSummary summary = new Partition(accounts, middle, end,
+                        period, key, description).compute();
+                summary.merge(left.join());
+                return summary;
+            }
+            AccrualSummary summary = new AccrualSummary(period);
+            for (int i = start; i < end; i++) {
+                BankAccount account = accounts[i];
+                long interest = account.postInterest(key, description);
+                if (interest < 0L) {
+                    summary.addSkipped(AccountType.of(account));
+                } else {
+                    summary.addPosted(AccountType.of(account), interest);
+                }
+            }
+            return summary;
+        }
+    }
+} // End of class InterestAccrual
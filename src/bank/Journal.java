@@ -0,0 +1,882 @@
+package bank;
+
+/**
+ * Journal: This class is an append-only binary write-ahead journal of
+ * account creations, transactions, transfers, legs of transfers
+ * between shards and interest postings.
+ * Records are buffered in memory and written through a FileChannel by a background flusher, which
+ * calls fsync once per group of records (every GROUP_COMMIT_RECORDS
+ * records or GROUP_COMMIT_MILLIS milliseconds, whichever comes first)
+ * instead of once per operation. At startup the journal is replayed
+ * on top of the last saved accounts file, so a crash loses at most
+ * the last unflushed group.
+ *
+ * File format: a header (magic, version, epoch) followed by records of
+ * [int payload length][int CRC32 of payload][payload]. A record whose
+ * length or CRC does not check out marks the torn tail of a crash and
+ * ends the replay; it is cut off before new records are appended.
+ * Version 1 files have no epoch and count as epoch 0.
+ *
+ * The epoch goes up by one each time the journal is reset. A
+ * checkpoint or account store save records the epoch it covers before
+ * the reset, so if a crash comes between the two, recovery sees that
+ * the journal's records are already in the snapshot or store and
+ * skips them instead of applying them twice.
+ *
+ * Once a write or fsync fails, the records it held may never reach the
+ * file, and the file's tail is unknown, so the journal stops: nothing
+ * more is written and every later append, and every change made
+ * through the ledger, fails until the system is restarted and recovers.
+ * The changes in the failed group were already acknowledged, since
+ * appends do not wait for the fsync, so they are lost as in a crash.
+ *
+ * A leg of a transfer between shards carries its transfer ID, and
+ * recover() keeps the IDs of the legs it replayed, so a ShardNode can
+ * tell which legs reached its accounts before a crash even if its
+ * TransferLegLog never heard how they ended.
+ *
+ * A follower, such as a ReadReplica, can be handed every group of
+ * records once it is durable, to apply to a copy of the accounts.
+ * NOTE: This class is used by Ledger, ReadReplica and BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+public class Journal implements Closeable {
+    // ========================== Fields ==========================
+    private final FileChannel channel;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition groupFull = appendLock.newCondition();
+    private final Object writeLock = new Object();  // Serializes channel writes
+    private ByteBuffer activeBuffer;                // Records being appended
+    private ByteBuffer flushBuffer;                 // Records being written
+    private int pendingRecords;                     // Records in activeBuffer
+    private final Thread flusher;
+    private volatile boolean closed;
+    private volatile IOException flushFailure;      // First write or fsync error; stops the journal
+    private volatile Consumer<ByteBuffer> follower; // Sees every group of records written
+    private volatile long epoch;                    // Changed only under writeLock
+    private final Map<Long, Character> recoveredLegs; // Shard transfer legs replayed, by transfer ID
+
+    // ===================== Default Values =======================
+    public static final int GROUP_COMMIT_RECORDS = 256;
+    public static final long GROUP_COMMIT_MILLIS = 5L;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAGIC = 0x424A524E;    // "BJRN"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int VERSION_1_HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 8;   // Length and CRC
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+    private static final byte CREATE_RECORD = 1;
+    private static final byte TRANSACTION_RECORD = 2;
+    private static final byte INTEREST_RECORD = 3;
+    private static final byte TRANSFER_RECORD = 4;   // Both legs, so a crash keeps both or neither
+    private static final byte TRANSFER_LEG_RECORD = 5; // One leg of a transfer between shards
+
+    // ====================== Constructors ========================
+
+    /**
+     * Journal: This constructor opens the journal for appending at
+     * the given position and starts the group commit flusher.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param channel An open channel to the journal file
+     * @param end The offset just past the last valid record
+     * @param epoch The epoch in the file's header
+     * @param recoveredLegs The transfer legs replayed from the file
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private Journal(FileChannel channel, long end, long epoch,
+                    Map<Long, Character> recoveredLegs) throws IOException {
+        this.channel = channel;
+        this.epoch = epoch;
+        this.recoveredLegs = Collections.unmodifiableMap(recoveredLegs);
+        this.activeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.flushBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        channel.truncate(end);
+        channel.position(end);
+        this.flusher = new Thread(this::runFlusher, "journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // ================= Opening and Recovery ====================
+
+    /**
+     * recover: Replays the journal at the given path into the ledger,
+     * then opens it for appending. A missing journal is created. The
+     * ledger should already hold the accounts from the last save and
+     * should not have a journal attached yet, so the replay itself is
+     * not journaled again. A journal whose epoch is already covered by
+     * the loaded snapshots or store is not replayed but started over
+     * in the next epoch.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The journal file
+     * @param ledger The ledger to replay into
+     * @param coveredEpoch The last epoch the loaded state includes, or -1
+     * @return the opened Journal
+     * @throws IOException if the file cannot be read or is not a journal
+     * @since 18 Oct 2026
+     */
+    public static Journal recover(Path path, Ledger ledger, long coveredEpoch) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileEpoch = channel.size() < VERSION_1_HEADER_SIZE ? -1L : readEpoch(channel, path);
+            if (fileEpoch <= coveredEpoch) {
+                long epoch = coveredEpoch + 1L;
+                writeHeader(channel, epoch);
+                return new Journal(channel, HEADER_SIZE, epoch, new HashMap<>());
+            }
+            Map<Long, Character> legs = new HashMap<>();
+            return new Journal(channel, replay(path, ledger, coveredEpoch, legs), fileEpoch, legs);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * replay: Applies every valid record in the journal to the ledger,
+     * unless the journal's epoch is already covered.
+     *
+     * @return the offset just past the last valid record
+     */
+    static long replay(Path path, Ledger ledger, long coveredEpoch) throws IOException {
+        return replay(path, ledger, coveredEpoch, null);
+    }
+
+    /**
+     * replay: Applies every valid record in the journal to the ledger,
+     * unless the journal's epoch is already covered, and notes the
+     * type of each shard transfer leg replayed if legs is not null.
+     *
+     * @return the offset just past the last valid record
+     */
+    private static long replay(Path path, Ledger ledger, long coveredEpoch,
+                               Map<Long, Character> legs) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a journal file: " + path);
+            }
+            int version = in.readInt();
+            long end;
+            long fileEpoch;
+            if (version == VERSION) {
+                fileEpoch = in.readLong();
+                end = HEADER_SIZE;
+            } else if (version == 1) {
+                fileEpoch = 0L;
+                end = VERSION_1_HEADER_SIZE;
+            } else {
+                throw new IOException("Unsupported journal version " + version + ": " + path);
+            }
+            if (fileEpoch <= coveredEpoch) {
+                return end;
+            }
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload = readRecord(in, crc);
+                if (payload == null) {
+                    return end;
+                }
+                applyRecord(ByteBuffer.wrap(payload), ledger, legs);
+                end += RECORD_OVERHEAD + payload.length;
+            }
+        }
+    }
+
+    /**
+     * readEpoch: Reads the epoch of the journal at the given path
+     * without replaying it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The journal file
+     * @return the epoch, or -1 if there is no journal or its header was
+     *         never finished
+     * @throws IOException if the file cannot be read or is not a journal
+     * @since 18 Oct 2026
+     */
+    static long readEpoch(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return -1L;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.size() < VERSION_1_HEADER_SIZE ? -1L : readEpoch(channel, path);
+        }
+    }
+
+    /**
+     * readEpoch: Reads the epoch from the header of an open journal.
+     *
+     * @return the epoch, or -1 if the header was never finished
+     */
+    private static long readEpoch(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0L);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a journal file: " + path);
+        }
+        int version = header.getInt();
+        if (version == 1) {
+            return 0L;
+        }
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal version " + version + ": " + path);
+        }
+        // A header torn by a crash in writeHeader() has no records after it
+        return header.remaining() < 8 ? -1L : header.getLong();
+    }
+
+    /**
+     * writeHeader: Empties the journal file and writes a header for the
+     * given epoch, then fsyncs it.
+     */
+    private static void writeHeader(FileChannel channel, long epoch) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(epoch).flip();
+        channel.truncate(0L);
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+    }
+
+    /**
+     * readRecord: Reads the next record's payload.
+     *
+     * @return the payload, or null at the end of the valid records
+     */
+    private static byte[] readRecord(DataInputStream data, CRC32 crc) throws IOException {
+        try {
+            int length = data.readInt();
+            int checksum = data.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            data.readFully(payload);
+            crc.reset();
+            crc.update(payload, 0, length);
+            return (int) crc.getValue() == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * applyRecords: Applies a group of records, as handed to a
+     * follower, to the ledger. The records were checked when they were
+     * appended, so their CRCs are not checked again. Nothing here
+     * enters the ledger's mutation gate, so the caller may hold it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param records The records, from the buffer's position to its limit
+     * @param ledger The ledger to apply them to
+     * @return the number of records applied
+     * @since 18 Oct 2026
+     */
+    static int applyRecords(ByteBuffer records, Ledger ledger) {
+        int applied = 0;
+        while (records.remaining() >= RECORD_OVERHEAD) {
+            int length = records.getInt();
+            records.getInt();   // CRC
+            int end = records.position() + length;
+            applyRecord(records.slice().limit(length), ledger, null);
+            records.position(end);
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * applyRecord: Applies one journal record to the ledger, noting a
+     * shard transfer leg in legs if it is not null.
+     */
+    private static void applyRecord(ByteBuffer record, Ledger ledger, Map<Long, Character> legs) {
+        byte kind = record.get();
+        if (kind == CREATE_RECORD) {
+            AccountType type = AccountType.fromCode(record.get());
+            int accountID = record.getInt();
+            long balanceCents = record.getLong();
+            double rate = record.getDouble();
+            String name = getString(record);
+            int planID = record.hasRemaining() ? record.getInt() : 0;   // Older records have no plan
+            BankAccount account = type.newAccount(name, accountID, Money.toDollars(balanceCents));
+            account.setRatePlan(RatePlans.getDefault().resolve(planID, rate));
+            if (record.remaining() >= 8) {
+                // The interest period starts when the account was created
+                long created = record.getLong();
+                account.restoreInterestPeriod(created, created, 0.0);
+            }
+            ledger.restoreAccount(account);
+        } else if (kind == TRANSACTION_RECORD) {
+            long time = record.getLong();
+            int accountID = record.getInt();
+            char transactionType = (char) record.get();
+            long amountCents = record.getLong();
+            long balanceAfterCents = record.getLong();
+            String description = getString(record);
+            BankAccount account = ledger.findAccount(accountID);
+            if (account != null) {
+                account.replayTransaction(time, transactionType,
+                        amountCents, balanceAfterCents, description);
+            }
+        } else if (kind == INTEREST_RECORD) {
+            long time = record.getLong();
+            int accountID = record.getInt();
+            int period = record.getInt();
+            long amountCents = record.getLong();
+            long balanceAfterCents = record.getLong();
+            String description = getString(record);
+            BankAccount account = ledger.findAccount(accountID);
+            if (account != null) {
+                account.replayInterest(period, time, amountCents, balanceAfterCents, description);
+            }
+        } else if (kind == TRANSFER_RECORD) {
+            long time = record.getLong();
+            int fromID = record.getInt();
+            int toID = record.getInt();
+            long amountCents = record.getLong();
+            long fromBalanceAfterCents = record.getLong();
+            long toBalanceAfterCents = record.getLong();
+            String fromDescription = getString(record);
+            String toDescription = getString(record);
+            BankAccount from = ledger.findAccount(fromID);
+            if (from != null) {
+                from.replayTransaction(time, 'W', amountCents, fromBalanceAfterCents, fromDescription);
+            }
+            BankAccount to = ledger.findAccount(toID);
+            if (to != null) {
+                to.replayTransaction(time, 'D', amountCents, toBalanceAfterCents, toDescription);
+            }
+        } else if (kind == TRANSFER_LEG_RECORD) {
+            long time = record.getLong();
+            long transferID = record.getLong();
+            int accountID = record.getInt();
+            char transactionType = (char) record.get();
+            long amountCents = record.getLong();
+            long balanceAfterCents = record.getLong();
+            String description = getString(record);
+            BankAccount account = ledger.findAccount(accountID);
+            if (account != null) {
+                account.replayTransaction(time, transactionType,
+                        amountCents, balanceAfterCents, description);
+            }
+            if (legs != null) {
+                legs.put(transferID, transactionType);
+            }
+        }
+    }
+
+    // ===================== Appending Records ====================
+
+    /**
+     * appendCreate: Appends a record of a newly created account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account The account that was created
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void appendCreate(BankAccount account) {
+        byte[] name = toBytes(account.getCustomerName());
+        ByteBuffer buffer = reserve(1 + 1 + 4 + 8 + 8 + 2 + name.length + 4 + 8);
+        try {
+            int start = buffer.position();
+            buffer.put(CREATE_RECORD)
+                    .put(AccountType.of(account).getCode())
+                    .putInt(account.getAccountID())
+                    .putLong(account.getBalanceCents())
+                    .putDouble(account.getAnnualInterestRate())
+                    .putShort((short) name.length)
+                    .put(name)
+                    .putInt(account.getRatePlan().getPlanID())
+                    .putLong(account.getInterestPeriodStart());
+            commit(buffer, start);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * appendTransaction: Appends a record of a deposit or withdrawal.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account the transaction belongs to
+     * @param t The transaction that was recorded
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void appendTransaction(int accountID, Transaction t) {
+        appendTransaction(accountID, t.getTransactionDate().getTime(), t.getTransactionType(),
+                Money.toCents(t.getAmount()), Money.toCents(t.getBalanceAfter()),
+                t.getDescription());
+    }
+
+    /**
+     * appendTransaction: Appends a record of a deposit or withdrawal
+     * from its fields, without building a Transaction.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account the transaction belongs to
+     * @param time The time of the transaction, in epoch milliseconds
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The transaction amount in cents
+     * @param balanceAfterCents The balance after the transaction in cents
+     * @param descriptionText A short description of the transaction
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void appendTransaction(int accountID, long time, char type, long amountCents,
+                                  long balanceAfterCents, String descriptionText) {
+        byte[] description = toBytes(descriptionText);
+        ByteBuffer buffer = reserve(1 + 8 + 4 + 1 + 8 + 8 + 2 + description.length);
+        try {
+            int start = buffer.position();
+            buffer.put(TRANSACTION_RECORD)
+                    .putLong(time)
+                    .putInt(accountID)
+                    .put((byte) type)
+                    .putLong(amountCents)
+                    .putLong(balanceAfterCents)
+                    .putShort((short) description.length)
+                    .put(description);
+            commit(buffer, start);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * appendInterest: Appends a record of a month-end interest
+     * posting, including the month it was posted for, so a replay
+     * also restores which months are already posted.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account the interest was posted to
+     * @param period The month the interest was posted for, as yyyymm
+     * @param time The time of the posting, in epoch milliseconds
+     * @param amountCents The interest posted in cents
+     * @param balanceAfterCents The balance after the posting in cents
+     * @param descriptionText A short description of the posting
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void appendInterest(int accountID, int period, long time, long amountCents,
+                               long balanceAfterCents, String descriptionText) {
+        byte[] description = toBytes(descriptionText);
+        ByteBuffer buffer = reserve(1 + 8 + 4 + 4 + 8 + 8 + 2 + description.length);
+        try {
+            int start = buffer.position();
+            buffer.put(INTEREST_RECORD)
+                    .putLong(time)
+                    .putInt(accountID)
+                    .putInt(period)
+                    .putLong(amountCents)
+                    .putLong(balanceAfterCents)
+                    .putShort((short) description.length)
+                    .put(description);
+            commit(buffer, start);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * appendTransfer: Appends a record of both legs of a transfer. The
+     * legs share one record, so a torn tail can never keep the debit
+     * and lose the credit.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time of the transfer, in epoch milliseconds
+     * @param fromID The ID of the account debited
+     * @param toID The ID of the account credited
+     * @param amountCents The amount in cents
+     * @param fromBalanceAfterCents The debited account's balance after, in cents
+     * @param toBalanceAfterCents The credited account's balance after, in cents
+     * @param fromDescriptionText The description of the debit
+     * @param toDescriptionText The description of the credit
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void appendTransfer(long time, int fromID, int toID, long amountCents,
+                               long fromBalanceAfterCents, long toBalanceAfterCents,
+                               String fromDescriptionText, String toDescriptionText) {
+        byte[] fromDescription = toBytes(fromDescriptionText);
+        byte[] toDescription = toBytes(toDescriptionText);
+        ByteBuffer buffer = reserve(1 + 8 + 4 + 4 + 8 + 8 + 8
+                + 2 + fromDescription.length + 2 + toDescription.length);
+        try {
+            int start = buffer.position();
+            buffer.put(TRANSFER_RECORD)
+                    .putLong(time)
+                    .putInt(fromID)
+                    .putInt(toID)
+                    .putLong(amountCents)
+                    .putLong(fromBalanceAfterCents)
+                    .putLong(toBalanceAfterCents)
+                    .putShort((short) fromDescription.length)
+                    .put(fromDescription)
+                    .putShort((short) toDescription.length)
+                    .put(toDescription);
+            commit(buffer, start);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * appendTransferLeg: Appends a record of one leg of a transfer
+     * between shards, a deposit or withdrawal tagged with the
+     * transfer's ID.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time of the leg, in epoch milliseconds
+     * @param transferID The transfer ID
+     * @param accountID The ID of the account the leg belongs to
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The amount in cents
+     * @param balanceAfterCents The balance after the leg in cents
+     * @param descriptionText The description of the leg
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void appendTransferLeg(long time, long transferID, int accountID, char type,
+                                  long amountCents, long balanceAfterCents, String descriptionText) {
+        byte[] description = toBytes(descriptionText);
+        ByteBuffer buffer = reserve(1 + 8 + 8 + 4 + 1 + 8 + 8 + 2 + description.length);
+        try {
+            int start = buffer.position();
+            buffer.put(TRANSFER_LEG_RECORD)
+                    .putLong(time)
+                    .putLong(transferID)
+                    .putInt(accountID)
+                    .put((byte) type)
+                    .putLong(amountCents)
+                    .putLong(balanceAfterCents)
+                    .putShort((short) description.length)
+                    .put(description);
+            commit(buffer, start);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * reserve: Takes the append lock and makes room for a record with
+     * the given payload size, flushing the buffer first if it is full.
+     * The caller must unlock appendLock when done.
+     */
+    private ByteBuffer reserve(int payloadSize) {
+        int recordSize = RECORD_OVERHEAD + payloadSize;
+        checkWritable();
+        appendLock.lock();
+        while (activeBuffer.remaining() < recordSize) {
+            if (activeBuffer.position() == 0) {
+                // A record larger than the whole buffer; grow it
+                activeBuffer = ByteBuffer.allocate(recordSize);
+                break;
+            }
+            appendLock.unlock();
+            try {
+                flush();
+            } catch (IOException e) {
+                checkWritable();
+            }
+            appendLock.lock();
+        }
+        activeBuffer.position(activeBuffer.position() + RECORD_OVERHEAD);
+        return activeBuffer;
+    }
+
+    /**
+     * commit: Fills in the length and CRC of the record just written
+     * and wakes the flusher once a full group is waiting.
+     */
+    private void commit(ByteBuffer buffer, int payloadStart) {
+        int length = buffer.position() - payloadStart;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(payloadStart).limit(buffer.position()));
+        buffer.putInt(payloadStart - RECORD_OVERHEAD, length);
+        buffer.putInt(payloadStart - 4, (int) crc.getValue());
+        if (++pendingRecords >= GROUP_COMMIT_RECORDS) {
+            groupFull.signal();
+        }
+    }
+
+    // ===================== Following Records ====================
+
+    /**
+     * setFollower: Hands every later group of records to the given
+     * follower, once it is written and fsynced, on the thread that
+     * flushed it. The follower gets a read-only view of the records
+     * that is only valid for the call, so it should copy them and
+     * return quickly. Records discarded by reset() are handed over
+     * too, so the follower never misses a change. Pass null to stop.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param follower The follower, or null
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void setFollower(Consumer<ByteBuffer> follower) {
+        synchronized (writeLock) {
+            this.follower = follower;
+        }
+    }
+
+    // ================== Flushing and Closing ====================
+
+    /**
+     * checkWritable: Throws if an earlier write or fsync of the journal
+     * failed. Called before a change is made, so once the journal has
+     * stopped no further change is accepted. Appends return before
+     * their group is fsynced, so changes already acknowledged in the
+     * group that failed are lost, as in a crash: at most the last
+     * unflushed group.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws UncheckedIOException if the journal has stopped
+     * @since 18 Oct 2026
+     */
+    public void checkWritable() {
+        IOException failure = flushFailure;
+        if (failure != null) {
+            throw new UncheckedIOException("The journal could not be written, no further changes "
+                    + "are accepted: " + failure, failure);
+        }
+    }
+
+    /**
+     * flush: Writes every buffered record to the file and fsyncs it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws IOException if the write or fsync fails
+     * @since 18 Oct 2026
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            if (flushFailure != null) {
+                throw flushFailure;
+            }
+            ByteBuffer full;
+            appendLock.lock();
+            try {
+                if (activeBuffer.position() == 0) {
+                    return;
+                }
+                full = activeBuffer;
+                activeBuffer = flushBuffer.capacity() >= BUFFER_SIZE
+                        ? flushBuffer : ByteBuffer.allocate(BUFFER_SIZE);
+                flushBuffer = full;
+                pendingRecords = 0;
+            } finally {
+                appendLock.unlock();
+            }
+            full.flip();
+            long start = Metrics.start();
+            try {
+                int bytes = full.remaining();
+                while (full.hasRemaining()) {
+                    channel.write(full);
+                }
+                channel.force(false);
+                if (Metrics.ENABLED) {
+                    Metrics.JOURNAL_FLUSHES.increment();
+                    Metrics.JOURNAL_BYTES.add(bytes);
+                    Metrics.JOURNAL_FLUSH.recordSince(start);
+                }
+                Consumer<ByteBuffer> current = follower;
+                if (current != null) {
+                    current.accept(full.asReadOnlyBuffer().rewind());
+                }
+            } catch (IOException e) {
+                flushFailure = e;
+                throw e;
+            } finally {
+                full.clear();
+            }
+        }
+    }
+
+    /**
+     * getEpoch: Returns the journal's current epoch. A checkpoint
+     * records it as covered before it calls reset().
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the current epoch
+     * @since 18 Oct 2026
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * getRecoveredLegs: Returns the legs of transfers between shards
+     * that recover() replayed from the file, by transfer ID, with
+     * their transaction type ('D' or 'W').
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a read-only map of the replayed legs
+     * @since 18 Oct 2026
+     */
+    public Map<Long, Character> getRecoveredLegs() {
+        return recoveredLegs;
+    }
+
+    /**
+     * reset: Discards every record in the journal and starts the next
+     * epoch. Called once the accounts file or a snapshot holds the full
+     * current state and records getEpoch() as covered, e.g. after a save.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws IOException if the file cannot be truncated
+     * @since 18 Oct 2026
+     */
+    public void reset() throws IOException {
+        synchronized (writeLock) {
+            appendLock.lock();
+            try {
+                Consumer<ByteBuffer> current = follower;
+                if (current != null && activeBuffer.position() > 0) {
+                    // Not written, since the file is emptied, but still changes
+                    current.accept(activeBuffer.asReadOnlyBuffer().flip());
+                }
+                activeBuffer.clear();
+                pendingRecords = 0;
+            } finally {
+                appendLock.unlock();
+            }
+            writeHeader(channel, epoch + 1L);
+            epoch++;
+            channel.position(HEADER_SIZE);
+        }
+    }
+
+    /**
+     * close: Stops the flusher, flushes the remaining records and
+     * closes the file.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws IOException if the final flush fails, or an earlier one did
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        appendLock.lock();
+        try {
+            groupFull.signal();
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * runFlusher: Body of the flusher thread. Waits for a full group
+     * or the group commit interval, then flushes.
+     */
+    private void runFlusher() {
+        while (!closed) {
+            appendLock.lock();
+            try {
+                if (pendingRecords < GROUP_COMMIT_RECORDS) {
+                    groupFull.await(GROUP_COMMIT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                System.err.println("Journal flush failed, no further changes are accepted: " + e);
+                return;
+            }
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    private static byte[] toBytes(String s) {
+        if (s == null) {
+            return new byte[0];
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > Short.MAX_VALUE ? Arrays.copyOf(bytes, Short.MAX_VALUE) : bytes;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+} // End of class Journal
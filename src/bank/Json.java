@@ -0,0 +1,225 @@
+package bank;
+
+/**
+ * Json: This class holds the small amount of JSON the HTTP server
+ * needs: parsing a flat request object and writing escaped strings.
+ * Request bodies are single objects whose values are strings,
+ * numbers, true, false or null; nested objects and arrays are
+ * rejected. Values are returned as their text, so numbers keep every
+ * digit that was sent until the caller parses them.
+ * NOTE: This class is used by BankServer.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class Json {
+    // ========================== Fields ==========================
+    private final String text;
+    private int position;
+
+    // ====================== Constructors ========================
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * parseObject: Parses a flat JSON object.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param text The JSON text
+     * @return a Map from each key to its value as text; strings are
+     *         unescaped and null values are left out
+     * @throws IllegalArgumentException if the text is not a flat object
+     * @since 18 Oct 2026
+     */
+    public static Map<String, String> parseObject(String text) {
+        Json parser = new Json(text);
+        Map<String, String> fields = new HashMap<>();
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                parser.skipSpace();
+                String key = parser.readString();
+                parser.expect(':');
+                String value = parser.readValue();
+                if (fields.put(key, value) != null) {
+                    throw new IllegalArgumentException("duplicate field " + key);
+                }
+                if (value == null) {
+                    fields.remove(key);
+                }
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.skipSpace();
+        if (parser.position != text.length()) {
+            throw new IllegalArgumentException("unexpected text after JSON object");
+        }
+        return fields;
+    }
+
+    /**
+     * appendString: Appends a string as a quoted, escaped JSON string.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param out The builder to append to
+     * @param value The string to write
+     * @return the same builder
+     * @since 18 Oct 2026
+     */
+    public static StringBuilder appendString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"');
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * readValue: Reads a string, number or literal and returns its
+     * text, or null for a JSON null.
+     */
+    private String readValue() {
+        skipSpace();
+        if (position >= text.length()) {
+            throw new IllegalArgumentException("unexpected end of JSON");
+        }
+        char c = text.charAt(position);
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw new IllegalArgumentException("nested JSON values are not supported");
+        }
+        int start = position;
+        while (position < text.length() && "{}[],: \t\r\n\"".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        String value = text.substring(start, position);
+        if (value.equals("null")) {
+            return null;
+        }
+        if (value.isEmpty() || !(value.equals("true") || value.equals("false")
+                || value.matches("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?"))) {
+            throw new IllegalArgumentException("invalid JSON value " + value);
+        }
+        return value;
+    }
+
+    /**
+     * readString: Reads a quoted string and returns it unescaped.
+     */
+    private String readString() {
+        if (position >= text.length() || text.charAt(position) != '"') {
+            throw new IllegalArgumentException("expected a JSON string");
+        }
+        position++;
+        StringBuilder value = new StringBuilder();
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (position >= text.length()) {
+                break;
+            }
+            char escape = text.charAt(position++);
+            switch (escape) {
+                case '"':
+                case '\\':
+                case '/':
+                    value.append(escape);
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw new IllegalArgumentException("invalid JSON escape");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("invalid JSON escape");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw new IllegalArgumentException("invalid JSON escape");
+            }
+        }
+        throw new IllegalArgumentException("unterminated JSON string");
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw new IllegalArgumentException("expected '" + c + "' in JSON");
+        }
+    }
+
+    private boolean consume(char c) {
+        skipSpace();
+        if (position < text.length() && text.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipSpace() {
+        while (position < text.length() && " \t\r\n".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+    }
+} // End of class Json
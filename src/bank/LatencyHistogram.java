@@ -0,0 +1,193 @@
+package bank;
+
+/**
+ * LatencyHistogram: This class counts durations in nanoseconds in
+ * fixed log-linear buckets, in the manner of HdrHistogram: values
+ * below 32 ns get a bucket each, and every power of two above that is
+ * split into 16 buckets, so a percentile read back is within 1/16 of
+ * the value recorded. Durations are capped at about 18 minutes, which
+ * keeps the table to 592 buckets allocated up front. Each bucket is a
+ * LongAdder, so threads recording at once do not contend, and
+ * recording never allocates.
+ * NOTE: This class is used by Metrics.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyHistogram {
+    // ========================== Fields ==========================
+    private final LongAdder[] buckets;
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    // ===================== Default Values =======================
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;       // Buckets per power of two
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;           // Below this, one bucket per value
+    private static final long MAX_TRACKABLE = (1L << 40) - 1;           // About 18 minutes
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE) + 1;
+
+    // ====================== Constructors ========================
+
+    /**
+     * LatencyHistogram: This constructor creates an empty histogram.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public LatencyHistogram() {
+        this.buckets = new LongAdder[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    // ========================= Getters ==========================
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * record: Counts one duration. Negative durations, which only a
+     * clock step can produce, count as zero.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param nanos The duration in nanoseconds
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0L), MAX_TRACKABLE);
+        buckets[bucketIndex(value)].increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * recordSince: Counts the time elapsed since the given
+     * System.nanoTime() reading.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param startNanos The System.nanoTime() value at the start
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * percentiles: Returns the duration at each of the given
+     * percentiles, all read from one pass over the buckets. Each is
+     * the highest value of the bucket the percentile falls in, capped
+     * at the largest duration recorded, and 0 if nothing was recorded.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param percentiles The percentiles to read, from 0 to 100
+     * @return the durations in nanoseconds, in the same order
+     * @since 18 Oct 2026
+     */
+    public long[] percentiles(double... percentiles) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long max = maxNanos.get();
+        long[] values = new long[percentiles.length];
+        if (total == 0L) {
+            return values;
+        }
+        for (int p = 0; p < percentiles.length; p++) {
+            long rank = Math.max(1L, (long) Math.ceil(percentiles[p] / 100.0 * total));
+            long seen = 0L;
+            int i = 0;
+            while (i < BUCKET_COUNT - 1 && (seen += counts[i]) < rank) {
+                i++;
+            }
+            values[p] = Math.min(bucketHighest(i), max);
+        }
+        return values;
+    }
+
+    /**
+     * getCount: Returns the number of durations recorded.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the count
+     * @since 18 Oct 2026
+     */
+    public long getCount() {
+        long total = 0L;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    /**
+     * reset: Empties the histogram. Durations recorded while it runs
+     * may be partly kept.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * bucketIndex: Returns the bucket for a value between 0 and
+     * MAX_TRACKABLE. Above the linear range the bucket is the power of
+     * two the value falls in, times 16, plus its next four bits.
+     */
+    private static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * bucketHighest: Returns the highest value that falls in a bucket.
+     */
+    private static long bucketHighest(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long top = SUB_BUCKETS + (index & (SUB_BUCKETS - 1));
+        return ((top + 1) << shift) - 1;
+    }
+} // End of class LatencyHistogram
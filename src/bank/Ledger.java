@@ -0,0 +1,751 @@
+package bank;
+
+/**
+ * Ledger: This class is the thread-safe registry of every bank
+ * account in the system. Accounts are kept in creation order for
+ * summaries and saving, and in an AccountIndex for O(1) lookup by
+ * account ID. The registry is guarded by a StampedLock: lookups use
+ * an optimistic read and never block, while adding or loading
+ * accounts takes the write lock. Balance changes do not go through
+ * the ledger lock at all; each account guards its own state, so
+ * threads working on different accounts do not contend.
+ * Transfers between two accounts lock both accounts in account ID
+ * order, so transfers in opposite directions can never deadlock.
+ * When a Journal is attached, every account creation and transaction
+ * is appended to it. Changed accounts are queued as dirty for the
+ * next checkpoint, and a MutationGate lets a checkpoint pause all
+ * changes for the moment it needs a consistent cut. Reports take a
+ * ReportCut instead, which pauses changes only to publish the cut and
+ * has each account save its own state the first time it changes.
+ * NOTE: This class is used by BankSystem in place of a plain list.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+public class Ledger {
+    // ========================== Fields ==========================
+    private final StampedLock lock = new StampedLock();
+    private ArrayList<BankAccount> accounts;    // Accounts in creation order
+    private AccountIndex accountIndex;          // Accounts by account ID
+    private final AtomicLong lastTransferID = new AtomicLong(); // Reference shared by both legs
+    private volatile Journal journal;           // Write-ahead journal, if attached
+    private final MutationGate mutationGate = new MutationGate();
+    private final ReentrantLock reportCutLock = new ReentrantLock(); // One open cut at a time
+    private volatile ReportCut reportCut;       // The open report cut, if any
+    private final ConcurrentLinkedQueue<BankAccount> dirtyAccounts = new ConcurrentLinkedQueue<>();
+
+    // ====================== Constructors ========================
+
+    /**
+     * Ledger: This no argument constructor initializes an empty ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public Ledger() {
+        this.accounts = new ArrayList<>();
+        this.accountIndex = new AccountIndex();
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * size: Returns the number of accounts in the ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of accounts
+     * @since 18 Oct 2026
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return accounts.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * isEmpty: Returns true if the ledger has no accounts.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return true if there are no accounts
+     * @since 18 Oct 2026
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * getAccounts: Returns a copy of the account list in creation
+     * order. The copy is safe to iterate while other threads keep
+     * adding accounts.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a List of BankAccount objects
+     * @since 18 Oct 2026
+     */
+    public List<BankAccount> getAccounts() {
+        long stamp = lock.readLock();
+        try {
+            return new ArrayList<>(accounts);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * getJournal: Returns the journal attached to this ledger.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the Journal, or null if none is attached
+     * @since 18 Oct 2026
+     */
+    public Journal getJournal() {
+        return journal;
+    }
+
+    // ========================= Setters ==========================
+
+    /**
+     * setJournal: Attaches a journal that every later account creation
+     * and transaction is appended to. Pass null to stop journaling.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param journal The journal to attach
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * findAccount: Returns the account with the given ID. The lookup
+     * runs under an optimistic read and only falls back to the read
+     * lock if an account was added or loaded at the same time.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to find
+     * @return A BankAccount object if found, or null otherwise
+     * @since 18 Oct 2026
+     */
+    public BankAccount findAccount(int accountID) {
+        BankAccount account = lookup(accountID);
+        if (Metrics.ENABLED) {
+            Metrics.recordLookup(account != null);
+        }
+        return account;
+    }
+
+    /**
+     * lookup: Reads the index for findAccount.
+     */
+    private BankAccount lookup(int accountID) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                BankAccount account = accountIndex.get(accountID);
+                if (lock.validate(stamp)) {
+                    return account;
+                }
+            } catch (RuntimeException e) {
+                // Torn read during a resize; retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return accountIndex.get(accountID);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * addAccount: Adds an account to the ledger. Accounts whose ID
+     * is already in use are rejected.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account The account to add
+     * @return true if added, false if the ID is already in use
+     * @since 18 Oct 2026
+     */
+    public boolean addAccount(BankAccount account) {
+        int stripe = enterChange();
+        try {
+            return insertAccount(account, journal);
+        } finally {
+            mutationGate.exit(stripe);
+        }
+    }
+
+    /**
+     * restoreAccount: Adds an account read back from the journal
+     * without entering the mutation gate or journaling it again. The
+     * caller either already holds the gate, as the read replica does
+     * while it applies a group, or has the ledger to itself, as
+     * recovery does.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account The account to add
+     * @return true if added, false if the ID is already in use
+     * @since 18 Oct 2026
+     */
+    boolean restoreAccount(BankAccount account) {
+        return insertAccount(account, null);
+    }
+
+    /**
+     * replaceAccounts: Replaces every account in the ledger with the
+     * given accounts, in order. Accounts with an ID that appeared
+     * earlier in the list are skipped. The loaded accounts start out
+     * clean, since they match the file they were loaded from. The
+     * history of accounts that are not kept is released.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param newAccounts The accounts to load
+     * @return the number of accounts skipped as duplicates
+     * @since 18 Oct 2026
+     */
+    public int replaceAccounts(List<BankAccount> newAccounts) {
+        ArrayList<BankAccount> loadedAccounts = new ArrayList<>(newAccounts.size());
+        AccountIndex loadedIndex = new AccountIndex(newAccounts.size());
+        for (BankAccount account : newAccounts) {
+            if (loadedIndex.add(account)) {
+                loadedAccounts.add(account);
+            }
+        }
+        List<BankAccount> previous;
+        long stamp = lock.writeLock();
+        try {
+            previous = accounts;
+            for (BankAccount account : previous) {
+                account.setLedger(null);
+            }
+            for (BankAccount account : loadedAccounts) {
+                account.setLedger(this);
+            }
+            accounts = loadedAccounts;
+            accountIndex = loadedIndex;
+            dirtyAccounts.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (BankAccount account : previous) {
+            if (loadedIndex.get(account.getAccountID()) != account) {
+                // Dropped, so its older history can be freed
+                account.getTransactionLog().release();
+            }
+        }
+        return newAccounts.size() - loadedAccounts.size();
+    }
+
+    /**
+     * deposit: Deposits into the account with the given ID.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to credit
+     * @param amount The amount to deposit
+     * @param description A short description for this deposit
+     * @return OK, or UNKNOWN_ACCOUNT if no account has the ID
+     * @since 18 Oct 2026
+     */
+    public TransactionResult deposit(int accountID, double amount, String description) {
+        BankAccount account = findAccount(accountID);
+        if (account == null) {
+            return TransactionResult.UNKNOWN_ACCOUNT;
+        }
+        account.deposit(amount, description);
+        return TransactionResult.OK;
+    }
+
+    /**
+     * withdraw: Withdraws from the account with the given ID under
+     * that account's overdraft rules.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to debit
+     * @param amount The amount to withdraw
+     * @param description A short description for this withdrawal
+     * @return OK, or the reason the withdrawal was declined
+     * @since 18 Oct 2026
+     */
+    public TransactionResult withdraw(int accountID, double amount, String description) {
+        BankAccount account = findAccount(accountID);
+        if (account == null) {
+            return TransactionResult.UNKNOWN_ACCOUNT;
+        }
+        return account.tryWithdraw(amount, description);
+    }
+
+    /**
+     * transfer: Moves money from one account to another. The debit
+     * follows the source account's withdraw rules; if it is declined
+     * nothing changes. Both legs carry the same transfer reference in
+     * their description. The two accounts are locked in account ID
+     * order, so transfers touching the same accounts are serialized
+     * with each other and can never deadlock, while plain deposits and
+     * withdrawals on those accounts keep running lock-free. Both legs
+     * run inside one pass through the mutation gate, so a checkpoint
+     * or report never sees one leg without the other, and they are
+     * journaled as a single record.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param fromID The ID of the account to debit
+     * @param toID The ID of the account to credit
+     * @param amount The amount to transfer
+     * @param description A short description for this transfer
+     * @return OK, or the reason the transfer was declined
+     * @throws IllegalArgumentException if both IDs are the same or the
+     *         amount is not positive
+     * @since 18 Oct 2026
+     */
+    public TransactionResult transfer(int fromID, int toID, double amount, String description) {
+        if (fromID == toID) {
+            throw new IllegalArgumentException("Cannot transfer to the same account.");
+        }
+        long amountCents = Money.toCents(amount);
+        if (amountCents <= 0L) {
+            throw new IllegalArgumentException("Transfer amount must be positive: " + amount);
+        }
+        BankAccount from = findAccount(fromID);
+        BankAccount to = findAccount(toID);
+        if (from == null || to == null) {
+            return TransactionResult.UNKNOWN_ACCOUNT;
+        }
+        BankAccount first = fromID < toID ? from : to;
+        BankAccount second = fromID < toID ? to : from;
+        long transferID = nextTransferID();
+        String fromDescription = transferDescription(transferID, "to", toID, description);
+        String toDescription = transferDescription(transferID, "from", fromID, description);
+
+        int stripe = enterChange();
+        try {
+            synchronized (first) {
+                synchronized (second) {
+                    long time = System.currentTimeMillis();
+                    long fromBalanceAfter = from.applyUnjournaled('W', amountCents,
+                            time, fromDescription);
+                    if (fromBalanceAfter == BankAccount.DECLINED) {
+                        return from.declineReason();
+                    }
+                    long toBalanceAfter = to.applyUnjournaled('D', amountCents,
+                            time, toDescription);
+                    journalTransfer(time, fromID, toID, amountCents, fromBalanceAfter, toBalanceAfter,
+                            fromDescription, toDescription);
+                    return TransactionResult.OK;
+                }
+            }
+        } finally {
+            mutationGate.exit(stripe);
+        }
+    }
+
+    /**
+     * applyBatch: Applies a batch of deposits and withdrawals. The
+     * entries are grouped by account ID so each account is looked up
+     * and locked once, and its entries are applied in one pass in the
+     * order they were submitted. Like transfer(), each account's pass
+     * enters the mutation gate before it takes the account's lock and
+     * applies the entries without entering the gate again, so a pause
+     * can never wait on a batch that waits on it. Nothing is printed;
+     * every entry gets its own result instead.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param operations The operations to apply
+     * @return the result of each operation, in the same order
+     * @since 18 Oct 2026
+     */
+    public TransactionResult[] applyBatch(BatchOperation[] operations) {
+        TransactionResult[] results = new TransactionResult[operations.length];
+
+        // Sort (accountID, position) pairs so each account's entries are
+        // adjacent and keep their submission order
+        long[] order = new long[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            order[i] = ((long) operations[i].getAccountID() << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int start = 0;
+        while (start < order.length) {
+            int accountID = (int) (order[start] >> 32);
+            int end = start + 1;
+            while (end < order.length && (int) (order[end] >> 32) == accountID) {
+                end++;
+            }
+            BankAccount account = findAccount(accountID);
+            if (account == null) {
+                for (int k = start; k < end; k++) {
+                    results[(int) order[k]] = TransactionResult.UNKNOWN_ACCOUNT;
+                }
+            } else {
+                int stripe = enterChange();
+                try {
+                    synchronized (account) {
+                        for (int k = start; k < end; k++) {
+                            results[(int) order[k]] = applyEntry(account, operations[(int) order[k]]);
+                        }
+                    }
+                } finally {
+                    mutationGate.exit(stripe);
+                }
+            }
+            start = end;
+        }
+        return results;
+    }
+
+    /**
+     * applyEntry: Applies one batch entry to its account and journals
+     * it. The caller is inside the mutation gate and holds the
+     * account's lock.
+     */
+    private TransactionResult applyEntry(BankAccount account, BatchOperation op) {
+        char type = op.getOperationType();
+        long time = System.currentTimeMillis();
+        long balanceAfter = account.applyUnjournaled(type, op.getAmountCents(), time, op.getDescription());
+        if (balanceAfter == BankAccount.DECLINED) {
+            return account.declineReason();
+        }
+        journalTransaction(account.getAccountID(), time, type, op.getAmountCents(), balanceAfter,
+                op.getDescription());
+        return TransactionResult.OK;
+    }
+
+    /**
+     * applyBatch: Collects a stream of operations and applies them as
+     * one batch.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param operations The operations to apply
+     * @return the result of each operation, in stream order
+     * @since 18 Oct 2026
+     */
+    public TransactionResult[] applyBatch(Stream<BatchOperation> operations) {
+        return applyBatch(operations.toArray(BatchOperation[]::new));
+    }
+
+    /**
+     * nextTransferID: Returns a new reference for both legs of a
+     * transfer.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the transfer reference
+     * @since 18 Oct 2026
+     */
+    long nextTransferID() {
+        return lastTransferID.incrementAndGet();
+    }
+
+    /**
+     * transferDescription: Returns the description of one leg of a
+     * transfer, e.g. "Transfer #12 to 1002: Rent".
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer reference
+     * @param direction "to" for the debit leg, "from" for the credit leg
+     * @param otherID The ID of the other account
+     * @param description The description given for the transfer
+     * @return the leg description
+     * @since 18 Oct 2026
+     */
+    static String transferDescription(long transferID, String direction, int otherID,
+                                      String description) {
+        return "Transfer #" + transferID + " " + direction + " " + otherID + ": " + description;
+    }
+
+    /**
+     * journalTransaction: Appends a transaction to the attached
+     * journal, if any. Called by BankAccount.recordTransaction.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account the transaction belongs to
+     * @param time The time of the transaction, in epoch milliseconds
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The transaction amount in cents
+     * @param balanceAfterCents The balance after the transaction in cents
+     * @param description A short description of the transaction
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void journalTransaction(int accountID, long time, char type, long amountCents,
+                            long balanceAfterCents, String description) {
+        Journal target = journal;
+        if (target != null) {
+            target.appendTransaction(accountID, time, type, amountCents,
+                    balanceAfterCents, description);
+        }
+    }
+
+    /**
+     * journalTransfer: Appends both legs of a transfer to the attached
+     * journal, if any, as one record.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time of the transfer, in epoch milliseconds
+     * @param fromID The ID of the account debited
+     * @param toID The ID of the account credited
+     * @param amountCents The amount in cents
+     * @param fromBalanceAfterCents The debited account's balance after, in cents
+     * @param toBalanceAfterCents The credited account's balance after, in cents
+     * @param fromDescription The description of the debit
+     * @param toDescription The description of the credit
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void journalTransfer(long time, int fromID, int toID, long amountCents, long fromBalanceAfterCents,
+                         long toBalanceAfterCents, String fromDescription, String toDescription) {
+        Journal target = journal;
+        if (target != null) {
+            target.appendTransfer(time, fromID, toID, amountCents, fromBalanceAfterCents,
+                    toBalanceAfterCents, fromDescription, toDescription);
+        }
+    }
+
+    /**
+     * journalTransferLeg: Appends one leg of a transfer between shards
+     * to the attached journal, if any. Called by ShardNode.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time of the leg, in epoch milliseconds
+     * @param transferID The transfer ID
+     * @param accountID The ID of the account the leg belongs to
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The amount in cents
+     * @param balanceAfterCents The balance after the leg in cents
+     * @param description The description of the leg
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void journalTransferLeg(long time, long transferID, int accountID, char type, long amountCents,
+                            long balanceAfterCents, String description) {
+        Journal target = journal;
+        if (target != null) {
+            target.appendTransferLeg(time, transferID, accountID, type, amountCents,
+                    balanceAfterCents, description);
+        }
+    }
+
+    /**
+     * journalInterest: Appends an interest posting to the attached
+     * journal, if any. Called by BankAccount.postInterest.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account the interest was posted to
+     * @param period The month the interest was posted for, as yyyymm
+     * @param time The time of the posting, in epoch milliseconds
+     * @param amountCents The interest posted in cents
+     * @param balanceAfterCents The balance after the posting in cents
+     * @param description A short description of the posting
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void journalInterest(int accountID, int period, long time, long amountCents,
+                         long balanceAfterCents, String description) {
+        Journal target = journal;
+        if (target != null) {
+            target.appendInterest(accountID, period, time, amountCents,
+                    balanceAfterCents, description);
+        }
+    }
+
+    /**
+     * pauseMutations: Blocks new deposits, withdrawals and account
+     * creations and waits for the ones in progress to finish. Every
+     * call must be followed by resumeMutations().
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void pauseMutations() {
+        mutationGate.close();
+    }
+
+    /**
+     * resumeMutations: Lets changes continue after pauseMutations().
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void resumeMutations() {
+        mutationGate.open();
+    }
+
+    /**
+     * openReportCut: Opens a copy-on-write cut of the accounts for a
+     * report. Changes are paused only while the cut is published and
+     * the number of accounts is noted; the accounts are then listed
+     * with changes running, which is safe because accounts are only
+     * ever appended to the list and replaceAccounts() swaps in a new
+     * one. Only one cut is open at a time. Every call must be followed
+     * by closeReportCut().
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the open ReportCut
+     * @since 18 Oct 2026
+     */
+    public ReportCut openReportCut() {
+        reportCutLock.lock();
+        ReportCut cut = new ReportCut();
+        List<BankAccount> listed;
+        int count;
+        mutationGate.close();
+        try {
+            long stamp = lock.readLock();
+            try {
+                listed = accounts;
+                count = listed.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            reportCut = cut;
+        } finally {
+            mutationGate.open();
+        }
+        long stamp = lock.readLock();
+        try {
+            cut.setAccounts(new ArrayList<>(listed.subList(0, count)));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return cut;
+    }
+
+    /**
+     * closeReportCut: Closes a cut opened by openReportCut(), so
+     * changes stop saving their state for it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param cut The open cut
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void closeReportCut(ReportCut cut) {
+        if (reportCut == cut) {
+            reportCut = null;
+            reportCutLock.unlock();
+        }
+    }
+
+    ReportCut getReportCut() {
+        return reportCut;
+    }
+
+    /**
+     * drainDirtyAccounts: Removes and returns every account queued as
+     * changed since the last call, clearing their dirty flags.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a List of the dirty accounts
+     * @since 18 Oct 2026
+     */
+    public List<BankAccount> drainDirtyAccounts() {
+        ArrayList<BankAccount> drained = new ArrayList<>();
+        BankAccount account;
+        while ((account = dirtyAccounts.poll()) != null) {
+            account.clearDirty();
+            drained.add(account);
+        }
+        return drained;
+    }
+
+    /**
+     * insertAccount: Adds an account to the list and the index, and to
+     * the given journal if it is not null.
+     */
+    private boolean insertAccount(BankAccount account, Journal target) {
+        long stamp = lock.writeLock();
+        try {
+            if (!accountIndex.add(account)) {
+                return false;
+            }
+            accounts.add(account);
+            account.setLedger(this);
+            if (target != null) {
+                target.appendCreate(account);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        account.markDirty();
+        return true;
+    }
+
+    int enterMutation() {
+        return mutationGate.enter();
+    }
+
+    /**
+     * enterChange: Enters the mutation gate for a change that will be
+     * journaled, after failing it if the journal has stopped, so no
+     * change is accepted once a write or fsync has failed.
+     */
+    int enterChange() {
+        Journal target = journal;
+        if (target != null) {
+            target.checkWritable();
+        }
+        return mutationGate.enter();
+    }
+
+    void exitMutation(int stripe) {
+        mutationGate.exit(stripe);
+    }
+
+    void queueDirtyAccount(BankAccount account) {
+        dirtyAccounts.add(account);
+    }
+} // End of class Ledger
@@ -0,0 +1,622 @@
+package bank;
+
+/**
+ * LedgerEngine: This class is the optional single-writer engine mode
+ * of the ledger, in the style of the LMAX Disruptor. Deposits,
+ * withdrawals and transfers are published into a preallocated ring
+ * of command slots and pass through three stages, each on its own
+ * thread and each following the one before it around the ring:
+ *   1. business: the only thread that applies commands to accounts
+ *   2. journal:  appends the applied changes to the ledger's journal
+ *   3. reply:    hands each result to the caller's Reply callback
+ *
+ * Publishing claims a sequence number with one atomic increment,
+ * fills the slot it maps to and marks it published; no lock is taken
+ * and, for deposits and withdrawals, nothing is allocated. Since only
+ * the business thread applies commands, a transfer needs no account
+ * locks, and the per-account history it appends to is never contended.
+ * The business thread takes every command already published in one
+ * batch, entering the ledger's mutation gate once per batch; the
+ * journal stage leaves the gate once it has journaled the batch, so a
+ * checkpoint never sees a change that is not yet in the journal.
+ * Idle stages spin briefly, then yield, then park.
+ *
+ * Results arrive in publishing order, after the change is in the
+ * journal's group-commit buffer. A command that throws while it is
+ * applied is answered FAILED and leaves no change behind; a transfer
+ * whose deposit leg throws has its withdrawal put back. A change that
+ * cannot be journaled is answered FAILED too, and the engine stops:
+ * every later command is answered FAILED without being applied, and
+ * publishing throws IllegalStateException. Reply callbacks run on the reply
+ * thread and must not publish to the engine themselves. While the
+ * engine runs, changes should go through it, so they are all applied
+ * by its single writer.
+ * NOTE: This class is used by BatchRunner and BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.Closeable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+public class LedgerEngine implements Closeable {
+    // ========================== Fields ==========================
+    private final Ledger ledger;
+    private final Command[] ring;                   // Preallocated command slots
+    private final int mask;                         // Ring size - 1
+    private final AtomicLongArray published;        // Sequence last published in each slot
+    private final AtomicLong claimSequence = new AtomicLong();  // Next sequence to hand out
+    private final AtomicLongArray stageSequences;   // Next sequence each stage will process, padded
+    private final MutationGate publishers = new MutationGate(); // Publishers in progress
+    private final Thread[] stages;
+    private volatile boolean closed;
+    private volatile boolean running = true;
+    private volatile boolean stopped;               // Set once a change could not be journaled
+    private volatile RuntimeException failure;      // First error thrown inside a stage
+
+    // ===================== Default Values =======================
+    public static final int DEFAULT_RING_SIZE = 1 << 16;
+    public static final int MAX_BATCH = 1024;       // Most commands applied under one gate entry
+    public static final char DEPOSIT = 'D';
+    public static final char WITHDRAWAL = 'W';
+    public static final char TRANSFER = 'T';
+    private static final int PADDING = 16;          // Longs per stage sequence, two cache lines
+    private static final int BUSINESS = 0;
+    private static final int JOURNAL = PADDING;
+    private static final int REPLY = 2 * PADDING;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000L;
+    private static final int NO_STRIPE = -1;
+
+    // ====================== Constructors ========================
+
+    /**
+     * LedgerEngine: This constructor initializes an engine over the
+     * given ledger with a ring of DEFAULT_RING_SIZE slots.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger whose accounts the engine changes
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public LedgerEngine(Ledger ledger) {
+        this(ledger, DEFAULT_RING_SIZE);
+    }
+
+    /**
+     * LedgerEngine: This constructor initializes an engine over the
+     * given ledger. Call start() before publishing.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger whose accounts the engine changes
+     * @param ringSize The number of command slots, a power of two
+     * @return void
+     * @throws IllegalArgumentException if ringSize is not a power of two
+     * @since 18 Oct 2026
+     */
+    public LedgerEngine(Ledger ledger, int ringSize) {
+        if (ringSize < 2 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two: " + ringSize);
+        }
+        this.ledger = ledger;
+        this.ring = new Command[ringSize];
+        this.mask = ringSize - 1;
+        this.published = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = new Command();
+            published.set(i, -1L);
+        }
+        this.stageSequences = new AtomicLongArray(3 * PADDING);
+        this.stages = new Thread[] {
+                newStageThread(this::runBusiness, "engine-business"),
+                newStageThread(this::runJournal, "engine-journal"),
+                newStageThread(this::runReply, "engine-reply")
+        };
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getFailure: Returns the first exception thrown while a stage
+     * processed a command, such as a journal or Reply error. After an
+     * error applying a command or calling a Reply the stage carries
+     * on with the next command; after a journal error the engine
+     * stops.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the first failure, or null if there was none
+     * @since 18 Oct 2026
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * isStopped: Returns true once a change could not be journaled,
+     * after which the engine applies nothing more.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return whether the engine has stopped taking commands
+     * @since 18 Oct 2026
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * start: Starts the three stage threads.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void start() {
+        for (Thread stage : stages) {
+            stage.start();
+        }
+    }
+
+    /**
+     * deposit: Publishes a deposit.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to deposit into
+     * @param amountCents The amount in cents
+     * @param description A short description for this deposit
+     * @param tag A value handed back to the reply, e.g. a request number
+     * @param reply Called with the result, or null for none
+     * @return the sequence number of the command
+     * @throws IllegalStateException if the engine is closed or stopped
+     * @since 18 Oct 2026
+     */
+    public long deposit(int accountID, long amountCents, String description, long tag, Reply reply) {
+        return publish(DEPOSIT, accountID, 0, amountCents, description, tag, reply);
+    }
+
+    /**
+     * withdraw: Publishes a withdrawal, which follows the account's
+     * own overdraft rules.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The ID of the account to withdraw from
+     * @param amountCents The amount in cents
+     * @param description A short description for this withdrawal
+     * @param tag A value handed back to the reply, e.g. a request number
+     * @param reply Called with the result, or null for none
+     * @return the sequence number of the command
+     * @throws IllegalStateException if the engine is closed or stopped
+     * @since 18 Oct 2026
+     */
+    public long withdraw(int accountID, long amountCents, String description, long tag, Reply reply) {
+        return publish(WITHDRAWAL, accountID, 0, amountCents, description, tag, reply);
+    }
+
+    /**
+     * transfer: Publishes a transfer. The legs are described as by
+     * Ledger.transfer, and the reply gets the source balance.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param fromID The ID of the account to debit
+     * @param toID The ID of the account to credit
+     * @param amountCents The amount in cents
+     * @param description A short description for this transfer
+     * @param tag A value handed back to the reply, e.g. a request number
+     * @param reply Called with the result, or null for none
+     * @return the sequence number of the command
+     * @throws IllegalArgumentException if both IDs are the same or the
+     *         amount is not positive
+     * @throws IllegalStateException if the engine is closed or stopped
+     * @since 18 Oct 2026
+     */
+    public long transfer(int fromID, int toID, long amountCents, String description,
+                         long tag, Reply reply) {
+        if (fromID == toID) {
+            throw new IllegalArgumentException("Cannot transfer to the same account.");
+        }
+        if (amountCents <= 0L) {
+            throw new IllegalArgumentException("Transfer amount must be positive: " + amountCents);
+        }
+        return publish(TRANSFER, fromID, toID, amountCents, description, tag, reply);
+    }
+
+    /**
+     * await: Waits until the command with the given sequence number,
+     * and every command before it, has been replied to.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param sequence The sequence number returned when publishing
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void await(long sequence) {
+        int idle = 0;
+        while (stageSequences.get(REPLY) <= sequence) {
+            idle = backOff(idle);
+        }
+    }
+
+    /**
+     * close: Stops taking commands, waits until every command already
+     * published has been replied to, and stops the stage threads.
+     * Publishing afterwards throws IllegalStateException.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        publishers.close();     // Waits for publishers that got in before closed was set
+        try {
+            if (stages[0].isAlive()) {
+                await(claimSequence.get() - 1L);
+            }
+            running = false;
+            for (Thread stage : stages) {
+                try {
+                    stage.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            publishers.open();  // Lets blocked publishers in to see that the engine is closed
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * publish: Claims the next slot, waiting for the reply stage to
+     * free it if the ring is full, and fills and publishes it.
+     */
+    private long publish(char type, int accountID, int toAccountID, long amountCents,
+                         String description, long tag, Reply reply) {
+        if (amountCents < 0L) {
+            throw new IllegalArgumentException("Amount cannot be negative: " + amountCents);
+        }
+        int stripe = publishers.enter();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The ledger engine is closed.");
+            }
+            if (stopped) {
+                throw new IllegalStateException("The ledger engine stopped: " + failure, failure);
+            }
+            Journal target = ledger.getJournal();
+            if (target != null) {
+                target.checkWritable();
+            }
+            long sequence = claimSequence.getAndIncrement();
+            int idle = 0;
+            while (sequence - ring.length >= stageSequences.get(REPLY)) {
+                idle = backOff(idle);
+            }
+            int index = (int) sequence & mask;
+            Command command = ring[index];
+            command.type = type;
+            command.accountID = accountID;
+            command.toAccountID = toAccountID;
+            command.amountCents = amountCents;
+            command.description = description;
+            command.tag = tag;
+            command.reply = reply;
+            published.lazySet(index, sequence);
+            return sequence;
+        } finally {
+            publishers.exit(stripe);
+        }
+    }
+
+    /**
+     * runBusiness: Applies every published command in order, one
+     * batch of already published commands per mutation gate entry.
+     */
+    private void runBusiness() {
+        long next = 0L;
+        int idle = 0;
+        while (true) {
+            if (published.get((int) next & mask) != next) {
+                if (!running) {
+                    return;
+                }
+                idle = backOff(idle);
+                continue;
+            }
+            idle = 0;
+            long end = next + 1L;
+            while (end - next < MAX_BATCH && published.get((int) end & mask) == end) {
+                end++;
+            }
+            int stripe = ledger.enterMutation();
+            long time = System.currentTimeMillis();
+            for (long sequence = next; sequence < end; sequence++) {
+                Command command = ring[(int) sequence & mask];
+                if (stopped) {
+                    command.result = TransactionResult.FAILED;
+                    continue;
+                }
+                try {
+                    apply(command, time);
+                } catch (RuntimeException e) {
+                    command.result = TransactionResult.FAILED;
+                    recordFailure(e);
+                }
+            }
+            ring[(int) (end - 1L) & mask].gateStripe = stripe;
+            stageSequences.set(BUSINESS, end);
+            next = end;
+        }
+    }
+
+    /**
+     * apply: Applies one command to its accounts and stores the
+     * result and balances in its slot. If it throws, nothing it did
+     * is left applied, unless putting back a transfer's withdrawal
+     * failed too, in which case the engine is stopped.
+     */
+    private void apply(Command command, long time) {
+        command.time = time;
+        BankAccount account = ledger.findAccount(command.accountID);
+        if (command.type != TRANSFER) {
+            if (account == null) {
+                command.result = TransactionResult.UNKNOWN_ACCOUNT;
+                return;
+            }
+            long balanceAfter = account.applyUnjournaled(command.type, command.amountCents,
+                    time, command.description);
+            if (balanceAfter == BankAccount.DECLINED) {
+                command.result = account.declineReason();
+                command.balanceAfterCents = account.getBalanceCents();
+            } else {
+                command.result = TransactionResult.OK;
+                command.balanceAfterCents = balanceAfter;
+            }
+            return;
+        }
+
+        BankAccount to = ledger.findAccount(command.toAccountID);
+        if (account == null || to == null) {
+            command.result = TransactionResult.UNKNOWN_ACCOUNT;
+            return;
+        }
+        long transferID = ledger.nextTransferID();
+        command.fromDescription = Ledger.transferDescription(transferID, "to",
+                command.toAccountID, command.description);
+        long balanceAfter = account.applyUnjournaled(WITHDRAWAL, command.amountCents,
+                time, command.fromDescription);
+        if (balanceAfter == BankAccount.DECLINED) {
+            command.result = account.declineReason();
+            command.balanceAfterCents = account.getBalanceCents();
+            return;
+        }
+        command.toDescription = Ledger.transferDescription(transferID, "from",
+                command.accountID, command.description);
+        command.balanceAfterCents = balanceAfter;
+        try {
+            command.toBalanceAfterCents = to.applyUnjournaled(DEPOSIT, command.amountCents,
+                    time, command.toDescription);
+        } catch (RuntimeException e) {
+            try {
+                account.applyUnjournaled(DEPOSIT, command.amountCents, time,
+                        "Reversal of " + command.fromDescription);
+            } catch (RuntimeException reversal) {
+                e.addSuppressed(reversal);
+                stop(e);
+            }
+            throw e;
+        }
+        command.result = TransactionResult.OK;
+    }
+
+    /**
+     * runJournal: Journals the changes the business stage applied and
+     * leaves the mutation gate at the end of each of its batches. A
+     * change that cannot be journaled is answered FAILED and stops
+     * the engine.
+     */
+    private void runJournal() {
+        long next = 0L;
+        int idle = 0;
+        while (true) {
+            long available = stageSequences.get(BUSINESS);
+            if (available == next) {
+                if (!running) {
+                    return;
+                }
+                idle = backOff(idle);
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence < available; sequence++) {
+                Command command = ring[(int) sequence & mask];
+                try {
+                    journal(command);
+                } catch (RuntimeException e) {
+                    command.result = TransactionResult.FAILED;
+                    stop(e);
+                }
+                if (command.gateStripe != NO_STRIPE) {
+                    ledger.exitMutation(command.gateStripe);
+                    command.gateStripe = NO_STRIPE;
+                }
+            }
+            stageSequences.set(JOURNAL, available);
+            next = available;
+        }
+    }
+
+    /**
+     * journal: Journals one applied command, after checking the
+     * journal can still be written.
+     */
+    private void journal(Command command) {
+        if (!command.result.isOK()) {
+            return;
+        }
+        Journal target = ledger.getJournal();
+        if (target != null) {
+            target.checkWritable();
+        }
+        if (command.type != TRANSFER) {
+            ledger.journalTransaction(command.accountID, command.time, command.type,
+                    command.amountCents, command.balanceAfterCents, command.description);
+            return;
+        }
+        ledger.journalTransfer(command.time, command.accountID, command.toAccountID,
+                command.amountCents, command.balanceAfterCents, command.toBalanceAfterCents,
+                command.fromDescription, command.toDescription);
+    }
+
+    /**
+     * runReply: Hands each journaled result to its reply and frees
+     * the slot for reuse.
+     */
+    private void runReply() {
+        long next = 0L;
+        int idle = 0;
+        while (true) {
+            long available = stageSequences.get(JOURNAL);
+            if (available == next) {
+                if (!running) {
+                    return;
+                }
+                idle = backOff(idle);
+                continue;
+            }
+            idle = 0;
+            for (long sequence = next; sequence < available; sequence++) {
+                Command command = ring[(int) sequence & mask];
+                Reply reply = command.reply;
+                if (reply != null) {
+                    try {
+                        reply.onResult(command.type, command.tag, command.result,
+                                command.balanceAfterCents);
+                    } catch (RuntimeException e) {
+                        recordFailure(e);
+                    }
+                }
+                command.clear();
+            }
+            stageSequences.set(REPLY, available);
+            next = available;
+        }
+    }
+
+    private void recordFailure(RuntimeException e) {
+        if (failure == null) {
+            failure = e;
+        }
+    }
+
+    /**
+     * stop: Records the failure and stops the engine taking commands.
+     */
+    private void stop(RuntimeException e) {
+        recordFailure(e);
+        stopped = true;
+    }
+
+    private static Thread newStageThread(Runnable stage, String name) {
+        Thread thread = new Thread(stage, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * backOff: Waits a little while a stage or publisher has nothing
+     * to do: spinning first, then yielding, then parking.
+     */
+    private static int backOff(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+            return idle;
+        }
+        return idle + 1;
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * Reply: Receives the result of a published command, on the
+     * engine's reply thread, in publishing order.
+     */
+    public interface Reply {
+        /**
+         * onResult: Called once the command has been applied and
+         * journaled.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param type DEPOSIT, WITHDRAWAL or TRANSFER
+         * @param tag The tag given when publishing
+         * @param result OK, or the reason the command was declined
+         * @param balanceAfterCents The balance of the account, or of the
+         *        source account of a transfer, after the command
+         * @return void
+         * @since 18 Oct 2026
+         */
+        void onResult(char type, long tag, TransactionResult result, long balanceAfterCents);
+    }
+
+    /**
+     * Command: One reusable ring slot. The publisher fills in the
+     * command, and the business stage adds the result.
+     */
+    private static final class Command {
+        private char type;
+        private int accountID;
+        private int toAccountID;
+        private long amountCents;
+        private String description;
+        private long tag;
+        private Reply reply;
+        private TransactionResult result;
+        private long time;
+        private long balanceAfterCents;
+        private long toBalanceAfterCents;
+        private String fromDescription;         // Transfer legs
+        private String toDescription;
+        private int gateStripe = NO_STRIPE;     // Set on the last command of a business batch
+
+        private void clear() {
+            description = null;
+            reply = null;
+            result = null;
+            fromDescription = null;
+            toDescription = null;
+        }
+    }
+} // End of class LedgerEngine
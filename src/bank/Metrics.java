@@ -0,0 +1,352 @@
+package bank;
+
+/**
+ * Metrics: This class counts and times the work on the hot paths:
+ * deposits, withdrawals, declines by reason and account type, account
+ * lookups, loading and saving, checkpoints, journal flushes and HTTP
+ * requests. Counts are LongAdders and durations go to fixed-bucket
+ * LatencyHistograms, so recording never allocates and threads do not
+ * contend on a shared counter.
+ *
+ * Metrics are off unless the JVM is started with -Dbank.metrics=true.
+ * ENABLED is a static final read once, so every "if (Metrics.ENABLED)"
+ * guard is folded away by the JIT when they are off and costs nothing.
+ * When on, the counters are also registered with the platform MBean
+ * server as bank:type=Metrics, for jconsole and other JMX clients,
+ * and dump() writes them all as plain text.
+ * NOTE: This class is used by BankAccount, Ledger, Journal,
+ * CsvAccountLoader, AccountStore, Checkpointer, BankServer and
+ * BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public final class Metrics {
+    // ===================== Default Values =======================
+    public static final String ENABLED_PROPERTY = "bank.metrics";
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    public static final String OBJECT_NAME = "bank:type=Metrics";
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+    private static final int NAME_WIDTH = 40;
+
+    // ========================== Fields ==========================
+    static final LongAdder DEPOSITS = new LongAdder();
+    static final LongAdder WITHDRAWALS = new LongAdder();
+    static final LongAdder LOOKUPS = new LongAdder();
+    static final LongAdder LOOKUP_MISSES = new LongAdder();
+    static final LongAdder JOURNAL_FLUSHES = new LongAdder();
+    static final LongAdder JOURNAL_BYTES = new LongAdder();
+    // One counter per account type and decline reason
+    private static final LongAdder[] DECLINES =
+            newAdders(AccountType.values().length * TransactionResult.values().length);
+
+    static final LatencyHistogram JOURNAL_FLUSH = new LatencyHistogram();
+    static final LatencyHistogram LOAD = new LatencyHistogram();
+    static final LatencyHistogram SAVE = new LatencyHistogram();
+    static final LatencyHistogram CHECKPOINT = new LatencyHistogram();
+    static final LatencyHistogram REQUEST = new LatencyHistogram();
+
+    static {
+        if (ENABLED) {
+            registerMBean();
+        }
+    }
+
+    // ====================== Constructors ========================
+
+    private Metrics() {
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * recordDecline: Counts a withdrawal declined for the given
+     * reason on an account of the given type.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param type The type of the account
+     * @param reason Why the withdrawal was declined
+     * @return void
+     * @since 18 Oct 2026
+     */
+    static void recordDecline(AccountType type, TransactionResult reason) {
+        DECLINES[type.ordinal() * TransactionResult.values().length + reason.ordinal()].increment();
+    }
+
+    /**
+     * recordLookup: Counts an account lookup, and a miss if no
+     * account had the ID.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param found Whether the account was found
+     * @return void
+     * @since 18 Oct 2026
+     */
+    static void recordLookup(boolean found) {
+        LOOKUPS.increment();
+        if (!found) {
+            LOOKUP_MISSES.increment();
+        }
+    }
+
+    /**
+     * start: Returns the time to pass to LatencyHistogram.recordSince
+     * when metrics are on, without reading the clock when they are off.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return System.nanoTime(), or 0 if metrics are off
+     * @since 18 Oct 2026
+     */
+    static long start() {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * counters: Returns every counter by name, in a fixed order.
+     * Decline counters that are still zero are left out.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a Map of counter names to values
+     * @since 18 Oct 2026
+     */
+    public static Map<String, Long> counters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("deposits", DEPOSITS.sum());
+        counters.put("withdrawals", WITHDRAWALS.sum());
+        TransactionResult[] reasons = TransactionResult.values();
+        long declines = 0L;
+        for (AccountType type : AccountType.values()) {
+            for (TransactionResult reason : reasons) {
+                long count = DECLINES[type.ordinal() * reasons.length + reason.ordinal()].sum();
+                if (count != 0L) {
+                    counters.put("declines." + type.getName() + "." + reason.name(), count);
+                    declines += count;
+                }
+            }
+        }
+        counters.put("declines", declines);
+        counters.put("lookups", LOOKUPS.sum());
+        counters.put("lookups.missed", LOOKUP_MISSES.sum());
+        counters.put("journal.flushes", JOURNAL_FLUSHES.sum());
+        counters.put("journal.bytes", JOURNAL_BYTES.sum());
+        return counters;
+    }
+
+    /**
+     * histograms: Returns every latency histogram by name, in a
+     * fixed order.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a Map of histogram names to histograms
+     * @since 18 Oct 2026
+     */
+    public static Map<String, LatencyHistogram> histograms() {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        histograms.put("journal.flush", JOURNAL_FLUSH);
+        histograms.put("load", LOAD);
+        histograms.put("save", SAVE);
+        histograms.put("checkpoint", CHECKPOINT);
+        histograms.put("http.request", REQUEST);
+        return histograms;
+    }
+
+    /**
+     * dump: Writes every counter, then a table of the latency
+     * histograms in microseconds, as plain text.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the metrics as text, one line per counter or histogram
+     * @since 18 Oct 2026
+     */
+    public static String dump() {
+        StringBuilder out = new StringBuilder(2048);
+        if (!ENABLED) {
+            return out.append("Metrics are off. Start the JVM with -D").append(ENABLED_PROPERTY)
+                    .append("=true to collect them.\n").toString();
+        }
+        for (Map.Entry<String, Long> counter : counters().entrySet()) {
+            pad(out, counter.getKey(), NAME_WIDTH);
+            out.append(counter.getValue()).append('\n');
+        }
+        out.append('\n');
+        pad(out, "latency (us)", NAME_WIDTH);
+        out.append(String.format("%10s %12s %12s %12s %12s %12s %12s%n", "count", "mean",
+                PERCENTILE_NAMES[0], PERCENTILE_NAMES[1], PERCENTILE_NAMES[2], PERCENTILE_NAMES[3], "max"));
+        for (Map.Entry<String, LatencyHistogram> entry : histograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            long count = histogram.getCount();
+            long[] values = histogram.percentiles(PERCENTILES);
+            pad(out, entry.getKey(), NAME_WIDTH);
+            out.append(String.format("%10d %12.1f %12.1f %12.1f %12.1f %12.1f %12.1f%n", count,
+                    count == 0L ? 0.0 : histogram.getTotalNanos() / 1000.0 / count,
+                    values[0] / 1000.0, values[1] / 1000.0, values[2] / 1000.0,
+                    values[3] / 1000.0, histogram.getMaxNanos() / 1000.0));
+        }
+        return out.toString();
+    }
+
+    /**
+     * reset: Sets every counter and histogram back to zero.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public static void reset() {
+        DEPOSITS.reset();
+        WITHDRAWALS.reset();
+        LOOKUPS.reset();
+        LOOKUP_MISSES.reset();
+        JOURNAL_FLUSHES.reset();
+        JOURNAL_BYTES.reset();
+        for (LongAdder declines : DECLINES) {
+            declines.reset();
+        }
+        for (LatencyHistogram histogram : histograms().values()) {
+            histogram.reset();
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static void pad(StringBuilder out, String name, int width) {
+        out.append(name);
+        for (int i = name.length(); i < width; i++) {
+            out.append(' ');
+        }
+    }
+
+    /**
+     * registerMBean: Registers the metrics with the platform MBean
+     * server. A failure only costs the JMX view, so it is reported
+     * and otherwise ignored.
+     */
+    private static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (JMException | RuntimeException e) {
+            System.err.println("Metrics not registered with JMX: " + e.getMessage());
+        }
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * MetricsMXBean: The JMX view of the metrics. Latencies are read
+     * as a map from "histogram.statistic" to microseconds.
+     */
+    public interface MetricsMXBean {
+        long getDeposits();
+
+        long getWithdrawals();
+
+        long getDeclines();
+
+        long getLookups();
+
+        long getJournalFlushes();
+
+        Map<String, Long> getCounters();
+
+        Map<String, Double> getLatenciesMicros();
+
+        String dump();
+
+        void reset();
+    }
+
+    /**
+     * Bean: Serves the MXBean attributes from the static counters.
+     */
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public long getDeposits() {
+            return DEPOSITS.sum();
+        }
+
+        @Override
+        public long getWithdrawals() {
+            return WITHDRAWALS.sum();
+        }
+
+        @Override
+        public long getDeclines() {
+            return counters().get("declines");
+        }
+
+        @Override
+        public long getLookups() {
+            return LOOKUPS.sum();
+        }
+
+        @Override
+        public long getJournalFlushes() {
+            return JOURNAL_FLUSHES.sum();
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return counters();
+        }
+
+        @Override
+        public Map<String, Double> getLatenciesMicros() {
+            Map<String, Double> latencies = new LinkedHashMap<>();
+            for (Map.Entry<String, LatencyHistogram> entry : histograms().entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                long count = histogram.getCount();
+                long[] values = histogram.percentiles(PERCENTILES);
+                String name = entry.getKey();
+                latencies.put(name + ".count", (double) count);
+                latencies.put(name + ".mean", count == 0L ? 0.0 : histogram.getTotalNanos() / 1000.0 / count);
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    latencies.put(name + "." + PERCENTILE_NAMES[i], values[i] / 1000.0);
+                }
+                latencies.put(name + ".max", histogram.getMaxNanos() / 1000.0);
+            }
+            return latencies;
+        }
+
+        @Override
+        public String dump() {
+            return Metrics.dump();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+} // End of class Metrics
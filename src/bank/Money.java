@@ -0,0 +1,99 @@
+package bank;
+
+/**
+ * Money: This class holds helpers for the fixed-point money format
+ * used by the accounts. Balances and amounts are stored as a long
+ * number of cents so repeated deposits and withdrawals never pick up
+ * double rounding drift. Dollar values are only used at the edges,
+ * for user input and display.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+public final class Money {
+    // ===================== Default Values =======================
+    public static final long CENTS_PER_DOLLAR = 100L;
+
+    // ====================== Constructors ========================
+
+    private Money() {
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * toCents: Converts a dollar amount to cents, rounding to the
+     * nearest cent.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param dollars The dollar amount
+     * @return the amount in cents
+     * @since 18 Oct 2026
+     */
+    public static long toCents(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    /**
+     * parseAmount: Parses a dollar amount typed or sent by a client.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param text The amount as text, e.g. 12.05
+     * @return the dollar amount
+     * @throws IllegalArgumentException if the text is not a finite
+     *         amount of zero or more
+     * @since 18 Oct 2026
+     */
+    public static double parseAmount(String text) {
+        double amount;
+        try {
+            amount = Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid amount " + text.trim());
+        }
+        if (!Double.isFinite(amount) || amount < 0) {
+            throw new IllegalArgumentException("invalid amount " + text.trim());
+        }
+        return amount;
+    }
+
+    /**
+     * toDollars: Converts an amount in cents to dollars.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param cents The amount in cents
+     * @return the dollar amount
+     * @since 18 Oct 2026
+     */
+    public static double toDollars(long cents) {
+        return cents / (double) CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * appendDollars: Appends an amount in cents as dollars with two
+     * decimal places, e.g. -12.05, without going through a double.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param out The builder to append to
+     * @param cents The amount in cents
+     * @return the same builder
+     * @since 18 Oct 2026
+     */
+    public static StringBuilder appendDollars(StringBuilder out, long cents) {
+        if (cents < 0) {
+            out.append('-');
+        }
+        long magnitude = Math.abs(cents);
+        out.append(magnitude / CENTS_PER_DOLLAR).append('.');
+        long fraction = magnitude % CENTS_PER_DOLLAR;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+} // End of class Money
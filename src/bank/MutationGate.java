@@ -0,0 +1,139 @@
+package bank;
+
+/**
+ * MutationGate: This class lets many threads change accounts at once
+ * while allowing a checkpoint to briefly stop all changes. Threads
+ * entering the gate only bump a counter in their own padded stripe,
+ * so unlike a read-write lock there is no shared counter for every
+ * core to fight over. A checkpoint closes the gate, waits for the
+ * stripes to drain to zero, does its work, and opens it again. Only
+ * one thread holds the gate closed at a time; another closer waits
+ * until it is opened again.
+ * NOTE: This class is used by Ledger.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class MutationGate {
+    // ========================== Fields ==========================
+    private final AtomicLongArray inFlight;     // One counter per stripe, padded
+    private final int stripeMask;
+    private volatile boolean closed;
+
+    // ===================== Default Values =======================
+    private static final int PADDING = 16;      // Longs per stripe, two cache lines
+
+    // ====================== Constructors ========================
+
+    /**
+     * MutationGate: This no argument constructor initializes an open
+     * gate with a stripe count based on the number of processors.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public MutationGate() {
+        int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+        this.inFlight = new AtomicLongArray(stripes * PADDING);
+        this.stripeMask = stripes - 1;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * enter: Enters the gate before changing an account, waiting while
+     * a checkpoint has it closed.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the stripe to pass to exit()
+     * @since 18 Oct 2026
+     */
+    public int enter() {
+        int stripe = (int) (Thread.currentThread().getId() & stripeMask) * PADDING;
+        while (true) {
+            inFlight.getAndIncrement(stripe);
+            if (!closed) {
+                return stripe;
+            }
+            inFlight.getAndDecrement(stripe);
+            synchronized (this) {
+                while (closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * exit: Leaves the gate after the change is done.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param stripe The value returned by enter()
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void exit(int stripe) {
+        inFlight.getAndDecrement(stripe);
+    }
+
+    /**
+     * close: Stops new changes and waits for the ones in flight to
+     * finish. If another thread holds the gate closed, first waits
+     * until that thread opens it, so two closers never both believe
+     * they hold it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public synchronized void close() {
+        boolean interrupted = false;
+        while (closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        closed = true;
+        for (int stripe = 0; stripe < inFlight.length(); stripe += PADDING) {
+            while (inFlight.get(stripe) != 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * open: Lets changes continue after close(), and lets the next
+     * waiting closer, if any, close the gate.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public synchronized void open() {
+        closed = false;
+        notifyAll();
+    }
+} // End of class MutationGate
@@ -0,0 +1,190 @@
+package bank;
+
+/**
+ * RatePlan: This class is an interest rate shared by every account on
+ * it, such as a savings product. Accounts reference a plan instead of
+ * carrying their own rate, so changing the plan's rate is one update
+ * that every account on it sees at once.
+ *
+ * The rate and the factors derived from it are kept together in one
+ * immutable Factors object that a rate change swaps out whole, so a
+ * reader never sees the new rate with the old factors. The monthly
+ * and daily factors are binary fixed-point numbers with FRACTION_BITS
+ * fraction bits, precomputed once per rate change; interest on a
+ * balance in cents is then one 128-bit integer multiply and a
+ * rounding shift, with no double arithmetic per account.
+ * NOTE: This class is used by RatePlans, BankAccount, InterestAccrual
+ * and ReportEngine.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+public class RatePlan {
+    // ========================== Fields ==========================
+    private final int planID;               // Stable ID saved with each account
+    private final String name;              // Name shown to users
+    private volatile Factors factors;       // Current rate and its factors
+
+    // ===================== Default Values =======================
+    public static final int FRACTION_BITS = 48;
+    public static final int DAYS_PER_YEAR = 365;
+    private static final double ONE = (double) (1L << FRACTION_BITS);
+
+    // ====================== Constructors ========================
+
+    /**
+     * RatePlan: This constructor initializes a plan with its ID, name
+     * and annual rate. Plans are created through RatePlans, which
+     * hands out the IDs.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param planID The plan ID
+     * @param name The plan name
+     * @param annualInterestRate The annual interest rate in percent
+     * @return void
+     * @since 18 Oct 2026
+     */
+    RatePlan(int planID, String name, double annualInterestRate) {
+        this.planID = planID;
+        this.name = name;
+        this.factors = new Factors(annualInterestRate);
+    }
+
+    // ========================= Getters ==========================
+
+    public int getPlanID() {
+        return planID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * getFactors: Returns the plan's current rate and factors. Callers
+     * that need more than one of them should read them all from the
+     * same Factors object, so a concurrent rate change cannot mix them.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the current Factors
+     * @since 18 Oct 2026
+     */
+    public Factors getFactors() {
+        return factors;
+    }
+
+    public double getAnnualInterestRate() {
+        return factors.getAnnualInterestRate();
+    }
+
+    // ========================= Setters ==========================
+
+    void setAnnualInterestRate(double annualInterestRate) {
+        this.factors = new Factors(annualInterestRate);
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * applyFactor: Multiplies an amount in cents by a fixed-point
+     * factor and rounds the result to the nearest cent, half up. The
+     * full 128-bit product is formed, so no balance can overflow it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param cents The amount in cents
+     * @param factor The factor, with FRACTION_BITS fraction bits
+     * @return the product in cents
+     * @since 18 Oct 2026
+     */
+    public static long applyFactor(long cents, long factor) {
+        long high = Math.multiplyHigh(cents, factor);
+        long low = cents * factor;
+        long rounded = low + (1L << (FRACTION_BITS - 1));
+        if (Long.compareUnsigned(rounded, low) < 0) {
+            high++;     // Carry out of the low word
+        }
+        return (high << (Long.SIZE - FRACTION_BITS)) | (rounded >>> FRACTION_BITS);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + getAnnualInterestRate() + "%)";
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * Factors: One annual rate and the fixed-point monthly and daily
+     * factors computed from it.
+     */
+    public static final class Factors {
+        private final double annualInterestRate;    // In percent
+        private final long monthlyFactor;           // Rate per month, fixed-point
+        private final long dailyFactor;             // Rate per day, fixed-point
+
+        private Factors(double annualInterestRate) {
+            this.annualInterestRate = annualInterestRate;
+            this.monthlyFactor = Math.round(annualInterestRate / 100.0 / 12.0 * ONE);
+            this.dailyFactor = Math.round(annualInterestRate / 100.0 / DAYS_PER_YEAR * ONE);
+        }
+
+        public double getAnnualInterestRate() {
+            return annualInterestRate;
+        }
+
+        public long getMonthlyFactor() {
+            return monthlyFactor;
+        }
+
+        public long getDailyFactor() {
+            return dailyFactor;
+        }
+
+        /**
+         * getMonthlyInterestRate: Returns the monthly rate as a
+         * decimal, e.g. 0.00125 for 1.5% a year.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param void
+         * @return the monthly rate
+         * @since 18 Oct 2026
+         */
+        public double getMonthlyInterestRate() {
+            return monthlyFactor / ONE;
+        }
+
+        /**
+         * monthlyInterestCents: Returns one month of interest on a
+         * balance, rounded to the nearest cent.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param balanceCents The balance in cents
+         * @return the interest in cents
+         * @since 18 Oct 2026
+         */
+        public long monthlyInterestCents(long balanceCents) {
+            return applyFactor(balanceCents, monthlyFactor);
+        }
+
+        /**
+         * dailyInterestCents: Returns one day of interest on a
+         * balance, rounded to the nearest cent.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param balanceCents The balance in cents
+         * @return the interest in cents
+         * @since 18 Oct 2026
+         */
+        public long dailyInterestCents(long balanceCents) {
+            return applyFactor(balanceCents, dailyFactor);
+        }
+    }
+} // End of class RatePlan
@@ -0,0 +1,340 @@
+package bank;
+
+/**
+ * RatePlans: This class is the registry of every RatePlan. Plans are
+ * either defined by name, like a savings product, or created on
+ * demand for a rate an account was opened with; accounts opened with
+ * the same rate share that plan. Plans created for a rate are named
+ * after it, e.g. "1.5%", and keep that name if their rate changes.
+ * Plan 0 is the built-in plan with no interest, which cannot change.
+ *
+ * Once a file is attached with open(), every new plan and rate change
+ * is written to it before the call returns, so any account that is
+ * journaled or checkpointed with a plan ID can find that plan again
+ * at startup. The file is a small text file with one plan per line:
+ * plan ID, the rate it was created for (empty for named plans),
+ * current annual rate, and name.
+ * NOTE: This class is used by BankAccount, AccountStore, Checkpointer,
+ * Journal and BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RatePlans {
+    // ========================== Fields ==========================
+    private final ConcurrentHashMap<Integer, RatePlan> plansByID = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RatePlan> plansByName = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Double, RatePlan> plansByRate = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Double> openingRates = new ConcurrentHashMap<>();
+    private int lastPlanID;                 // Highest plan ID handed out
+    private Path file;                      // Where plans are saved, if attached
+
+    // ===================== Default Values =======================
+    public static final int NO_INTEREST_PLAN_ID = 0;
+    private static final RatePlans DEFAULT = new RatePlans();
+
+    // ====================== Constructors ========================
+
+    /**
+     * RatePlans: This no argument constructor initializes a registry
+     * holding only the built-in plan with no interest.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public RatePlans() {
+        register(new RatePlan(NO_INTEREST_PLAN_ID, "No Interest", 0.0), 0.0);
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getDefault: Returns the registry shared by every account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the default RatePlans
+     * @since 18 Oct 2026
+     */
+    public static RatePlans getDefault() {
+        return DEFAULT;
+    }
+
+    public RatePlan get(int planID) {
+        return plansByID.get(planID);
+    }
+
+    public RatePlan find(String name) {
+        return plansByName.get(name);
+    }
+
+    /**
+     * getPlans: Returns every plan in plan ID order.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a List of RatePlan objects
+     * @since 18 Oct 2026
+     */
+    public List<RatePlan> getPlans() {
+        List<RatePlan> plans = new ArrayList<>(plansByID.values());
+        plans.sort(Comparator.comparingInt(RatePlan::getPlanID));
+        return plans;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * open: Loads the plans saved in the given file, if it exists, and
+     * saves every later change to it. Must be called before any plan
+     * other than the built-in one is created.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The rate plan file
+     * @return void
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if plans were already created
+     * @since 18 Oct 2026
+     */
+    public synchronized void open(Path path) throws IOException {
+        if (lastPlanID != 0) {
+            throw new IllegalStateException("Rate plans were created before the plan file was opened.");
+        }
+        if (Files.exists(path)) {
+            try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = in.readLine()) != null) {
+                    lineNumber++;
+                    if (!line.isBlank()) {
+                        readPlan(path, line, lineNumber);
+                    }
+                }
+            }
+        }
+        this.file = path;
+    }
+
+    /**
+     * forRate: Returns the plan for accounts opened with the given
+     * rate, creating it the first time the rate is used.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param annualInterestRate The annual interest rate in percent
+     * @return the shared RatePlan for that rate
+     * @throws IllegalArgumentException if the rate is not a finite number
+     * @since 18 Oct 2026
+     */
+    public RatePlan forRate(double annualInterestRate) {
+        Double key = rateKey(annualInterestRate);
+        RatePlan plan = plansByRate.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        synchronized (this) {
+            plan = plansByRate.get(key);
+            if (plan == null) {
+                checkRate(annualInterestRate);
+                String name = annualInterestRate + "%";
+                if (plansByName.containsKey(name)) {
+                    name += " #" + (lastPlanID + 1);
+                }
+                plan = new RatePlan(lastPlanID + 1, name, annualInterestRate);
+                register(plan, key);
+                save();
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * parse: Returns the plan with the given name or, if the text is a
+     * rate, the shared plan for that rate, as entered by a user.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param text A plan name, or an annual interest rate in percent
+     * @return the matching RatePlan
+     * @throws IllegalArgumentException if no plan has that name and the
+     *         text is not a valid rate
+     * @since 18 Oct 2026
+     */
+    public RatePlan parse(String text) {
+        String name = text.trim();
+        RatePlan plan = plansByName.get(name);
+        if (plan != null) {
+            return plan;
+        }
+        try {
+            return forRate(Double.parseDouble(name));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("no rate plan named " + name);
+        }
+    }
+
+    /**
+     * resolve: Returns the plan an account was saved with. If the plan
+     * ID is unknown, for example in files written before rate plans
+     * existed, the shared plan for the saved rate is used instead.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param planID The saved plan ID
+     * @param annualInterestRate The saved annual interest rate
+     * @return the account's RatePlan
+     * @since 18 Oct 2026
+     */
+    public RatePlan resolve(int planID, double annualInterestRate) {
+        RatePlan plan = planID == NO_INTEREST_PLAN_ID ? null : plansByID.get(planID);
+        return plan != null ? plan : forRate(annualInterestRate);
+    }
+
+    /**
+     * define: Creates a named plan, such as a product offered to many
+     * accounts.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param name The plan name
+     * @param annualInterestRate The annual interest rate in percent
+     * @return the new RatePlan
+     * @throws IllegalArgumentException if the name is blank or taken,
+     *         or the rate is not a finite number
+     * @since 18 Oct 2026
+     */
+    public synchronized RatePlan define(String name, double annualInterestRate) {
+        if (name == null || name.isBlank() || name.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("Invalid rate plan name.");
+        }
+        if (plansByName.containsKey(name)) {
+            throw new IllegalArgumentException("A rate plan named " + name + " already exists.");
+        }
+        checkRate(annualInterestRate);
+        RatePlan plan = new RatePlan(lastPlanID + 1, name, annualInterestRate);
+        register(plan, null);
+        save();
+        return plan;
+    }
+
+    /**
+     * changeRate: Changes the rate of a plan. Every account on the
+     * plan earns the new rate from its next accrual on, without any
+     * account being rewritten.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param plan The plan to change
+     * @param annualInterestRate The new annual interest rate in percent
+     * @return void
+     * @throws IllegalArgumentException if the plan is the built-in plan
+     *         or not in this registry, or the rate is not a finite number
+     * @since 18 Oct 2026
+     */
+    public synchronized void changeRate(RatePlan plan, double annualInterestRate) {
+        if (plan.getPlanID() == NO_INTEREST_PLAN_ID || plansByID.get(plan.getPlanID()) != plan) {
+            throw new IllegalArgumentException("Rate plan " + plan.getName() + " cannot be changed.");
+        }
+        checkRate(annualInterestRate);
+        plan.setAnnualInterestRate(annualInterestRate);
+        save();
+    }
+
+    // ====================== Helper Methods ======================
+
+    private void register(RatePlan plan, Double openingRate) {
+        plansByID.put(plan.getPlanID(), plan);
+        plansByName.put(plan.getName(), plan);
+        if (openingRate != null) {
+            plansByRate.put(openingRate, plan);
+            openingRates.put(plan.getPlanID(), openingRate);
+        }
+        lastPlanID = Math.max(lastPlanID, plan.getPlanID());
+    }
+
+    /**
+     * readPlan: Registers one line of the plan file.
+     */
+    private void readPlan(Path path, String line, int lineNumber) throws IOException {
+        String[] fields = line.split(",", 4);
+        try {
+            if (fields.length < 4) {
+                throw new IllegalArgumentException("expected 4 fields");
+            }
+            int planID = Integer.parseInt(fields[0].trim());
+            Double openingRate = fields[1].isBlank() ? null : rateKey(Double.parseDouble(fields[1]));
+            double rate = Double.parseDouble(fields[2]);
+            checkRate(rate);
+            if (planID <= NO_INTEREST_PLAN_ID || plansByID.containsKey(planID)) {
+                throw new IllegalArgumentException("invalid plan ID " + planID);
+            }
+            register(new RatePlan(planID, fields[3], rate), openingRate);
+        } catch (IllegalArgumentException e) {
+            throw new AccountFileException(path.toString(), lineNumber, e.getMessage());
+        }
+    }
+
+    /**
+     * save: Writes every plan to the attached file, if any, through a
+     * temporary file that is fsynced and renamed into place.
+     */
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(temp, StandardCharsets.UTF_8))) {
+                for (RatePlan plan : getPlans()) {
+                    if (plan.getPlanID() != NO_INTEREST_PLAN_ID) {
+                        Double openingRate = openingRates.get(plan.getPlanID());
+                        out.println(plan.getPlanID() + "," + (openingRate == null ? "" : openingRate)
+                                + "," + plan.getAnnualInterestRate() + "," + plan.getName());
+                    }
+                }
+                if (out.checkError()) {
+                    throw new IOException("Error writing " + temp);
+                }
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkRate(double annualInterestRate) {
+        if (!Double.isFinite(annualInterestRate)) {
+            throw new IllegalArgumentException("Invalid interest rate: " + annualInterestRate);
+        }
+    }
+
+    private static Double rateKey(double annualInterestRate) {
+        return annualInterestRate == 0.0 ? 0.0 : annualInterestRate;     // Folds -0.0 into 0.0
+    }
+} // End of class RatePlans
@@ -0,0 +1,316 @@
+package bank;
+
+/**
+ * ReadReplica: This class keeps a second copy of the accounts, in a
+ * Ledger of its own, for summaries, reports and history searches, so
+ * reporting never pauses or contends with the deposits and
+ * withdrawals on the primary ledger. The copy is loaded from the same
+ * account store, snapshots and journal as the primary at startup, and
+ * then follows the primary's Journal: every group of records is handed
+ * over once it is fsynced, copied into a queue, and applied by the
+ * replica's own thread. The only cost to the write path is that one
+ * array copy per group commit, on the journal's flusher thread.
+ *
+ * The replica lags the primary by the group commit interval plus the
+ * time its queue takes to drain. awaitFresh() waits until the lag is
+ * within a bound before a query is served, so every answer is at most
+ * that old; the bound is MAX_STALENESS_MILLIS unless the caller gives
+ * one, and -Dbank.replica.maxStalenessMillis sets it. A caller waits
+ * at most MAX_WAIT_MILLIS, after which it is told the replica is not
+ * fresh and can read the primary instead. Each group is applied while
+ * holding the replica ledger's mutation gate, and nothing it applies
+ * enters the gate again, so a report that pauses the replica still
+ * sees an exact cut. Changes that
+ * are not journaled, such as replacing every account from a file, are
+ * not followed; the replica must be opened again after them.
+ * NOTE: This class is used by BankSystem and BankServer.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class ReadReplica implements Closeable {
+    // ========================== Fields ==========================
+    private final Ledger ledger;                // The replica's copy of the accounts
+    private final Journal journal;              // The primary journal being followed
+    private final ConcurrentLinkedQueue<RecordGroup> pending = new ConcurrentLinkedQueue<>();
+    private final Thread applier;
+    private volatile boolean closed;
+    private volatile boolean failed;            // Set if a group could not be applied
+    private volatile long appliedRecords;       // Written only by the applier
+
+    // ===================== Default Values =======================
+    public static final String ENABLED_PROPERTY = "bank.replica";
+    public static final String STALENESS_PROPERTY = "bank.replica.maxStalenessMillis";
+    public static final long MAX_STALENESS_MILLIS = Long.getLong(STALENESS_PROPERTY, 1000L);
+    public static final long MAX_WAIT_MILLIS = 1000L;   // Longest a query waits for the replica
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    // ====================== Constructors ========================
+
+    /**
+     * ReadReplica: This constructor starts following the journal with
+     * a ledger already loaded up to the journal's current end.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The replica's copy of the accounts
+     * @param journal The primary journal
+     * @return void
+     * @since 18 Oct 2026
+     */
+    private ReadReplica(Ledger ledger, Journal journal) {
+        this.ledger = ledger;
+        this.journal = journal;
+        this.applier = new Thread(this::runApplier, "read-replica");
+        this.applier.setDaemon(true);
+        journal.setFollower(this::follow);
+        this.applier.start();
+    }
+
+    // ======================== Opening ===========================
+
+    /**
+     * open: Loads a copy of the accounts from the account store (or
+     * the CSV account file if there is no store), the snapshots and
+     * history archive next to the store, and the journal, then follows
+     * the journal. Call
+     * this once the primary has recovered from the same files and
+     * before anything else is journaled, so the copy starts exactly
+     * where the journal's next group begins.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param storePath The AccountStore file
+     * @param accountsPath The CSV account file
+     * @param journalPath The journal file
+     * @param journal The primary's open journal on that file
+     * @return the running ReadReplica
+     * @throws IOException if a file cannot be read
+     * @since 18 Oct 2026
+     */
+    public static ReadReplica open(Path storePath, Path accountsPath, Path journalPath,
+                                   Journal journal) throws IOException {
+        Ledger copy = new Ledger();
+        if (Files.exists(storePath)) {
+            try (AccountStore store = AccountStore.open(storePath)) {
+                copy.replaceAccounts(store.readAllAccounts());
+            }
+        } else if (Files.exists(accountsPath)) {
+            copy.replaceAccounts(CsvAccountLoader.load(accountsPath));
+        }
+        Checkpointer snapshots = new Checkpointer(copy, storePath);
+        snapshots.loadSnapshots();
+        snapshots.loadHistory(journalPath);
+        Journal.replay(journalPath, copy, snapshots.getCoveredEpoch());
+        // Nothing checkpoints the copy
+        copy.drainDirtyAccounts();
+        return new ReadReplica(copy, journal);
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getLedger: Returns the replica's copy of the accounts. Call
+     * awaitFresh() before reading it, and never change it.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the replica's ledger
+     * @since 18 Oct 2026
+     */
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * getAppliedRecords: Returns the number of journal records
+     * applied since the replica opened.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of records applied
+     * @since 18 Oct 2026
+     */
+    public long getAppliedRecords() {
+        return appliedRecords;
+    }
+
+    /**
+     * getStalenessMillis: Returns how far the replica is behind the
+     * primary's durable journal: the age of the oldest group not yet
+     * applied, rounded up so a pending group is never 0, or 0 when
+     * every group handed over has been applied.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the staleness in milliseconds
+     * @since 18 Oct 2026
+     */
+    public long getStalenessMillis() {
+        RecordGroup oldest = pending.peek();
+        if (oldest == null) {
+            return 0L;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.flushedNanos) + 1L;
+    }
+
+    /**
+     * isRunning: Returns true until the replica is closed or fails to
+     * apply a group.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return whether the replica is still following the journal
+     * @since 18 Oct 2026
+     */
+    public boolean isRunning() {
+        return !closed && !failed;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * awaitFresh: Waits until the replica is at most the given number
+     * of milliseconds behind the primary, for at most MAX_WAIT_MILLIS.
+     * Only the caller waits; the primary is never held up.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param maxStalenessMillis The most staleness the caller accepts
+     * @return true once fresh enough, false if the replica stopped or
+     *         did not catch up in time
+     * @since 18 Oct 2026
+     */
+    public boolean awaitFresh(long maxStalenessMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS);
+        while (isRunning()) {
+            if (getStalenessMillis() <= maxStalenessMillis) {
+                return true;
+            }
+            if (System.nanoTime() - deadline >= 0L) {
+                return false;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * awaitFresh: Waits until the replica is at most
+     * MAX_STALENESS_MILLIS behind the primary.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return true once fresh enough, false if the replica stopped or
+     *         did not catch up in time
+     * @since 18 Oct 2026
+     */
+    public boolean awaitFresh() {
+        return awaitFresh(MAX_STALENESS_MILLIS);
+    }
+
+    /**
+     * close: Stops following the journal and stops the applier once
+     * the groups already handed over are applied, then drops the copy
+     * of the accounts so the history it spilled is freed.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() {
+        journal.setFollower(null);
+        closed = true;
+        LockSupport.unpark(applier);
+        try {
+            applier.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        ledger.replaceAccounts(Collections.emptyList());
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * follow: Receives a group of records from the journal. Runs on
+     * the journal's flushing thread, so it only copies and queues.
+     */
+    private void follow(ByteBuffer records) {
+        byte[] copy = new byte[records.remaining()];
+        records.get(copy);
+        pending.add(new RecordGroup(copy, System.nanoTime()));
+        LockSupport.unpark(applier);
+    }
+
+    /**
+     * runApplier: Body of the applier thread. Applies each queued
+     * group, then removes it, so a group counts as pending until its
+     * records are visible. Journal.applyRecords never enters the gate,
+     * so holding it here cannot deadlock against a report's pause.
+     */
+    private void runApplier() {
+        while (true) {
+            RecordGroup group = pending.peek();
+            if (group == null) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            int stripe = ledger.enterMutation();
+            try {
+                appliedRecords += Journal.applyRecords(ByteBuffer.wrap(group.records), ledger);
+            } catch (RuntimeException e) {
+                failed = true;
+                System.err.println("Read replica stopped, a journal record could not be applied: " + e);
+                return;
+            } finally {
+                ledger.exitMutation(stripe);
+            }
+            pending.poll();
+        }
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * RecordGroup: One group of journal records and when it was
+     * handed over.
+     */
+    private static final class RecordGroup {
+        private final byte[] records;
+        private final long flushedNanos;
+
+        private RecordGroup(byte[] records, long flushedNanos) {
+            this.records = records;
+            this.flushedNanos = flushedNanos;
+        }
+    }
+} // End of class ReadReplica
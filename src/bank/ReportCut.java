@@ -0,0 +1,145 @@
+package bank;
+
+/**
+ * ReportCut: This class is a copy-on-write cut of a ledger's accounts
+ * for reports. Opening a cut pauses the ledger's changes only long
+ * enough to note how many accounts there are and to publish the cut,
+ * which is O(1). From then on, the first change to each account saves
+ * the account's balance, rate plan factors and history length as they
+ * were at the cut, before the change is made. The report reads those
+ * saved images for changed accounts and the live state for the rest,
+ * so it sees an exact cut without holding changes up while it copies.
+ *
+ * Each account carries the epoch of the last cut that saved it. A
+ * change claims the account by setting the stamp to minus the epoch,
+ * saves the image and then sets it to the epoch; other changes to the
+ * same account wait for the image before they go on. A reader that
+ * finds the stamp unchanged on both sides of reading the live state
+ * knows nothing changed in between.
+ * NOTE: This class is used by Ledger, BankAccount and ReportEngine.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReportCut {
+    // ========================== Fields ==========================
+    private final long epoch;                   // Unique to this cut
+    private final ConcurrentHashMap<BankAccount, AccountImage> images = new ConcurrentHashMap<>();
+    private List<BankAccount> accounts;         // The accounts at the cut, in order
+
+    // ===================== Default Values =======================
+    private static final AtomicLong LAST_EPOCH = new AtomicLong();
+
+    // ====================== Constructors ========================
+
+    /**
+     * ReportCut: This constructor initializes a cut with a new epoch.
+     * Ledger.openReportCut() publishes it and sets its accounts.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    ReportCut() {
+        this.epoch = LAST_EPOCH.incrementAndGet();
+    }
+
+    // ========================= Getters ==========================
+
+    public List<BankAccount> getAccounts() {
+        return accounts;
+    }
+
+    void setAccounts(List<BankAccount> accounts) {
+        this.accounts = accounts;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * read: Returns the state of an account as it was at the cut.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account One of the cut's accounts
+     * @return the account's balance, rate factors and history length
+     * @since 18 Oct 2026
+     */
+    public AccountImage read(BankAccount account) {
+        while (true) {
+            long stamp = account.getReportCutStamp();
+            if (stamp == epoch) {
+                return images.get(account);
+            }
+            if (stamp == -epoch) {
+                Thread.onSpinWait();    // A change is saving the image
+                continue;
+            }
+            AccountImage live = new AccountImage(account);
+            if (account.getReportCutStamp() == stamp) {
+                return live;
+            }
+        }
+    }
+
+    /**
+     * preserve: Saves the account's state for the cut unless it was
+     * already saved. Called by every change before it touches the
+     * account, while inside the ledger's mutation gate.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account The account about to change
+     * @return void
+     * @since 18 Oct 2026
+     */
+    void preserve(BankAccount account) {
+        long stamp;
+        while ((stamp = account.getReportCutStamp()) != epoch) {
+            if (stamp == -epoch) {
+                Thread.onSpinWait();    // Another change is saving the image
+            } else if (account.claimReportCut(stamp, -epoch)) {
+                images.put(account, new AccountImage(account));
+                account.setReportCutStamp(epoch);
+                return;
+            }
+        }
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * AccountImage: The state of one account that a report uses.
+     */
+    public static final class AccountImage {
+        private final long balanceCents;
+        private final RatePlan.Factors rates;
+        private final int historySize;
+
+        private AccountImage(BankAccount account) {
+            this.balanceCents = account.getBalanceCents();
+            this.rates = account.getRatePlan().getFactors();
+            this.historySize = account.getTransactionLog().size();
+        }
+
+        public long getBalanceCents() {
+            return balanceCents;
+        }
+
+        public RatePlan.Factors getRates() {
+            return rates;
+        }
+
+        public int getHistorySize() {
+            return historySize;
+        }
+    }
+} // End of class ReportCut
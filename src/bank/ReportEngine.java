@@ -0,0 +1,280 @@
+package bank;
+
+/**
+ * ReportEngine: This class writes account summary reports to any
+ * Writer or file. A report works from a snapshot of the accounts taken
+ * through a ReportCut: the ledger's changes are paused only while the
+ * cut is published, and the pass that copies each matching account's
+ * balance, rate plan factors and history length into arrays runs with
+ * changes going on, reading the state any changed account saved for
+ * the cut. History entries never change once logged, so the report is
+ * an exact cut.
+ *
+ * Every line is built in one StringBuilder reused for the whole
+ * report, with money and padding formatted by hand instead of
+ * printf format strings, and written through a large buffer.
+ * submitSummary() runs a report on a background thread.
+ * NOTE: This class is used by BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class ReportEngine implements Closeable {
+    // ========================== Fields ==========================
+    private ExecutorService executor;   // Runs background reports, started on first use
+
+    // ===================== Default Values =======================
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String RULE = "------------------------------------";
+
+    // ====================== Other Methods =======================
+
+    /**
+     * writeSummary: Writes a summary of every account that passes the
+     * filter to the given Writer, then flushes it. The Writer is not
+     * closed.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger to report on
+     * @param filter Which accounts to include
+     * @param out Where the report goes
+     * @return the number of accounts written
+     * @throws IOException if the report cannot be written
+     * @since 18 Oct 2026
+     */
+    public int writeSummary(Ledger ledger, ReportFilter filter, Writer out) throws IOException {
+        Snapshot snapshot = new Snapshot(ledger, filter);
+        Writer buffered = out instanceof BufferedWriter ? out : new BufferedWriter(out, BUFFER_SIZE);
+        new Formatter(buffered).writeSummary(snapshot, filter.isIncludeTransactions());
+        buffered.flush();
+        return snapshot.count;
+    }
+
+    /**
+     * writeSummary: Writes a summary to an OutputStream as UTF-8. The
+     * stream is flushed but not closed.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger to report on
+     * @param filter Which accounts to include
+     * @param out Where the report goes
+     * @return the number of accounts written
+     * @throws IOException if the report cannot be written
+     * @since 18 Oct 2026
+     */
+    public int writeSummary(Ledger ledger, ReportFilter filter, OutputStream out) throws IOException {
+        return writeSummary(ledger, filter, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * submitSummary: Writes a summary to a file on a background
+     * thread. The snapshot is taken on that thread as well, so the
+     * caller never waits.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger to report on
+     * @param filter Which accounts to include
+     * @param file The file to write
+     * @return a future completing with the number of accounts written
+     * @since 18 Oct 2026
+     */
+    public synchronized CompletableFuture<Integer> submitSummary(Ledger ledger, ReportFilter filter,
+                                                                 Path file) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "report-writer");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                return writeSummary(ledger, filter, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * close: Stops the background thread once queued reports finish.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * Snapshot: The matching accounts and their state as of one
+     * ReportCut of the ledger.
+     */
+    private static final class Snapshot {
+        private final BankAccount[] accounts;
+        private final long[] balanceCents;
+        private final RatePlan.Factors[] rates;
+        private final int[] historySizes;
+        private final int count;
+
+        private Snapshot(Ledger ledger, ReportFilter filter) {
+            ReportCut cut = ledger.openReportCut();
+            try {
+                List<BankAccount> all = cut.getAccounts();
+                int capacity = Math.min(all.size(), filter.getRowLimit());
+                accounts = new BankAccount[capacity];
+                balanceCents = new long[capacity];
+                rates = new RatePlan.Factors[capacity];
+                historySizes = new int[capacity];
+                int found = 0;
+                for (int i = 0; i < all.size() && found < capacity; i++) {
+                    BankAccount account = all.get(i);
+                    ReportCut.AccountImage image = cut.read(account);
+                    long balance = image.getBalanceCents();
+                    if (filter.matches(account, balance)) {
+                        accounts[found] = account;
+                        balanceCents[found] = balance;
+                        rates[found] = image.getRates();
+                        historySizes[found] = filter.isIncludeTransactions()
+                                ? image.getHistorySize() : 0;
+                        found++;
+                    }
+                }
+                count = found;
+            } finally {
+                ledger.closeReportCut(cut);
+            }
+        }
+    }
+
+    /**
+     * Formatter: Writes report lines through one reused StringBuilder.
+     */
+    private static final class Formatter {
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder(256);
+        private char[] chars = new char[256];           // Copy of line handed to the Writer
+        private long cachedSecond = Long.MIN_VALUE;     // Second of the cached date text
+        private String cachedDate;
+
+        private Formatter(Writer out) {
+            this.out = out;
+        }
+
+        private void writeSummary(Snapshot snapshot, boolean includeTransactions) throws IOException {
+            if (snapshot.count == 0) {
+                line.append("No accounts to display.");
+                endLine();
+                return;
+            }
+            line.append("\n---------- SUMMARY ----------");
+            endLine();
+            for (int i = 0; i < snapshot.count; i++) {
+                BankAccount account = snapshot.accounts[i];
+                RatePlan.Factors rate = snapshot.rates[i];
+                line.append("Customer Name: ").append(account.getCustomerName());
+                endLine();
+                line.append("Account ID: ").append(account.getAccountID());
+                endLine();
+                line.append("Interest Rate: ").append(rate.getAnnualInterestRate()).append('%');
+                endLine();
+                line.append("Monthly Interest: $");
+                Money.appendDollars(line, rate.monthlyInterestCents(snapshot.balanceCents[i]));
+                endLine();
+                line.append("Current Balance: $");
+                Money.appendDollars(line, snapshot.balanceCents[i]);
+                endLine();
+                if (includeTransactions) {
+                    writeTransactions(account.getTransactionLog(), snapshot.historySizes[i]);
+                }
+                line.append(RULE);
+                endLine();
+            }
+        }
+
+        private void writeTransactions(TransactionLog log, int size) throws IOException {
+            line.append("Transactions:");
+            endLine();
+            line.append("Type   Amount     Balance After       Date                Description");
+            endLine();
+            for (int i = 0; i < size; i++) {
+                line.append(log.getType(i));
+                pad(6);
+                line.append(" $");
+                int start = line.length();
+                Money.appendDollars(line, log.getAmountCents(i));
+                pad(start + 10);
+                line.append(" $");
+                start = line.length();
+                Money.appendDollars(line, log.getBalanceAfterCents(i));
+                pad(start + 15);
+                line.append(' ');
+                start = line.length();
+                line.append(dateText(log.getTime(i)));
+                pad(start + 20);
+                line.append(' ').append(log.getDescription(i));
+                endLine();
+            }
+        }
+
+        /**
+         * dateText: Returns the Date.toString() text for a time. The
+         * text is cached per second, since entries cluster in time.
+         */
+        private String dateText(long time) {
+            long second = Math.floorDiv(time, 1000L);
+            if (second != cachedSecond) {
+                cachedSecond = second;
+                cachedDate = new Date(time).toString();
+            }
+            return cachedDate;
+        }
+
+        private void pad(int width) {
+            while (line.length() < width) {
+                line.append(' ');
+            }
+        }
+
+        private void endLine() throws IOException {
+            line.append(System.lineSeparator());
+            int length = line.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            line.getChars(0, length, chars, 0);
+            out.write(chars, 0, length);
+            line.setLength(0);
+        }
+    }
+} // End of class ReportEngine
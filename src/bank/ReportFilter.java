@@ -0,0 +1,162 @@
+package bank;
+
+/**
+ * ReportFilter: This class selects which accounts a report includes:
+ * an account type, a balance range, an ID range, and a limit on the
+ * number of accounts written. A new filter matches every account.
+ * NOTE: This class is used by ReportEngine and BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+public class ReportFilter {
+    // ========================== Fields ==========================
+    private AccountType accountType;    // Null for every type
+    private long minBalanceCents;
+    private long maxBalanceCents;
+    private int minAccountID;
+    private int maxAccountID;
+    private int rowLimit;               // Most accounts to write
+    private boolean includeTransactions;
+
+    // ====================== Constructors ========================
+
+    /**
+     * ReportFilter: This no argument constructor initializes a filter
+     * that matches every account and includes their transactions.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public ReportFilter() {
+        this.accountType = null;
+        this.minBalanceCents = Long.MIN_VALUE;
+        this.maxBalanceCents = Long.MAX_VALUE;
+        this.minAccountID = Integer.MIN_VALUE;
+        this.maxAccountID = Integer.MAX_VALUE;
+        this.rowLimit = Integer.MAX_VALUE;
+        this.includeTransactions = true;
+    }
+
+    // ========================= Getters ==========================
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public long getMinBalanceCents() {
+        return minBalanceCents;
+    }
+
+    public long getMaxBalanceCents() {
+        return maxBalanceCents;
+    }
+
+    public int getMinAccountID() {
+        return minAccountID;
+    }
+
+    public int getMaxAccountID() {
+        return maxAccountID;
+    }
+
+    public int getRowLimit() {
+        return rowLimit;
+    }
+
+    public boolean isIncludeTransactions() {
+        return includeTransactions;
+    }
+
+    // ========================= Setters ==========================
+
+    /**
+     * setAccountType: Limits the report to one type of account.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountType The type to include, or null for every type
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    /**
+     * setBalanceRange: Limits the report to balances between two
+     * amounts, both included.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param minBalanceCents The lowest balance in cents
+     * @param maxBalanceCents The highest balance in cents
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void setBalanceRange(long minBalanceCents, long maxBalanceCents) {
+        this.minBalanceCents = minBalanceCents;
+        this.maxBalanceCents = maxBalanceCents;
+    }
+
+    /**
+     * setAccountIDRange: Limits the report to account IDs between two
+     * values, both included.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param minAccountID The lowest account ID
+     * @param maxAccountID The highest account ID
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void setAccountIDRange(int minAccountID, int maxAccountID) {
+        this.minAccountID = minAccountID;
+        this.maxAccountID = maxAccountID;
+    }
+
+    /**
+     * setRowLimit: Sets the most accounts the report writes.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param rowLimit The account limit, at least 1
+     * @return void
+     * @throws IllegalArgumentException if rowLimit is less than 1
+     * @since 18 Oct 2026
+     */
+    public void setRowLimit(int rowLimit) {
+        if (rowLimit < 1) {
+            throw new IllegalArgumentException("Row limit must be at least 1: " + rowLimit);
+        }
+        this.rowLimit = rowLimit;
+    }
+
+    public void setIncludeTransactions(boolean includeTransactions) {
+        this.includeTransactions = includeTransactions;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * matches: Returns true if an account with the given state passes
+     * this filter.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param account The account to check
+     * @param balanceCents The balance to check, in cents
+     * @return true if the account belongs in the report
+     * @since 18 Oct 2026
+     */
+    public boolean matches(BankAccount account, long balanceCents) {
+        int accountID = account.getAccountID();
+        return accountID >= minAccountID && accountID <= maxAccountID
+                && balanceCents >= minBalanceCents && balanceCents <= maxBalanceCents
+                && (accountType == null || AccountType.of(account) == accountType);
+    }
+} // End of class ReportFilter
@@ -1,3 +1,5 @@
+package bank;
+
 /**
  * SavingsAccount: This class extends BankAccount and prevents overdraw.
  * You cannot withdraw more than the current balance.
@@ -43,24 +45,19 @@ public class SavingsAccount extends BankAccount {
     // ====================== Methods ======================
 
     /**
-     * withdraw: Overrides the generic BankAccount withdraw method to
-     * disallow overdraft. You cannot withdraw if balance is insufficient.
+     * getOverdraftFloorCents: Returns zero, since savings cannot be
+     * overdrawn. withdraw and tryWithdraw retry the check on
+     * contention, so two threads can never both pass it against the
+     * same balance.
      *
      * @author London Paris
      * @version 1.0
-     * @param amount The amount to withdraw
-     * @param description A short description for this withdrawal
-     * @return void
-     * @since 14 Feb 2025
+     * @param void
+     * @return the balance floor in cents
+     * @since 18 Oct 2026
      */
     @Override
-    public void withdraw(double amount, String description) {
-        if (getBalance() >= amount) {
-            setBalance(getBalance() - amount);
-            Transaction t = new Transaction('W', amount, getBalance(), description);
-            getTransactions().add(t);
-        } else {
-            System.out.println("Withdrawal declined. Savings cannot be overdrawn.");
-        }
+    protected long getOverdraftFloorCents() {
+        return 0L;
     }
 } // End of class SavingsAccount
@@ -0,0 +1,402 @@
+package bank;
+
+/**
+ * ShardClient: This class is one connection to a ShardNode, with a
+ * method per request of its protocol. Each method sends a request and
+ * waits for the response, so a client must only be used by one
+ * thread at a time; ShardRouter keeps a pool of them per shard. A
+ * batch can be sent and its results received separately, so one
+ * batch per shard can be in flight at once.
+ * NOTE: This class is used by ShardRouter.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShardClient implements Closeable {
+    // ========================== Fields ==========================
+    private final int port;
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    // ===================== Default Values =======================
+    private static final TransactionResult[] RESULTS = TransactionResult.values();
+
+    // ====================== Constructors ========================
+
+    /**
+     * ShardClient: This constructor connects to the node listening on
+     * the given port of the loopback address.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param port The node's port
+     * @return void
+     * @throws IOException if the node cannot be reached
+     * @since 18 Oct 2026
+     */
+    public ShardClient(int port) throws IOException {
+        this.port = port;
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), ShardNode.BUFFER_SIZE));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), ShardNode.BUFFER_SIZE));
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getPort: Returns the port of the node this client is
+     * connected to.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the node's port
+     * @since 18 Oct 2026
+     */
+    public int getPort() {
+        return port;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * hello: Asks the node which shard it is.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the shard index and the shard count
+     * @throws IOException if the node cannot be reached
+     * @since 18 Oct 2026
+     */
+    public int[] hello() throws IOException {
+        out.writeByte(ShardNode.OP_HELLO);
+        out.flush();
+        readStatus();
+        return new int[] {in.readInt(), in.readInt()};
+    }
+
+    /**
+     * create: Opens an account on the node.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param type The account type
+     * @param accountID The account ID
+     * @param balanceCents The opening balance in cents
+     * @param ratePlan A rate plan name known to the node, or a rate
+     * @param customerName The name of the account holder
+     * @return true if opened, false if the ID is already in use
+     * @throws IllegalArgumentException if the node rejects the account
+     * @throws IOException if the node cannot be reached or does not own the ID
+     * @since 18 Oct 2026
+     */
+    public boolean create(AccountType type, int accountID, long balanceCents, String ratePlan,
+                          String customerName) throws IOException {
+        out.writeByte(ShardNode.OP_CREATE);
+        out.writeByte(type.getCode());
+        out.writeInt(accountID);
+        out.writeLong(balanceCents);
+        out.writeUTF(ratePlan);
+        out.writeUTF(customerName);
+        out.flush();
+        byte status = readStatus();
+        return status != ShardNode.STATUS_DUPLICATE_ID;
+    }
+
+    /**
+     * lookup: Returns a copy of an account as the node holds it now.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The account ID
+     * @return an account that belongs to no ledger, or null if unknown
+     * @throws IOException if the node cannot be reached or does not own the ID
+     * @since 18 Oct 2026
+     */
+    public BankAccount lookup(int accountID) throws IOException {
+        out.writeByte(ShardNode.OP_LOOKUP);
+        out.writeInt(accountID);
+        out.flush();
+        if (readStatus() != TransactionResult.OK.ordinal()) {
+            return null;
+        }
+        return ShardNode.readAccount(in);
+    }
+
+    /**
+     * list: Returns a copy of every account on the node.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return accounts that belong to no ledger, in the node's order
+     * @throws IOException if the node cannot be reached
+     * @since 18 Oct 2026
+     */
+    public List<BankAccount> list() throws IOException {
+        out.writeByte(ShardNode.OP_LIST);
+        out.flush();
+        int count = in.readInt();
+        List<BankAccount> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(ShardNode.readAccount(in));
+        }
+        return accounts;
+    }
+
+    /**
+     * sendBatch: Sends the selected deposits and withdrawals as one
+     * batch without waiting for the results; receiveBatch reads them.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param operations The operations
+     * @param selected The indexes of the operations to send
+     * @param count The number of indexes used
+     * @return void
+     * @throws IOException if the node cannot be reached
+     * @since 18 Oct 2026
+     */
+    public void sendBatch(BatchOperation[] operations, int[] selected, int count) throws IOException {
+        out.writeByte(ShardNode.OP_BATCH);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            BatchOperation op = operations[selected[i]];
+            out.writeByte(op.getOperationType());
+            out.writeInt(op.getAccountID());
+            out.writeLong(op.getAmountCents());
+            out.writeUTF(op.getDescription());
+        }
+        out.flush();
+    }
+
+    /**
+     * receiveBatch: Reads the results of the batch sent last into the
+     * same indexes of the results array.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param results Where the results go
+     * @param selected The indexes the batch was sent with
+     * @param count The number of indexes used
+     * @return void
+     * @throws IOException if the node cannot be reached
+     * @since 18 Oct 2026
+     */
+    public void receiveBatch(TransactionResult[] results, int[] selected, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            results[selected[i]] = RESULTS[in.readByte()];
+        }
+    }
+
+    /**
+     * transfer: Moves money between two accounts on the node in one
+     * step.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param fromID The ID of the account to debit
+     * @param toID The ID of the account to credit
+     * @param amountCents The amount in cents
+     * @param description A short description for this transfer
+     * @return OK, or the reason the transfer was declined
+     * @throws IOException if the node cannot be reached or does not own an ID
+     * @since 18 Oct 2026
+     */
+    public TransactionResult transfer(int fromID, int toID, long amountCents,
+                                      String description) throws IOException {
+        out.writeByte(ShardNode.OP_TRANSFER);
+        out.writeInt(fromID);
+        out.writeInt(toID);
+        out.writeLong(amountCents);
+        out.writeUTF(description);
+        out.flush();
+        return RESULTS[readStatus()];
+    }
+
+    /**
+     * prepare: Prepares the credit leg of a transfer between shards.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @param accountID The account to credit
+     * @param amountCents The amount in cents
+     * @param description The description of this leg
+     * @param coordinatorPort The port of the debit shard, which decides the transfer
+     * @return OK if prepared, or UNKNOWN_ACCOUNT
+     * @throws IOException if the node cannot be reached or does not own the ID
+     * @since 18 Oct 2026
+     */
+    public TransactionResult prepare(long transferID, int accountID, long amountCents,
+                                     String description, int coordinatorPort) throws IOException {
+        out.writeByte(ShardNode.OP_PREPARE);
+        out.writeLong(transferID);
+        out.writeInt(accountID);
+        out.writeLong(amountCents);
+        out.writeUTF(description);
+        out.writeInt(coordinatorPort);
+        out.flush();
+        return RESULTS[readStatus()];
+    }
+
+    /**
+     * debit: Withdraws the debit leg of a transfer between shards,
+     * which commits the transfer.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @param accountID The account to debit
+     * @param amountCents The amount in cents
+     * @param description The description of this leg
+     * @return OK if committed, or the reason the debit was declined
+     * @throws IOException if the node cannot be reached, does not own
+     *         the ID, or already decided the transfer as aborted
+     * @since 18 Oct 2026
+     */
+    public TransactionResult debit(long transferID, int accountID, long amountCents,
+                                   String description) throws IOException {
+        out.writeByte(ShardNode.OP_DEBIT);
+        out.writeLong(transferID);
+        out.writeInt(accountID);
+        out.writeLong(amountCents);
+        out.writeUTF(description);
+        out.flush();
+        byte status = readStatus();
+        if (status == ShardNode.STATUS_ABORTED) {
+            throw new IOException("transfer #" + transferID + " was already aborted");
+        }
+        return RESULTS[status];
+    }
+
+    /**
+     * commit: Commits a prepared credit leg.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return true if committed, now or before, false if the node has
+     *         no such leg
+     * @throws IOException if the node cannot be reached or the leg was aborted
+     * @since 18 Oct 2026
+     */
+    public boolean commit(long transferID) throws IOException {
+        return finish(ShardNode.OP_COMMIT, transferID);
+    }
+
+    /**
+     * abort: Aborts a prepared credit leg.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return true if aborted, now or before, false if the node has no
+     *         such leg
+     * @throws IOException if the node cannot be reached or the leg was committed
+     * @since 18 Oct 2026
+     */
+    public boolean abort(long transferID) throws IOException {
+        return finish(ShardNode.OP_ABORT, transferID);
+    }
+
+    /**
+     * resolve: Asks the debit shard of a transfer how it was decided.
+     * A transfer the shard never debited is decided as aborted.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return true if committed, false if aborted
+     * @throws IOException if the node cannot be reached
+     * @since 18 Oct 2026
+     */
+    public boolean resolve(long transferID) throws IOException {
+        out.writeByte(ShardNode.OP_RESOLVE);
+        out.writeLong(transferID);
+        out.flush();
+        return readStatus() == TransactionResult.OK.ordinal();
+    }
+
+    /**
+     * forget: Lets the debit shard drop its commit decision once the
+     * credit is deposited.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return void
+     * @throws IOException if the node cannot be reached
+     * @since 18 Oct 2026
+     */
+    public void forget(long transferID) throws IOException {
+        out.writeByte(ShardNode.OP_FORGET);
+        out.writeLong(transferID);
+        out.flush();
+        readStatus();
+    }
+
+    /**
+     * close: Closes the connection.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing more to release
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    private boolean finish(byte op, long transferID) throws IOException {
+        out.writeByte(op);
+        out.writeLong(transferID);
+        out.flush();
+        byte status = readStatus();
+        if (status == ShardNode.STATUS_ABORTED || status == ShardNode.STATUS_COMMITTED) {
+            throw new IOException("transfer #" + transferID + " was already "
+                    + (status == ShardNode.STATUS_ABORTED ? "aborted" : "committed"));
+        }
+        return status != ShardNode.STATUS_UNKNOWN_TRANSACTION;
+    }
+
+    /**
+     * readStatus: Reads a response's status byte, turning a rejected
+     * request into an exception.
+     */
+    private byte readStatus() throws IOException {
+        byte status = in.readByte();
+        if (status == ShardNode.STATUS_INVALID) {
+            throw new IllegalArgumentException(in.readUTF());
+        }
+        if (status == ShardNode.STATUS_WRONG_SHARD) {
+            throw new IOException("shard on port " + port + " does not own the account; it belongs on shard "
+                    + in.readInt());
+        }
+        return status;
+    }
+} // End of class ShardClient
@@ -0,0 +1,701 @@
+package bank;
+
+/**
+ * ShardNode: This class serves one shard of a sharded ledger to
+ * ShardRouters over loopback TCP. Accounts are partitioned by a hash
+ * of their ID (see ShardRouter.shardOf), and each shard is its own
+ * process with its own ledger, journal and checkpoints, so the
+ * accounts of one bank can use the heap and cores of several JVMs.
+ * The node only accepts operations on the accounts it owns.
+ *
+ * The protocol is binary, one request and one response at a time per
+ * connection, written with DataOutputStream. A request is an op code
+ * byte and its fields; a response starts with a status byte, which is
+ * a TransactionResult ordinal or one of the STATUS_ codes below.
+ *   HELLO                                     -> index, count
+ *   CREATE  type, id, cents, plan, name       -> status
+ *   LOOKUP  id                                -> status [, account]
+ *   LIST                                      -> count, accounts
+ *   BATCH   count, (type, id, cents, desc)... -> one status per entry
+ *   TRANSFER from, to, cents, desc            -> status
+ *   PREPARE tx, id, cents, desc, port         -> status
+ *   DEBIT   tx, id, cents, desc               -> status
+ *   COMMIT  tx                                -> status
+ *   ABORT   tx                                -> status
+ *   RESOLVE tx                                -> status
+ *   FORGET  tx                                -> status
+ *
+ * The other ops are the two-phase transfers between shards that
+ * ShardRouter drives, kept durable in a TransferLegLog. PREPARE checks
+ * the credit account exists and records the leg with the port of the
+ * debit shard. DEBIT withdraws the money under the account's overdraft
+ * rules on the debit shard, and that withdrawal is the decision to
+ * commit: the debit shard is the coordinator of record, and RESOLVE
+ * asks it how a transfer was decided, answering an abort, which it
+ * records, for one it never debited. COMMIT deposits a prepared
+ * credit, ABORT drops it, and FORGET lets the debit shard drop a
+ * commit decision once the credit is deposited.
+ *
+ * A leg that moves money is applied, journaled under its transfer ID
+ * and fsynced, and its outcome recorded in the TransferLegLog, all
+ * inside one pass through the ledger's mutation gate, so no checkpoint
+ * can empty the journal in between. After a crash, a leg the journal
+ * replayed but the log never finished is finished from the journal.
+ * A credit leg left prepared, because the router stopped or lost a
+ * reply, is settled by a resolver thread that asks the debit shard
+ * for the decision once the leg is IN_DOUBT_MILLIS old, or as soon as
+ * the node restarts.
+ * NOTE: This class is used by BankSystem, and ShardClient speaks its
+ * protocol.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ShardNode implements Closeable {
+    // ========================== Fields ==========================
+    private final Ledger ledger;
+    private final int shardIndex;
+    private final int shardCount;
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final TransferLegLog legs;          // Also the lock for finishing a transfer's legs
+    private final Thread resolver;
+    private volatile boolean closed;
+
+    // ===================== Default Values =======================
+    public static final int DEFAULT_BASE_PORT = 7070;   // Shard i listens on this plus i by default
+    static final byte OP_HELLO = 'H';
+    static final byte OP_CREATE = 'C';
+    static final byte OP_LOOKUP = 'G';
+    static final byte OP_LIST = 'L';
+    static final byte OP_BATCH = 'B';
+    static final byte OP_TRANSFER = 'T';
+    static final byte OP_PREPARE = 'P';
+    static final byte OP_DEBIT = 'W';
+    static final byte OP_COMMIT = 'K';
+    static final byte OP_ABORT = 'A';
+    static final byte OP_RESOLVE = 'R';
+    static final byte OP_FORGET = 'F';
+
+    // Statuses after the TransactionResult ordinals
+    static final byte STATUS_DUPLICATE_ID = 64;
+    static final byte STATUS_WRONG_SHARD = 65;          // Followed by the owning shard
+    static final byte STATUS_UNKNOWN_TRANSACTION = 66;
+    static final byte STATUS_INVALID = 67;              // Followed by the reason
+    static final byte STATUS_ABORTED = 68;              // The transfer was decided as aborted
+    static final byte STATUS_COMMITTED = 69;            // The transfer was decided as committed
+    static final int BUFFER_SIZE = 1 << 16;
+    public static final long IN_DOUBT_MILLIS = 5_000L;  // Age at which a prepared credit is resolved
+    private static final long RESOLVE_INTERVAL_MILLIS = 1_000L;
+    private static final int BACKLOG = 128;
+
+    // ====================== Constructors ========================
+
+    /**
+     * ShardNode: This constructor opens the shard's transfer log,
+     * finishes the legs the ledger's journal shows were applied before
+     * a crash, and binds the node to the given port of the loopback
+     * address. Call start() to accept connections.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ledger The ledger holding this shard's accounts, recovered
+     *        from its journal
+     * @param shardIndex This shard's number, from 0
+     * @param shardCount The number of shards
+     * @param port The port to listen on, or 0 for any free port
+     * @param legLogPath The shard's TransferLegLog file
+     * @return void
+     * @throws IllegalArgumentException if the index is not below the count
+     * @throws IOException if the log cannot be opened or the port bound
+     * @since 18 Oct 2026
+     */
+    public ShardNode(Ledger ledger, int shardIndex, int shardCount, int port,
+                     Path legLogPath) throws IOException {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("invalid shard " + shardIndex + " of " + shardCount);
+        }
+        this.ledger = ledger;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+        this.legs = TransferLegLog.open(legLogPath);
+        try {
+            finishRecoveredLegs();
+            this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            legs.close();
+            throw e;
+        }
+        // Not a daemon, so like an HTTP server the node keeps the JVM up until closed
+        this.acceptor = new Thread(this::runAcceptor, "shard-" + shardIndex + "-acceptor");
+        this.resolver = new Thread(this::runResolver, "shard-" + shardIndex + "-resolver");
+        this.resolver.setDaemon(true);
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getPort: Returns the port the node listens on, which is the
+     * free port picked if it was started on port 0.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the local port
+     * @since 18 Oct 2026
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * getShardIndex: Returns this shard's number.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the shard number, from 0
+     * @since 18 Oct 2026
+     */
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * getShardCount: Returns the number of shards the accounts are
+     * spread over.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of shards
+     * @since 18 Oct 2026
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * start: Starts accepting connections on a background thread.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public void start() {
+        acceptor.start();
+        resolver.start();
+    }
+
+    /**
+     * owns: Tells whether an account belongs on this shard.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The account ID
+     * @return true if this shard owns the ID
+     * @since 18 Oct 2026
+     */
+    public boolean owns(int accountID) {
+        return ShardRouter.shardOf(accountID, shardCount) == shardIndex;
+    }
+
+    /**
+     * close: Stops accepting connections, closes the open ones and
+     * the transfer log. A request being handled still completes on the
+     * ledger, but its response is lost; a transfer leg it leaves
+     * prepared is resolved when the node restarts.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Nothing more to release
+        }
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        resolver.interrupt();
+        synchronized (legs) {
+            try {
+                legs.close();
+            } catch (IOException e) {
+                // Every record was already fsynced
+            }
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * runAcceptor: Body of the acceptor thread. Each connection gets a
+     * thread of its own; routers keep a few connections open per
+     * shard, so there are never many.
+     */
+    private void runAcceptor() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                Thread handler = new Thread(() -> serve(socket), "shard-" + shardIndex + "-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Shard " + shardIndex + " accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * serve: Answers requests on one connection until it is closed.
+     */
+    private void serve(Socket socket) {
+        try (DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                handle(op, in, out);
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // Closed by the router or by close()
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                System.err.println("Shard " + shardIndex + " connection failed: " + e);
+            }
+        } finally {
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * handle: Reads the fields of one request and writes its response.
+     */
+    private void handle(byte op, DataInputStream in, DataOutputStream out) throws IOException {
+        switch (op) {
+            case OP_HELLO:
+                out.writeByte(TransactionResult.OK.ordinal());
+                out.writeInt(shardIndex);
+                out.writeInt(shardCount);
+                break;
+            case OP_CREATE:
+                create(in, out);
+                break;
+            case OP_LOOKUP: {
+                int accountID = in.readInt();
+                if (checkOwner(accountID, out)) {
+                    BankAccount account = ledger.findAccount(accountID);
+                    if (account == null) {
+                        out.writeByte(TransactionResult.UNKNOWN_ACCOUNT.ordinal());
+                    } else {
+                        out.writeByte(TransactionResult.OK.ordinal());
+                        writeAccount(account, out);
+                    }
+                }
+                break;
+            }
+            case OP_LIST: {
+                List<BankAccount> accounts = ledger.getAccounts();
+                out.writeInt(accounts.size());
+                for (BankAccount account : accounts) {
+                    writeAccount(account, out);
+                }
+                break;
+            }
+            case OP_BATCH:
+                batch(in, out);
+                break;
+            case OP_TRANSFER: {
+                int fromID = in.readInt();
+                int toID = in.readInt();
+                long amountCents = in.readLong();
+                String description = in.readUTF();
+                if (checkOwner(fromID, out) && checkOwner(toID, out)) {
+                    if (fromID == toID) {
+                        writeInvalid(out, "cannot transfer to the same account");
+                    } else if (amountCents <= 0L) {
+                        writeInvalid(out, "transfer amount must be positive");
+                    } else {
+                        out.writeByte(ledger.transfer(fromID, toID, Money.toDollars(amountCents),
+                                description).ordinal());
+                    }
+                }
+                break;
+            }
+            case OP_PREPARE:
+                prepare(in, out);
+                break;
+            case OP_DEBIT:
+                debit(in, out);
+                break;
+            case OP_COMMIT:
+            case OP_ABORT:
+                out.writeByte(finishCredit(in.readLong(), op == OP_COMMIT));
+                break;
+            case OP_RESOLVE:
+                out.writeByte(resolve(in.readLong()));
+                break;
+            case OP_FORGET:
+                legs.forget(in.readLong());
+                out.writeByte(TransactionResult.OK.ordinal());
+                break;
+            default:
+                throw new IOException("unknown op code " + op);
+        }
+    }
+
+    /**
+     * create: Opens an account whose type code, ID, balance in cents,
+     * rate plan (a name or a rate) and customer name were sent.
+     */
+    private void create(DataInputStream in, DataOutputStream out) throws IOException {
+        byte typeCode = in.readByte();
+        int accountID = in.readInt();
+        long balanceCents = in.readLong();
+        String plan = in.readUTF();
+        String customerName = in.readUTF();
+        if (!checkOwner(accountID, out)) {
+            return;
+        }
+        BankAccount account;
+        try {
+            account = AccountType.fromCode(typeCode)
+                    .newAccount(customerName, accountID, Money.toDollars(balanceCents));
+            account.setRatePlan(RatePlans.getDefault().parse(plan));
+        } catch (IllegalArgumentException e) {
+            writeInvalid(out, e.getMessage());
+            return;
+        }
+        out.writeByte(ledger.addAccount(account) ? TransactionResult.OK.ordinal() : STATUS_DUPLICATE_ID);
+    }
+
+    /**
+     * batch: Applies a run of deposits and withdrawals through
+     * Ledger.applyBatch. Entries for accounts on other shards are not
+     * applied and are answered UNKNOWN_ACCOUNT, since the router never
+     * sends them.
+     */
+    private void batch(DataInputStream in, DataOutputStream out) throws IOException {
+        int count = in.readInt();
+        boolean[] owned = new boolean[count];
+        BatchOperation[] operations = new BatchOperation[count];
+        int ownedCount = 0;
+        for (int i = 0; i < count; i++) {
+            char type = (char) in.readByte();
+            int accountID = in.readInt();
+            long amountCents = in.readLong();
+            String description = in.readUTF();
+            owned[i] = owns(accountID);
+            if (owned[i]) {
+                operations[ownedCount++] = new BatchOperation(accountID, type,
+                        Money.toDollars(amountCents), description);
+            }
+        }
+        TransactionResult[] results = ledger.applyBatch(Arrays.copyOf(operations, ownedCount));
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            TransactionResult result = owned[i] ? results[next++] : TransactionResult.UNKNOWN_ACCOUNT;
+            out.writeByte(result.ordinal());
+        }
+    }
+
+    /**
+     * prepare: Prepares the credit leg of a transfer: checks the
+     * account exists and records the leg, with the port of the debit
+     * shard that decides it, before answering.
+     */
+    private void prepare(DataInputStream in, DataOutputStream out) throws IOException {
+        long transferID = in.readLong();
+        int accountID = in.readInt();
+        long amountCents = in.readLong();
+        String description = in.readUTF();
+        int coordinatorPort = in.readInt();
+        if (!checkOwner(accountID, out)) {
+            return;
+        }
+        if (amountCents <= 0L) {
+            writeInvalid(out, "transfer amount must be positive");
+            return;
+        }
+        if (ledger.findAccount(accountID) == null) {
+            out.writeByte(TransactionResult.UNKNOWN_ACCOUNT.ordinal());
+            return;
+        }
+        legs.prepare(new TransferLegLog.Leg(transferID, accountID, amountCents, coordinatorPort,
+                System.currentTimeMillis(), description));
+        out.writeByte(TransactionResult.OK.ordinal());
+    }
+
+    /**
+     * debit: Withdraws the debit leg of a transfer, which commits the
+     * transfer, unless it was already decided. A decline decides
+     * nothing, so a later RESOLVE records an abort.
+     */
+    private void debit(DataInputStream in, DataOutputStream out) throws IOException {
+        long transferID = in.readLong();
+        int accountID = in.readInt();
+        long amountCents = in.readLong();
+        String description = in.readUTF();
+        if (!checkOwner(accountID, out)) {
+            return;
+        }
+        if (amountCents <= 0L) {
+            writeInvalid(out, "transfer amount must be positive");
+            return;
+        }
+        BankAccount account = ledger.findAccount(accountID);
+        if (account == null) {
+            out.writeByte(TransactionResult.UNKNOWN_ACCOUNT.ordinal());
+            return;
+        }
+        synchronized (legs) {
+            Boolean decision = legs.getDecision(transferID);
+            if (decision != null) {
+                out.writeByte(decision ? TransactionResult.OK.ordinal() : STATUS_ABORTED);
+                return;
+            }
+            out.writeByte(applyLeg(transferID, account, 'W', amountCents, description).ordinal());
+        }
+    }
+
+    /**
+     * finishCredit: Commits or aborts a prepared credit leg. Asking
+     * again for the same outcome answers OK.
+     *
+     * @return OK, STATUS_ABORTED or STATUS_COMMITTED if the leg already
+     *         ended the other way, or STATUS_UNKNOWN_TRANSACTION
+     */
+    private byte finishCredit(long transferID, boolean commit) throws IOException {
+        synchronized (legs) {
+            TransferLegLog.Leg leg = legs.getPrepared(transferID);
+            if (leg == null) {
+                Boolean outcome = legs.getOutcome(transferID);
+                if (outcome == null) {
+                    return STATUS_UNKNOWN_TRANSACTION;
+                }
+                if (outcome == commit) {
+                    return (byte) TransactionResult.OK.ordinal();
+                }
+                return outcome ? STATUS_COMMITTED : STATUS_ABORTED;
+            }
+            if (!commit) {
+                legs.finish(transferID, false);
+                return (byte) TransactionResult.OK.ordinal();
+            }
+            BankAccount account = ledger.findAccount(leg.getAccountID());
+            if (account == null) {
+                // The debit is already made; leave the leg to be settled by hand
+                throw new IOException("account " + leg.getAccountID() + " of transfer #" + transferID
+                        + " is gone");
+            }
+            return (byte) applyLeg(transferID, account, 'D', leg.getAmountCents(),
+                    leg.getDescription()).ordinal();
+        }
+    }
+
+    /**
+     * resolve: Answers how this shard, as the debit shard, decided a
+     * transfer, deciding an abort if it never debited it.
+     *
+     * @return OK if committed, or STATUS_ABORTED
+     */
+    private byte resolve(long transferID) throws IOException {
+        synchronized (legs) {
+            Boolean decision = legs.getDecision(transferID);
+            if (decision == null) {
+                legs.decide(transferID, false);
+                decision = false;
+            }
+            return decision ? (byte) TransactionResult.OK.ordinal() : STATUS_ABORTED;
+        }
+    }
+
+    /**
+     * applyLeg: Applies a leg that moves money, journals it and waits
+     * for the journal to be durable, then records the outcome in the
+     * transfer log: a commit decision for a debit, a finished commit
+     * for a credit. All of it happens in one pass through the mutation
+     * gate, so a checkpoint cannot empty the journal before the log
+     * knows the leg ended. The caller holds the lock on legs.
+     */
+    private TransactionResult applyLeg(long transferID, BankAccount account, char type,
+                                       long amountCents, String description) throws IOException {
+        int stripe = ledger.enterChange();
+        try {
+            long time = System.currentTimeMillis();
+            long balanceAfter = account.applyUnjournaled(type, amountCents, time, description);
+            if (balanceAfter == BankAccount.DECLINED) {
+                return account.declineReason();
+            }
+            ledger.journalTransferLeg(time, transferID, account.getAccountID(), type, amountCents,
+                    balanceAfter, description);
+            Journal journal = ledger.getJournal();
+            if (journal != null) {
+                journal.flush();
+            }
+            if (type == 'W') {
+                legs.decide(transferID, true);
+            } else {
+                legs.finish(transferID, true);
+            }
+            return TransactionResult.OK;
+        } finally {
+            ledger.exitMutation(stripe);
+        }
+    }
+
+    /**
+     * finishRecoveredLegs: Records the end of every leg the journal
+     * replayed whose outcome never reached the transfer log, since
+     * the crash came after the money moved.
+     */
+    private void finishRecoveredLegs() throws IOException {
+        Journal journal = ledger.getJournal();
+        if (journal == null) {
+            return;
+        }
+        for (Map.Entry<Long, Character> leg : journal.getRecoveredLegs().entrySet()) {
+            long transferID = leg.getKey();
+            if (leg.getValue() == 'W' && legs.getDecision(transferID) == null) {
+                legs.decide(transferID, true);
+            } else if (leg.getValue() == 'D' && legs.getPrepared(transferID) != null) {
+                legs.finish(transferID, true);
+            }
+        }
+    }
+
+    /**
+     * runResolver: Body of the resolver thread. Asks the debit shard
+     * how each credit leg prepared for IN_DOUBT_MILLIS or more was
+     * decided, finishes the leg to match, and lets the debit shard
+     * forget a commit. Legs whose debit shard cannot be reached are
+     * tried again on the next round.
+     */
+    private void runResolver() {
+        while (!closed) {
+            try {
+                Thread.sleep(RESOLVE_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long cutoff = System.currentTimeMillis() - IN_DOUBT_MILLIS;
+            for (TransferLegLog.Leg leg : legs.getPreparedLegs()) {
+                if (closed) {
+                    return;
+                }
+                if (leg.getPreparedTime() > cutoff) {
+                    continue;
+                }
+                try (ShardClient coordinator = new ShardClient(leg.getCoordinatorPort())) {
+                    boolean committed = coordinator.resolve(leg.getTransferID());
+                    if (finishCredit(leg.getTransferID(), committed) == TransactionResult.OK.ordinal()
+                            && committed) {
+                        coordinator.forget(leg.getTransferID());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    if (!closed) {
+                        System.err.println("Shard " + shardIndex + " could not resolve transfer #"
+                                + leg.getTransferID() + " yet: " + e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * checkOwner: Answers WRONG_SHARD and the owning shard if the
+     * account is not this shard's.
+     */
+    private boolean checkOwner(int accountID, DataOutputStream out) throws IOException {
+        if (owns(accountID)) {
+            return true;
+        }
+        out.writeByte(STATUS_WRONG_SHARD);
+        out.writeInt(ShardRouter.shardOf(accountID, shardCount));
+        return false;
+    }
+
+    private static void writeInvalid(DataOutputStream out, String reason) throws IOException {
+        out.writeByte(STATUS_INVALID);
+        out.writeUTF(reason == null ? "" : reason);
+    }
+
+    /**
+     * writeAccount: Writes an account's type code, ID, balance in
+     * cents, annual rate and customer name.
+     */
+    static void writeAccount(BankAccount account, DataOutputStream out) throws IOException {
+        out.writeByte(AccountType.of(account).getCode());
+        out.writeInt(account.getAccountID());
+        out.writeLong(account.getBalanceCents());
+        out.writeDouble(account.getAnnualInterestRate());
+        out.writeUTF(account.getCustomerName());
+    }
+
+    /**
+     * readAccount: Reads an account written by writeAccount into a
+     * new BankAccount that belongs to no ledger.
+     */
+    static BankAccount readAccount(DataInputStream in) throws IOException {
+        AccountType type = AccountType.fromCode(in.readByte());
+        int accountID = in.readInt();
+        long balanceCents = in.readLong();
+        double annualInterestRate = in.readDouble();
+        String customerName = in.readUTF();
+        BankAccount account = type.newAccount(customerName, accountID, Money.toDollars(balanceCents));
+        account.setAnnualInterestRate(annualInterestRate);
+        return account;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing more to release
+        }
+    }
+} // End of class ShardNode
@@ -0,0 +1,511 @@
+package bank;
+
+/**
+ * ShardRouter: This class is the client side of a sharded ledger. It
+ * sends each operation to the ShardNode that owns the account, chosen
+ * by a hash of the account ID, over pooled loopback connections.
+ *
+ * A run of deposits and withdrawals is split by shard and sent as one
+ * batch per shard, all shards at once, and each shard applies its
+ * part through Ledger.applyBatch. A transfer within one shard is a
+ * single request. A transfer between shards is a two-phase commit
+ * that the router drives and the debit shard decides:
+ *   1. prepare the credit, which checks the account exists and is
+ *      recorded durably on the credit shard;
+ *   2. debit the other account, which withdraws the money under the
+ *      account's overdraft rules and so commits the transfer, or
+ *      declines, in which case the credit is aborted and the decline
+ *      returned;
+ *   3. commit the credit, which deposits it.
+ * Both legs carry the same transfer ID in their description. A lost
+ * reply never leads to a guess: if the debit's reply is lost the
+ * router asks the debit shard how it decided, and if it cannot, or a
+ * commit or abort of the credit does not get through, the credit
+ * shard settles the leg itself by asking the debit shard (see
+ * ShardNode). A transfer that is decided is reported as made even if
+ * its credit is still being settled.
+ * NOTE: This class is used by BatchRunner and BankSystem.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ShardRouter implements Closeable {
+    // ========================== Fields ==========================
+    private final int[] ports;                                  // Node port of each shard
+    private final List<ConcurrentLinkedQueue<ShardClient>> idle; // Open connections per shard
+    private volatile boolean closed;
+
+    // ====================== Constructors ========================
+
+    /**
+     * ShardRouter: This constructor connects to every node and checks
+     * that the node on each port is the shard of that number and that
+     * they all agree on the number of shards.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param ports The node ports, in shard order
+     * @return void
+     * @throws IllegalArgumentException if no ports are given
+     * @throws IOException if a node cannot be reached or is not the
+     *         expected shard
+     * @since 18 Oct 2026
+     */
+    public ShardRouter(int[] ports) throws IOException {
+        if (ports.length == 0) {
+            throw new IllegalArgumentException("no shard ports given");
+        }
+        this.ports = ports.clone();
+        this.idle = new ArrayList<>(ports.length);
+        for (int i = 0; i < ports.length; i++) {
+            idle.add(new ConcurrentLinkedQueue<>());
+        }
+        try {
+            for (int shard = 0; shard < ports.length; shard++) {
+                ShardClient client = borrow(shard);
+                int[] identity = client.hello();
+                release(shard, client, true);
+                if (identity[0] != shard || identity[1] != ports.length) {
+                    throw new IOException("node on port " + ports[shard] + " is shard " + identity[0]
+                            + " of " + identity[1] + ", expected shard " + shard + " of " + ports.length);
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getShardCount: Returns the number of shards the router sends
+     * to.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of shards
+     * @since 18 Oct 2026
+     */
+    public int getShardCount() {
+        return ports.length;
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * shardOf: Returns the shard that owns an account. The ID is mixed
+     * with the MurmurHash3 finalizer first, so runs of sequential IDs
+     * spread evenly over the shards.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The account ID
+     * @param shardCount The number of shards
+     * @return the shard number, from 0 to shardCount - 1
+     * @since 18 Oct 2026
+     */
+    public static int shardOf(int accountID, int shardCount) {
+        int h = accountID;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shardCount);
+    }
+
+    /**
+     * create: Opens an account on its shard.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param type The account type
+     * @param accountID The account ID
+     * @param balanceCents The opening balance in cents
+     * @param ratePlan A rate plan name known to the shard, or a rate
+     * @param customerName The name of the account holder
+     * @return true if opened, false if the ID is already in use
+     * @throws IllegalArgumentException if the shard rejects the account
+     * @throws IOException if the shard cannot be reached
+     * @since 18 Oct 2026
+     */
+    public boolean create(AccountType type, int accountID, long balanceCents, String ratePlan,
+                          String customerName) throws IOException {
+        int shard = shardOf(accountID, ports.length);
+        ShardClient client = borrow(shard);
+        boolean healthy = false;
+        try {
+            boolean created = client.create(type, accountID, balanceCents, ratePlan, customerName);
+            healthy = true;
+            return created;
+        } catch (IllegalArgumentException e) {
+            healthy = true;     // The rejection was read in full
+            throw e;
+        } finally {
+            release(shard, client, healthy);
+        }
+    }
+
+    /**
+     * findAccount: Returns a copy of an account as its shard holds it
+     * now. Changes to the copy do not reach the shard.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The account ID
+     * @return an account that belongs to no ledger, or null if unknown
+     * @throws IOException if the shard cannot be reached
+     * @since 18 Oct 2026
+     */
+    public BankAccount findAccount(int accountID) throws IOException {
+        int shard = shardOf(accountID, ports.length);
+        ShardClient client = borrow(shard);
+        boolean healthy = false;
+        try {
+            BankAccount account = client.lookup(accountID);
+            healthy = true;
+            return account;
+        } finally {
+            release(shard, client, healthy);
+        }
+    }
+
+    /**
+     * getAccounts: Returns a copy of every account, shard by shard.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return accounts that belong to no ledger
+     * @throws IOException if a shard cannot be reached
+     * @since 18 Oct 2026
+     */
+    public List<BankAccount> getAccounts() throws IOException {
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int shard = 0; shard < ports.length; shard++) {
+            ShardClient client = borrow(shard);
+            boolean healthy = false;
+            try {
+                accounts.addAll(client.list());
+                healthy = true;
+            } finally {
+                release(shard, client, healthy);
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * deposit: Deposits into an account on its shard.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The account ID
+     * @param amountCents The amount in cents
+     * @param description A short description for this deposit
+     * @return OK, or UNKNOWN_ACCOUNT
+     * @throws IOException if the shard cannot be reached
+     * @since 18 Oct 2026
+     */
+    public TransactionResult deposit(int accountID, long amountCents, String description) throws IOException {
+        return applyBatch(new BatchOperation[] {
+                new BatchOperation(accountID, 'D', Money.toDollars(amountCents), description)})[0];
+    }
+
+    /**
+     * withdraw: Withdraws from an account on its shard under that
+     * account's overdraft rules.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param accountID The account ID
+     * @param amountCents The amount in cents
+     * @param description A short description for this withdrawal
+     * @return OK, or the reason the withdrawal was declined
+     * @throws IOException if the shard cannot be reached
+     * @since 18 Oct 2026
+     */
+    public TransactionResult withdraw(int accountID, long amountCents, String description) throws IOException {
+        return applyBatch(new BatchOperation[] {
+                new BatchOperation(accountID, 'W', Money.toDollars(amountCents), description)})[0];
+    }
+
+    /**
+     * applyBatch: Applies deposits and withdrawals on their shards,
+     * like Ledger.applyBatch. Each shard gets one batch with its
+     * operations, in their original order, and all the batches are
+     * sent before any result is read, so the shards work in parallel.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param operations The operations to apply
+     * @return the result of each operation, in the same order
+     * @throws IOException if a shard cannot be reached
+     * @since 18 Oct 2026
+     */
+    public TransactionResult[] applyBatch(BatchOperation[] operations) throws IOException {
+        int shardCount = ports.length;
+        int[] counts = new int[shardCount];
+        int[] shardOfOperation = new int[operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            shardOfOperation[i] = shardOf(operations[i].getAccountID(), shardCount);
+            counts[shardOfOperation[i]]++;
+        }
+        int[][] selected = new int[shardCount][];
+        for (int shard = 0; shard < shardCount; shard++) {
+            selected[shard] = new int[counts[shard]];
+            counts[shard] = 0;
+        }
+        for (int i = 0; i < operations.length; i++) {
+            int shard = shardOfOperation[i];
+            selected[shard][counts[shard]++] = i;
+        }
+
+        TransactionResult[] results = new TransactionResult[operations.length];
+        ShardClient[] clients = new ShardClient[shardCount];
+        boolean healthy = false;
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (counts[shard] > 0) {
+                    clients[shard] = borrow(shard);
+                    clients[shard].sendBatch(operations, selected[shard], counts[shard]);
+                }
+            }
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (clients[shard] != null) {
+                    clients[shard].receiveBatch(results, selected[shard], counts[shard]);
+                }
+            }
+            healthy = true;
+        } finally {
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (clients[shard] != null) {
+                    release(shard, clients[shard], healthy);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * transfer: Moves money between two accounts, in one step on their
+     * shard if both are on the same one, or else with a two-phase
+     * commit across the two shards.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param fromID The ID of the account to debit
+     * @param toID The ID of the account to credit
+     * @param amountCents The amount in cents
+     * @param description A short description for this transfer
+     * @return OK, or the reason the transfer was declined
+     * @throws IllegalArgumentException if both IDs are the same or the
+     *         amount is not positive
+     * @throws IOException if a shard cannot be reached before the
+     *         transfer is decided; the message says whether it was
+     *         not made or is in doubt and being settled
+     * @since 18 Oct 2026
+     */
+    public TransactionResult transfer(int fromID, int toID, long amountCents,
+                                      String description) throws IOException {
+        if (fromID == toID) {
+            throw new IllegalArgumentException("cannot transfer to the same account");
+        }
+        if (amountCents <= 0L) {
+            throw new IllegalArgumentException("transfer amount must be positive");
+        }
+        int fromShard = shardOf(fromID, ports.length);
+        int toShard = shardOf(toID, ports.length);
+        if (fromShard == toShard) {
+            ShardClient client = borrow(fromShard);
+            boolean healthy = false;
+            try {
+                TransactionResult result = client.transfer(fromID, toID, amountCents, description);
+                healthy = true;
+                return result;
+            } finally {
+                release(fromShard, client, healthy);
+            }
+        }
+
+        // Random IDs, so routers never need to agree on a counter
+        long transferID = ThreadLocalRandom.current().nextLong(1L, Long.MAX_VALUE);
+        String transfer = "Transfer #" + transferID + " from " + fromID + " to " + toID;
+        TransactionResult result;
+        ShardClient credit = borrow(toShard);
+        boolean healthy = false;
+        try {
+            result = credit.prepare(transferID, toID, amountCents,
+                    Ledger.transferDescription(transferID, "from", fromID, description), ports[fromShard]);
+            healthy = true;
+        } catch (IOException e) {
+            // If the credit was prepared, the credit shard resolves it as aborted
+            throw new IOException(transfer + " was not made: " + e.getMessage(), e);
+        } finally {
+            release(toShard, credit, healthy);
+        }
+        if (!result.isOK()) {
+            return result;
+        }
+
+        ShardClient debit;
+        try {
+            debit = borrow(fromShard);
+        } catch (IOException e) {
+            finishCredit(toShard, transferID, false);
+            throw new IOException(transfer + " was not made: " + e.getMessage(), e);
+        }
+        Boolean committed;
+        healthy = false;
+        try {
+            result = debit.debit(transferID, fromID, amountCents,
+                    Ledger.transferDescription(transferID, "to", toID, description));
+            healthy = true;
+            committed = result.isOK();
+        } catch (IOException e) {
+            // The debit may or may not have been made; only its shard knows
+            committed = resolve(fromShard, transferID);
+            result = null;
+        } finally {
+            release(fromShard, debit, healthy);
+        }
+        if (committed == null) {
+            throw new IOException(transfer + " is in doubt: shard " + toShard
+                    + " will settle it with shard " + fromShard + " once it can be reached");
+        }
+        if (!committed) {
+            finishCredit(toShard, transferID, false);
+            if (result == null) {
+                throw new IOException(transfer + " was not made: the debit shard aborted it");
+            }
+            return result;
+        }
+        if (finishCredit(toShard, transferID, true)) {
+            forget(fromShard, transferID);
+        }
+        return TransactionResult.OK;
+    }
+
+    /**
+     * close: Closes every idle connection. Connections in use are
+     * closed when they are given back.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (ConcurrentLinkedQueue<ShardClient> queue : idle) {
+            ShardClient client;
+            while ((client = queue.poll()) != null) {
+                client.close();
+            }
+        }
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * resolve: Asks a transfer's debit shard how it was decided.
+     *
+     * @return true if committed, false if aborted, or null if the
+     *         shard could not be reached
+     */
+    private Boolean resolve(int shard, long transferID) {
+        ShardClient client = null;
+        boolean healthy = false;
+        try {
+            client = borrow(shard);
+            boolean committed = client.resolve(transferID);
+            healthy = true;
+            return committed;
+        } catch (IOException e) {
+            return null;
+        } finally {
+            if (client != null) {
+                release(shard, client, healthy);
+            }
+        }
+    }
+
+    /**
+     * finishCredit: Commits or aborts a prepared credit leg. A failure
+     * is left for the credit shard to settle on its own.
+     *
+     * @return true if the leg is now finished as asked
+     */
+    private boolean finishCredit(int shard, long transferID, boolean commit) {
+        ShardClient client = null;
+        boolean healthy = false;
+        try {
+            client = borrow(shard);
+            boolean finished = commit ? client.commit(transferID) : client.abort(transferID);
+            healthy = true;
+            return finished;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (client != null) {
+                release(shard, client, healthy);
+            }
+        }
+    }
+
+    /**
+     * forget: Lets a debit shard drop a commit decision once the
+     * credit is deposited. A failure only leaves the decision kept.
+     */
+    private void forget(int shard, long transferID) {
+        ShardClient client = null;
+        boolean healthy = false;
+        try {
+            client = borrow(shard);
+            client.forget(transferID);
+            healthy = true;
+        } catch (IOException e) {
+            // Kept until the credit shard's resolver, or nobody, asks again
+        } finally {
+            if (client != null) {
+                release(shard, client, healthy);
+            }
+        }
+    }
+
+    /**
+     * borrow: Takes an idle connection to a shard, or opens one.
+     */
+    private ShardClient borrow(int shard) throws IOException {
+        if (closed) {
+            throw new IOException("router is closed");
+        }
+        ShardClient client = idle.get(shard).poll();
+        return client != null ? client : new ShardClient(ports[shard]);
+    }
+
+    /**
+     * release: Gives a connection back for reuse, or closes it if a
+     * request on it failed part way and the stream may be out of step.
+     */
+    private void release(int shard, ShardClient client, boolean healthy) {
+        if (healthy && !closed) {
+            idle.get(shard).offer(client);
+        } else {
+            client.close();
+        }
+    }
+} // End of class ShardRouter
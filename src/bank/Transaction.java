@@ -1,9 +1,12 @@
+package bank;
+
 /**
  * Transaction: This class represents a transaction object in
  * a bank account. It includes the transaction date, type
  * (Deposit or Withdrawal), amount, balance, and
  * a description.
- * The transactionType is 'D' for deposit and 'W' for withdrawal.
+ * The transactionType is 'D' for deposit, 'W' for withdrawal and
+ * 'I' for month-end interest.
  * NOTE: This class is used by BankAccount and its subclasses
  * to log deposit/withdraw actions.
  *
@@ -17,7 +20,7 @@ import java.util.Date;
 public class Transaction {
     // ========================= Fields =========================
     private Date transactionDate;
-    private char transactionType;    // 'D' for deposit, 'W' for withdrawal
+    private char transactionType;    // 'D' deposit, 'W' withdrawal, 'I' interest
     private double amount;
     private double balanceAfter;     // balance after this transaction
     private String description;
@@ -47,6 +50,29 @@ public class Transaction {
         this.description = description;
     }
 
+    /**
+     * Transaction: Constructs a Transaction object with an explicit
+     * date, for transactions restored from the journal.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transactionDate The date/time of the transaction
+     * @param transactionType The transaction type ('D' or 'W')
+     * @param amount The transaction amount
+     * @param balanceAfter The balance after the transaction
+     * @param description A short description of the transaction
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public Transaction(Date transactionDate, char transactionType, double amount,
+                       double balanceAfter, String description) {
+        this.transactionDate = transactionDate;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.description = description;
+    }
+
     // ======================== Getters =========================
 
     public Date getTransactionDate() {
@@ -0,0 +1,625 @@
+package bank;
+
+/**
+ * TransactionLog: This class is the transaction history of one
+ * account, stored column by column in primitive arrays: timestamps,
+ * type codes, amounts and balances in cents, and descriptions.
+ * An entry costs about 29 bytes instead of a Transaction object
+ * plus its Date and doubles. Descriptions are interned through a
+ * small shared cache, so the many entries with the same description
+ * share one String. Transaction objects are only built on demand,
+ * when an entry is read through get() or the list view.
+ *
+ * Only the newest entries stay in the heap columns. Whenever they
+ * reach twice HOT_ENTRIES, the oldest HOT_ENTRIES are handed to the
+ * HistoryStore as one segment, which keeps it off heap and later on
+ * disk. Every getter reads through to the segments, so callers see
+ * one continuous history, while older history costs the heap only a
+ * small reference per segment. release() frees the segments once
+ * the account is dropped.
+ *
+ * Entries are kept in time order (a time earlier than the previous
+ * entry's is raised to it), so query() finds the start of a time
+ * range by binary search: first over the segment start times, then
+ * within one segment. A type filter uses a per-type list of the
+ * segments holding that type, and inside a segment the type index
+ * HistoryStore keeps, so a page of k matches costs O(log n + k) reads
+ * plus at most a scan of the heap entries.
+ * NOTE: This class is used by BankAccount. It is thread-safe; its
+ * own monitor guards the columns, so reading history never waits on
+ * the account monitor used by transfers.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.RandomAccess;
+
+public class TransactionLog {
+    // ========================== Fields ==========================
+    private long[] times;               // Milliseconds since the epoch
+    private byte[] types;               // 'D', 'W', ...
+    private long[] amountCents;
+    private long[] balanceAfterCents;
+    private String[] descriptions;      // Interned where possible
+    private int hotCount;               // Entries in the heap columns
+    private final HistoryStore store;   // Holds the spilled segments
+    private HistoryStore.Segment[] segments; // Older entries, oldest first
+    private int segmentCount;
+    private int cachedSegment = -1;     // Segment last read back from disk
+    private ByteBuffer cachedBuffer;
+    private long lastTime = Long.MIN_VALUE; // Time of the newest entry
+    private char[] indexedTypes;        // Types with an entry in some segment
+    private int[][] typeSegments;       // Segments holding each indexed type, ascending
+    private int[] typeSegmentCounts;
+
+    // ===================== Default Values =======================
+    public static final int HOT_ENTRIES = HistoryStore.SEGMENT_ENTRIES;
+    public static final char ANY_TYPE = '\0';        // Query filter matching every type
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int DESCRIPTION_CACHE_SIZE = 4096;    // Power of two
+    private static final int MAX_POOLED_LENGTH = 64;
+    private static final String[] DESCRIPTION_CACHE = new String[DESCRIPTION_CACHE_SIZE];
+
+    // ====================== Constructors ========================
+
+    /**
+     * TransactionLog: This no argument constructor initializes an
+     * empty log that spills to the shared HistoryStore. The columns
+     * are allocated on the first append, so accounts without history
+     * cost almost nothing.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public TransactionLog() {
+        this(HistoryStore.getDefault());
+    }
+
+    /**
+     * TransactionLog: This constructor initializes an empty log that
+     * spills older entries to the given store.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param store The store for entries that leave the heap
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public TransactionLog(HistoryStore store) {
+        this.store = store;
+        this.segments = new HistoryStore.Segment[0];
+        this.indexedTypes = new char[0];
+        this.typeSegments = new int[0][];
+        this.typeSegmentCounts = new int[0];
+        this.times = new long[0];
+        this.types = new byte[0];
+        this.amountCents = new long[0];
+        this.balanceAfterCents = new long[0];
+        this.descriptions = new String[0];
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * size: Returns the number of entries in the log, on the heap
+     * and spilled.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of entries
+     * @since 18 Oct 2026
+     */
+    public synchronized int size() {
+        return segmentCount * HOT_ENTRIES + hotCount;
+    }
+
+    /**
+     * getTime: Returns when an entry was made.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param index The entry's position, from 0 for the oldest
+     * @return the time in milliseconds since the epoch
+     * @since 18 Oct 2026
+     */
+    public synchronized long getTime(int index) {
+        int hot = hotIndex(index);
+        if (hot >= 0) {
+            return times[hot];
+        }
+        return HistoryStore.getTime(segmentBuffer(index), index % HOT_ENTRIES);
+    }
+
+    /**
+     * getType: Returns the transaction type of an entry.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param index The entry's position, from 0 for the oldest
+     * @return the type, such as 'D' or 'W'
+     * @since 18 Oct 2026
+     */
+    public synchronized char getType(int index) {
+        int hot = hotIndex(index);
+        if (hot >= 0) {
+            return (char) types[hot];
+        }
+        return HistoryStore.getType(segmentBuffer(index), index % HOT_ENTRIES);
+    }
+
+    /**
+     * getAmountCents: Returns the amount of an entry.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param index The entry's position, from 0 for the oldest
+     * @return the amount in cents
+     * @since 18 Oct 2026
+     */
+    public synchronized long getAmountCents(int index) {
+        int hot = hotIndex(index);
+        if (hot >= 0) {
+            return amountCents[hot];
+        }
+        return HistoryStore.getAmountCents(segmentBuffer(index), index % HOT_ENTRIES);
+    }
+
+    /**
+     * getBalanceAfterCents: Returns the account's balance right
+     * after an entry.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param index The entry's position, from 0 for the oldest
+     * @return the balance in cents
+     * @since 18 Oct 2026
+     */
+    public synchronized long getBalanceAfterCents(int index) {
+        int hot = hotIndex(index);
+        if (hot >= 0) {
+            return balanceAfterCents[hot];
+        }
+        return HistoryStore.getBalanceAfterCents(segmentBuffer(index), index % HOT_ENTRIES);
+    }
+
+    /**
+     * getDescription: Returns the description of an entry.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param index The entry's position, from 0 for the oldest
+     * @return the description
+     * @since 18 Oct 2026
+     */
+    public synchronized String getDescription(int index) {
+        int hot = hotIndex(index);
+        if (hot >= 0) {
+            return descriptions[hot];
+        }
+        return HistoryStore.getDescription(segmentBuffer(index), index % HOT_ENTRIES);
+    }
+
+    /**
+     * getSpilledCount: Returns the number of entries that have left
+     * the heap for the HistoryStore.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the number of entries held in segments
+     * @since 18 Oct 2026
+     */
+    public synchronized int getSpilledCount() {
+        return segmentCount * HOT_ENTRIES;
+    }
+
+    /**
+     * get: Builds a Transaction for one entry.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param index The entry number, oldest first
+     * @return a new Transaction holding the entry
+     * @since 18 Oct 2026
+     */
+    public synchronized Transaction get(int index) {
+        int hot = hotIndex(index);
+        if (hot >= 0) {
+            return hotTransaction(hot);
+        }
+        return segmentTransaction(segmentBuffer(index), index % HOT_ENTRIES);
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * append: Adds an entry at the end of the log. A time earlier
+     * than the newest entry's, as can happen when two threads race to
+     * record, is raised to that entry's time to keep the log in order.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param time The time of the transaction, in epoch milliseconds
+     * @param type The transaction type ('D' or 'W')
+     * @param amountCents The transaction amount in cents
+     * @param balanceAfterCents The balance after the transaction in cents
+     * @param description A short description of the transaction
+     * @return the time stored for the entry
+     * @since 18 Oct 2026
+     */
+    public synchronized long append(long time, char type, long amountCents,
+                                    long balanceAfterCents, String description) {
+        time = Math.max(time, lastTime);
+        lastTime = time;
+        if (hotCount == 2 * HOT_ENTRIES) {
+            spill();
+        } else if (hotCount == times.length) {
+            grow();
+        }
+        times[hotCount] = time;
+        types[hotCount] = (byte) type;
+        this.amountCents[hotCount] = amountCents;
+        this.balanceAfterCents[hotCount] = balanceAfterCents;
+        descriptions[hotCount] = intern(description);
+        hotCount++;
+        return time;
+    }
+
+    /**
+     * query: Returns one page of the entries with a time in the given
+     * range and, unless type is ANY_TYPE, of the given type, oldest
+     * first. Pass 0 as startIndex for the first page and the page's
+     * next index for each following one.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param fromTime The earliest time to include, in epoch milliseconds
+     * @param toTime The time to stop before, in epoch milliseconds
+     * @param type The transaction type to match, or ANY_TYPE
+     * @param startIndex The entry index to resume from
+     * @param limit The most entries to return
+     * @return the page of matching transactions
+     * @throws IllegalArgumentException if startIndex is negative or
+     *         limit is not positive
+     * @since 18 Oct 2026
+     */
+    public synchronized TransactionPage query(long fromTime, long toTime, char type,
+                                              int startIndex, int limit) {
+        if (startIndex < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid page: start " + startIndex
+                    + ", limit " + limit);
+        }
+        List<Transaction> found = new ArrayList<>(Math.min(limit, 64));
+        int spilled = segmentCount * HOT_ENTRIES;
+        int index = Math.max(startIndex, lowerBound(fromTime));
+
+        // Entries in segments
+        if (index < spilled && type == ANY_TYPE) {
+            for (; index < spilled; index++) {
+                ByteBuffer segment = segmentBuffer(index);
+                int entry = index % HOT_ENTRIES;
+                if (HistoryStore.getTime(segment, entry) >= toTime) {
+                    return new TransactionPage(found, -1);
+                }
+                if (found.size() == limit) {
+                    return new TransactionPage(found, index);
+                }
+                found.add(segmentTransaction(segment, entry));
+            }
+        } else if (index < spilled) {
+            int typeNumber = indexOfType(type);
+            int[] holding = typeNumber >= 0 ? typeSegments[typeNumber] : new int[0];
+            int holdingCount = typeNumber >= 0 ? typeSegmentCounts[typeNumber] : 0;
+            int from = Arrays.binarySearch(holding, 0, holdingCount, index / HOT_ENTRIES);
+            for (int i = from >= 0 ? from : -from - 1; i < holdingCount; i++) {
+                int number = holding[i];
+                HistoryStore.Segment owner = segments[number];
+                ByteBuffer segment = segmentBuffer(number * HOT_ENTRIES);
+                int run = owner.findType(type);
+                int position = owner.getRunStart(run);
+                int runEnd = owner.getRunEnd(run);
+                // Binary search the run, which is in entry order, for index
+                int firstEntry = index - number * HOT_ENTRIES;
+                int high = runEnd;
+                while (position < high) {
+                    int middle = (position + high) >>> 1;
+                    if (HistoryStore.getIndexedEntry(segment, owner, middle) < firstEntry) {
+                        position = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                for (; position < runEnd; position++) {
+                    int entry = HistoryStore.getIndexedEntry(segment, owner, position);
+                    if (HistoryStore.getTime(segment, entry) >= toTime) {
+                        return new TransactionPage(found, -1);
+                    }
+                    if (found.size() == limit) {
+                        return new TransactionPage(found, number * HOT_ENTRIES + entry);
+                    }
+                    found.add(segmentTransaction(segment, entry));
+                }
+            }
+            index = spilled;
+        }
+
+        // Entries still on the heap
+        for (int hot = index - spilled; hot < hotCount; hot++) {
+            if (times[hot] >= toTime) {
+                break;
+            }
+            if (type != ANY_TYPE && types[hot] != (byte) type) {
+                continue;
+            }
+            if (found.size() == limit) {
+                return new TransactionPage(found, spilled + hot);
+            }
+            found.add(hotTransaction(hot));
+        }
+        return new TransactionPage(found, -1);
+    }
+
+    /**
+     * view: Returns a read-only List over the entries logged so far.
+     * Entries appended later do not show up in the view. Each get()
+     * builds a new Transaction.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a read-only List of Transaction objects
+     * @since 18 Oct 2026
+     */
+    public List<Transaction> view() {
+        return new View(size());
+    }
+
+    /**
+     * release: Empties the log and frees its segments in the
+     * HistoryStore. Called when the account is dropped, so history
+     * nobody can reach no longer holds off-heap memory or file space.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public synchronized void release() {
+        for (int number = 0; number < segmentCount; number++) {
+            store.release(segments[number]);
+        }
+        segments = new HistoryStore.Segment[0];
+        segmentCount = 0;
+        cachedSegment = -1;
+        cachedBuffer = null;
+        indexedTypes = new char[0];
+        typeSegments = new int[0][];
+        typeSegmentCounts = new int[0];
+        hotCount = 0;
+        Arrays.fill(descriptions, null);
+    }
+
+    // ====================== Helper Methods ======================
+
+    private void grow() {
+        int capacity = Math.min(2 * HOT_ENTRIES,
+                Math.max(INITIAL_CAPACITY, times.length + (times.length >> 1)));
+        times = Arrays.copyOf(times, capacity);
+        types = Arrays.copyOf(types, capacity);
+        amountCents = Arrays.copyOf(amountCents, capacity);
+        balanceAfterCents = Arrays.copyOf(balanceAfterCents, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+    }
+
+    /**
+     * spill: Moves the oldest HOT_ENTRIES heap entries into a new
+     * segment and shifts the rest down.
+     */
+    private void spill() {
+        HistoryStore.Segment segment = store.store(times, types, amountCents,
+                balanceAfterCents, descriptions);
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(4, segmentCount * 2));
+        }
+        for (int run = 0; run < segment.getTypeCount(); run++) {
+            indexSegmentType(segment.getType(run), segmentCount);
+        }
+        segments[segmentCount++] = segment;
+        hotCount -= HOT_ENTRIES;
+        System.arraycopy(times, HOT_ENTRIES, times, 0, hotCount);
+        System.arraycopy(types, HOT_ENTRIES, types, 0, hotCount);
+        System.arraycopy(amountCents, HOT_ENTRIES, amountCents, 0, hotCount);
+        System.arraycopy(balanceAfterCents, HOT_ENTRIES, balanceAfterCents, 0, hotCount);
+        System.arraycopy(descriptions, HOT_ENTRIES, descriptions, 0, hotCount);
+        Arrays.fill(descriptions, hotCount, descriptions.length, null);
+    }
+
+    /**
+     * indexSegmentType: Adds a segment to the list of segments holding
+     * the given type.
+     */
+    private void indexSegmentType(char type, int segmentNumber) {
+        int typeNumber = indexOfType(type);
+        if (typeNumber < 0) {
+            typeNumber = indexedTypes.length;
+            indexedTypes = Arrays.copyOf(indexedTypes, typeNumber + 1);
+            typeSegments = Arrays.copyOf(typeSegments, typeNumber + 1);
+            typeSegmentCounts = Arrays.copyOf(typeSegmentCounts, typeNumber + 1);
+            indexedTypes[typeNumber] = type;
+            typeSegments[typeNumber] = new int[4];
+        }
+        int count = typeSegmentCounts[typeNumber];
+        if (count == typeSegments[typeNumber].length) {
+            typeSegments[typeNumber] = Arrays.copyOf(typeSegments[typeNumber], count * 2);
+        }
+        typeSegments[typeNumber][count] = segmentNumber;
+        typeSegmentCounts[typeNumber] = count + 1;
+    }
+
+    private int indexOfType(char type) {
+        for (int i = 0; i < indexedTypes.length; i++) {
+            if (indexedTypes[i] == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * lowerBound: Returns the index of the first entry at or after the
+     * given time, or size() if there is none.
+     */
+    private int lowerBound(long time) {
+        int spilled = segmentCount * HOT_ENTRIES;
+        if (hotCount > 0 && times[0] < time) {
+            // Everything in the segments is older still
+            int low = 1;
+            int high = hotCount;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (times[middle] < time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return spilled + low;
+        }
+        // Last segment starting before the time holds the boundary
+        int low = 0;
+        int high = segmentCount - 1;
+        int number = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (segments[middle].getStartTime() < time) {
+                number = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (number < 0) {
+            return 0;
+        }
+        ByteBuffer segment = segmentBuffer(number * HOT_ENTRIES);
+        low = 0;
+        high = HOT_ENTRIES;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (HistoryStore.getTime(segment, middle) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return number * HOT_ENTRIES + low;
+    }
+
+    private Transaction hotTransaction(int hot) {
+        return new Transaction(new Date(times[hot]), (char) types[hot],
+                Money.toDollars(amountCents[hot]), Money.toDollars(balanceAfterCents[hot]),
+                descriptions[hot]);
+    }
+
+    private static Transaction segmentTransaction(ByteBuffer segment, int entry) {
+        return new Transaction(new Date(HistoryStore.getTime(segment, entry)),
+                HistoryStore.getType(segment, entry),
+                Money.toDollars(HistoryStore.getAmountCents(segment, entry)),
+                Money.toDollars(HistoryStore.getBalanceAfterCents(segment, entry)),
+                HistoryStore.getDescription(segment, entry));
+    }
+
+    /**
+     * hotIndex: Checks the index and returns its position in the heap
+     * columns, or -1 if the entry is in a segment.
+     */
+    private int hotIndex(int index) {
+        int size = size();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Entry " + index + " of " + size);
+        }
+        return index - segmentCount * HOT_ENTRIES;
+    }
+
+    /**
+     * segmentBuffer: Returns the bytes of the segment holding an entry.
+     * A segment read back from disk is kept until another one is read,
+     * so paging through old history reads each segment once.
+     */
+    private ByteBuffer segmentBuffer(int index) {
+        int number = index / HOT_ENTRIES;
+        HistoryStore.Segment segment = segments[number];
+        if (segment.isOffHeap()) {
+            return segment.buffer();
+        }
+        if (cachedSegment != number) {
+            cachedBuffer = segment.buffer();
+            cachedSegment = number;
+        }
+        return cachedBuffer;
+    }
+
+    /**
+     * intern: Returns the cached copy of a short description. The cache
+     * is direct mapped: a description's hash picks its one slot, and a
+     * description not found there replaces what the slot held. Common
+     * descriptions stay cached because they keep coming back, while a
+     * one-off description such as a transfer reference only displaces
+     * an entry until that entry is next seen, so the cache keeps
+     * taking new descriptions without ever growing. Slots are read and
+     * written without locking; Strings are immutable, so a lost update
+     * only costs one duplicate copy.
+     */
+    private static String intern(String description) {
+        if (description == null || description.length() > MAX_POOLED_LENGTH) {
+            return description;
+        }
+        int h = description.hashCode();
+        int slot = (h ^ (h >>> 16)) & (DESCRIPTION_CACHE_SIZE - 1);
+        String cached = DESCRIPTION_CACHE[slot];
+        if (description.equals(cached)) {
+            return cached;
+        }
+        DESCRIPTION_CACHE[slot] = description;
+        return description;
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * View: A read-only List of the first size entries of the log.
+     */
+    private final class View extends AbstractList<Transaction> implements RandomAccess {
+        private final int size;
+
+        private View(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Entry " + index + " of " + size);
+            }
+            return TransactionLog.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+} // End of class TransactionLog
@@ -0,0 +1,65 @@
+package bank;
+
+/**
+ * TransactionPage: This class is one page of the results of a
+ * transaction history query. Pages are chained through the entry
+ * index to resume from, so fetching the next page does not scan the
+ * entries already returned.
+ * NOTE: This class is used by TransactionLog and BankAccount.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.util.Collections;
+import java.util.List;
+
+public class TransactionPage {
+    // ========================== Fields ==========================
+    private final List<Transaction> transactions;   // Matches on this page, oldest first
+    private final int nextIndex;                    // Where the next page starts, or -1
+
+    // ====================== Constructors ========================
+
+    /**
+     * TransactionPage: This constructor initializes a page with its
+     * matching transactions and the entry index the next page starts
+     * from.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transactions The matching transactions, oldest first
+     * @param nextIndex The index to resume from, or -1 if this is the last page
+     * @return void
+     * @since 18 Oct 2026
+     */
+    public TransactionPage(List<Transaction> transactions, int nextIndex) {
+        this.transactions = Collections.unmodifiableList(transactions);
+        this.nextIndex = nextIndex;
+    }
+
+    // ========================= Getters ==========================
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * getNextIndex: Returns the start index to pass to the same query
+     * for the next page.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the next start index, or -1 if there are no more matches
+     * @since 18 Oct 2026
+     */
+    public int getNextIndex() {
+        return nextIndex;
+    }
+
+    public boolean hasMore() {
+        return nextIndex >= 0;
+    }
+} // End of class TransactionPage
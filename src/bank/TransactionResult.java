@@ -0,0 +1,56 @@
+package bank;
+
+/**
+ * TransactionResult: This enum is the outcome of a ledger operation
+ * such as a transfer or a batch entry. Each value is a shared
+ * constant, so returning a result never allocates.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+public enum TransactionResult {
+    OK("Transaction completed."),
+    INSUFFICIENT_FUNDS("Insufficient funds."),
+    OVERDRAFT_EXCEEDED("Overdraft limit exceeded."),
+    UNKNOWN_ACCOUNT("Account not found."),
+    FAILED("The transaction could not be completed.");
+
+    // ========================== Fields ==========================
+    private final String message;   // Text shown to the user
+
+    // ====================== Constructors ========================
+
+    TransactionResult(String message) {
+        this.message = message;
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getMessage: Returns a short description of this result for
+     * display to the user.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return the String message
+     * @since 18 Oct 2026
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * isOK: Returns true if the operation was applied.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return true for OK, false for any decline
+     * @since 18 Oct 2026
+     */
+    public boolean isOK() {
+        return this == OK;
+    }
+} // End of enum TransactionResult
@@ -0,0 +1,489 @@
+package bank;
+
+/**
+ * TransferLegLog: This class is a shard's durable record of its part
+ * in two-phase transfers between shards. Every state change is
+ * appended as one record and fsynced before the node answers, so a
+ * node that restarts knows exactly which legs it had prepared and
+ * which transfers it had decided.
+ *
+ * A shard plays two parts. For the credit leg it is a participant:
+ * the leg is PREPARED, then COMMITTED (deposited) or ABORTED. For the
+ * debit leg it is the coordinator of record: the withdrawal itself
+ * is the decision to commit, and the transfer is then DECIDED as
+ * committed until the credit shard has deposited it and asks for the
+ * decision to be FORGOTTEN. A credit shard that asks about a transfer
+ * the debit shard never decided gets an abort, which is DECIDED too,
+ * so a debit arriving late for it is refused. Aborts are never
+ * forgotten.
+ *
+ * File format: a header (magic, version) followed by records of
+ * [int payload length][int CRC32 of payload][payload], like the
+ * Journal. A torn tail ends the read. The file is rewritten with only
+ * the open legs and decisions each time it is opened, so it does not
+ * grow without bound.
+ * NOTE: This class is used by ShardNode.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class TransferLegLog implements Closeable {
+    // ========================== Fields ==========================
+    private final FileChannel channel;
+    private final Map<Long, Leg> prepared = new LinkedHashMap<>();    // Credit legs awaiting a decision
+    private final Map<Long, Boolean> decisions = new HashMap<>();     // Debit side: true once committed
+    private final Map<Long, Boolean> outcomes = new LinkedHashMap<Long, Boolean>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > RECENT_OUTCOMES;
+        }
+    };                                                                // Recently finished credit legs
+
+    // ===================== Default Values =======================
+    private static final int MAGIC = 0x42544C47;    // "BTLG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 8;   // Length and CRC
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+    private static final int RECENT_OUTCOMES = 4096; // Kept to answer a repeated commit or abort
+    private static final byte PREPARED = 1;
+    private static final byte COMMITTED = 2;
+    private static final byte ABORTED = 3;
+    private static final byte DECIDED_COMMIT = 4;
+    private static final byte DECIDED_ABORT = 5;
+    private static final byte FORGOTTEN = 6;
+
+    // ====================== Constructors ========================
+
+    private TransferLegLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    // ========================= Opening ==========================
+
+    /**
+     * open: Reads the log at the given path, or creates it, and
+     * rewrites it with only the legs still prepared and the decisions
+     * still kept, then opens it for appending.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param path The log file
+     * @return the opened TransferLegLog
+     * @throws IOException if the file cannot be read or written, or is
+     *         not a transfer log
+     * @since 18 Oct 2026
+     */
+    public static TransferLegLog open(Path path) throws IOException {
+        Map<Long, Leg> legs = new LinkedHashMap<>();
+        Map<Long, Boolean> decided = new HashMap<>();
+        if (Files.exists(path)) {
+            read(path, legs, decided);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            writeFully(out, header.flip());
+            for (Leg leg : legs.values()) {
+                writeFully(out, prepareRecord(leg));
+            }
+            for (Map.Entry<Long, Boolean> decision : decided.entrySet()) {
+                writeFully(out, record(decision.getValue() ? DECIDED_COMMIT : DECIDED_ABORT,
+                        decision.getKey()));
+            }
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        TransferLegLog log = new TransferLegLog(channel);
+        log.prepared.putAll(legs);
+        log.decisions.putAll(decided);
+        return log;
+    }
+
+    /**
+     * read: Applies every valid record in the file to the maps.
+     */
+    private static void read(Path path, Map<Long, Leg> legs, Map<Long, Boolean> decided) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a transfer log: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported transfer log version " + version + ": " + path);
+            }
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload = readRecord(in, crc);
+                if (payload == null) {
+                    return;
+                }
+                ByteBuffer record = ByteBuffer.wrap(payload);
+                byte kind = record.get();
+                long transferID = record.getLong();
+                if (kind == PREPARED) {
+                    int accountID = record.getInt();
+                    long amountCents = record.getLong();
+                    int coordinatorPort = record.getInt();
+                    long time = record.getLong();
+                    byte[] description = new byte[record.getShort()];
+                    record.get(description);
+                    legs.put(transferID, new Leg(transferID, accountID, amountCents, coordinatorPort,
+                            time, new String(description, StandardCharsets.UTF_8)));
+                } else if (kind == COMMITTED || kind == ABORTED) {
+                    legs.remove(transferID);
+                } else if (kind == DECIDED_COMMIT || kind == DECIDED_ABORT) {
+                    decided.put(transferID, kind == DECIDED_COMMIT);
+                } else if (kind == FORGOTTEN) {
+                    decided.remove(transferID);
+                }
+            }
+        } catch (EOFException e) {
+            throw new IOException("Not a transfer log: " + path, e);
+        }
+    }
+
+    // ========================= Getters ==========================
+
+    /**
+     * getPrepared: Returns a prepared credit leg.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return the leg, or null if it is not prepared
+     * @since 18 Oct 2026
+     */
+    public synchronized Leg getPrepared(long transferID) {
+        return prepared.get(transferID);
+    }
+
+    /**
+     * getPreparedLegs: Returns every prepared credit leg, oldest first.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return a copy of the prepared legs
+     * @since 18 Oct 2026
+     */
+    public synchronized List<Leg> getPreparedLegs() {
+        return new ArrayList<>(prepared.values());
+    }
+
+    /**
+     * getOutcome: Returns how a recently finished credit leg ended.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return true if committed, false if aborted, or null if unknown
+     * @since 18 Oct 2026
+     */
+    public synchronized Boolean getOutcome(long transferID) {
+        return outcomes.get(transferID);
+    }
+
+    /**
+     * getDecision: Returns the decision this shard made, as the debit
+     * shard, for a transfer.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return true if committed, false if aborted, or null if undecided
+     * @since 18 Oct 2026
+     */
+    public synchronized Boolean getDecision(long transferID) {
+        return decisions.get(transferID);
+    }
+
+    // ====================== Other Methods =======================
+
+    /**
+     * prepare: Records a credit leg as prepared.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param leg The leg
+     * @return void
+     * @throws IOException if the record cannot be made durable
+     * @since 18 Oct 2026
+     */
+    public synchronized void prepare(Leg leg) throws IOException {
+        append(prepareRecord(leg));
+        prepared.put(leg.transferID, leg);
+    }
+
+    /**
+     * finish: Records that a prepared credit leg was committed or
+     * aborted.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @param committed true if the credit was deposited
+     * @return void
+     * @throws IOException if the record cannot be made durable
+     * @since 18 Oct 2026
+     */
+    public synchronized void finish(long transferID, boolean committed) throws IOException {
+        append(record(committed ? COMMITTED : ABORTED, transferID));
+        prepared.remove(transferID);
+        outcomes.put(transferID, committed);
+    }
+
+    /**
+     * decide: Records this shard's decision, as the debit shard, for
+     * a transfer.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @param committed true once the debit was withdrawn
+     * @return void
+     * @throws IOException if the record cannot be made durable
+     * @since 18 Oct 2026
+     */
+    public synchronized void decide(long transferID, boolean committed) throws IOException {
+        append(record(committed ? DECIDED_COMMIT : DECIDED_ABORT, transferID));
+        decisions.put(transferID, committed);
+    }
+
+    /**
+     * forget: Drops a commit decision once the credit shard has
+     * deposited the transfer. Abort decisions are kept.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param transferID The transfer ID
+     * @return void
+     * @throws IOException if the record cannot be made durable
+     * @since 18 Oct 2026
+     */
+    public synchronized void forget(long transferID) throws IOException {
+        if (Boolean.TRUE.equals(decisions.get(transferID))) {
+            append(record(FORGOTTEN, transferID));
+            decisions.remove(transferID);
+        }
+    }
+
+    /**
+     * close: Closes the file.
+     *
+     * @author London Paris
+     * @version 1.0
+     * @param void
+     * @return void
+     * @throws IOException if the file cannot be closed
+     * @since 18 Oct 2026
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * append: Writes one record at the end of the file and fsyncs it.
+     */
+    private void append(ByteBuffer record) throws IOException {
+        writeFully(channel, record);
+        channel.force(false);
+    }
+
+    private static ByteBuffer prepareRecord(Leg leg) {
+        byte[] description = leg.description.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(description.length, Short.MAX_VALUE);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_OVERHEAD + 1 + 8 + 4 + 8 + 4 + 8 + 2 + length);
+        buffer.position(RECORD_OVERHEAD);
+        buffer.put(PREPARED)
+                .putLong(leg.transferID)
+                .putInt(leg.accountID)
+                .putLong(leg.amountCents)
+                .putInt(leg.coordinatorPort)
+                .putLong(leg.preparedTime)
+                .putShort((short) length)
+                .put(description, 0, length);
+        return seal(buffer);
+    }
+
+    private static ByteBuffer record(byte kind, long transferID) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_OVERHEAD + 1 + 8);
+        buffer.position(RECORD_OVERHEAD);
+        buffer.put(kind).putLong(transferID);
+        return seal(buffer);
+    }
+
+    /**
+     * seal: Fills in the length and CRC of a record whose payload was
+     * just written, and flips it for writing.
+     */
+    private static ByteBuffer seal(ByteBuffer buffer) {
+        int length = buffer.position() - RECORD_OVERHEAD;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_OVERHEAD, length);
+        buffer.putInt(0, length);
+        buffer.putInt(4, (int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * readRecord: Reads the next record's payload.
+     *
+     * @return the payload, or null at the end of the valid records
+     */
+    private static byte[] readRecord(DataInputStream data, CRC32 crc) throws IOException {
+        try {
+            int length = data.readInt();
+            int checksum = data.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            data.readFully(payload);
+            crc.reset();
+            crc.update(payload, 0, length);
+            return (int) crc.getValue() == checksum ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // ====================== Inner Classes =======================
+
+    /**
+     * Leg: A prepared credit leg: the account to deposit into, the
+     * amount, the port of the debit shard that decides the transfer,
+     * when it was prepared, and its description.
+     */
+    public static final class Leg {
+        private final long transferID;
+        private final int accountID;
+        private final long amountCents;
+        private final int coordinatorPort;
+        private final long preparedTime;
+        private final String description;
+
+        public Leg(long transferID, int accountID, long amountCents, int coordinatorPort,
+                   long preparedTime, String description) {
+            this.transferID = transferID;
+            this.accountID = accountID;
+            this.amountCents = amountCents;
+            this.coordinatorPort = coordinatorPort;
+            this.preparedTime = preparedTime;
+            this.description = description;
+        }
+
+        /**
+         * getTransferID: Returns the transfer this leg belongs to.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param void
+         * @return the transfer ID
+         * @since 18 Oct 2026
+         */
+        public long getTransferID() {
+            return transferID;
+        }
+
+        /**
+         * getAccountID: Returns the account to credit.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param void
+         * @return the account ID
+         * @since 18 Oct 2026
+         */
+        public int getAccountID() {
+            return accountID;
+        }
+
+        /**
+         * getAmountCents: Returns the amount to credit.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param void
+         * @return the amount in cents
+         * @since 18 Oct 2026
+         */
+        public long getAmountCents() {
+            return amountCents;
+        }
+
+        /**
+         * getCoordinatorPort: Returns the port of the debit shard,
+         * which decides the transfer.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param void
+         * @return the debit shard's port
+         * @since 18 Oct 2026
+         */
+        public int getCoordinatorPort() {
+            return coordinatorPort;
+        }
+
+        /**
+         * getPreparedTime: Returns when the leg was prepared.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param void
+         * @return the time in milliseconds since the epoch
+         * @since 18 Oct 2026
+         */
+        public long getPreparedTime() {
+            return preparedTime;
+        }
+
+        /**
+         * getDescription: Returns the description of the credit.
+         *
+         * @author London Paris
+         * @version 1.0
+         * @param void
+         * @return the description
+         * @since 18 Oct 2026
+         */
+        public String getDescription() {
+            return description;
+        }
+    }
+} // End of class TransferLegLog
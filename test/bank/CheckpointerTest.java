@@ -0,0 +1,108 @@
+package bank;
+
+/**
+ * CheckpointerTest: Tests that balances and transaction history come
+ * back after checkpoints empty the journal and the ledger restarts,
+ * and that a crash between a snapshot and the journal's reset does
+ * not apply the journal twice.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CheckpointerTest {
+    // ========================== Fields ==========================
+    private Checkpointer checkpointer;      // The one open() started
+
+    @TempDir
+    Path directory;
+
+    // ========================== Tests ===========================
+
+    @Test
+    void historySurvivesCheckpointsAndRestarts() throws IOException {
+        Ledger ledger = open();
+        ledger.addAccount(new CheckingAccount("Saver", 1, 0.0));
+        ledger.findAccount(1).deposit(1.0, "Before the checkpoint");
+        ledger.findAccount(1).deposit(2.0, "Before the checkpoint");
+        checkpointer.checkpoint();
+        ledger.findAccount(1).deposit(3.0, "Only in the journal");
+        close(ledger);
+
+        ledger = open();
+        ledger.findAccount(1).deposit(4.0, "After the restart");
+        checkpointer.checkpoint();
+        close(ledger);
+
+        ledger = open();
+        BankAccount account = ledger.findAccount(1);
+        TransactionLog history = account.getTransactionLog();
+        assertEquals(1_000L, account.getBalanceCents());
+        assertEquals(4, history.size());
+        for (int i = 0; i < history.size(); i++) {
+            assertEquals((i + 1) * 100L, history.getAmountCents(i));
+        }
+        close(ledger);
+    }
+
+    @Test
+    void crashBeforeResetDoesNotReplayCoveredRecords() throws IOException {
+        Ledger ledger = open();
+        ledger.addAccount(new CheckingAccount("Saver", 1, 0.0));
+        ledger.findAccount(1).deposit(1.0, "Covered by the snapshot");
+        ledger.getJournal().flush();
+        Path beforeReset = directory.resolve("journal.copy");
+        Files.copy(journalPath(), beforeReset);
+        checkpointer.checkpoint();
+        close(ledger);
+        // As if the crash came after the snapshot but before the reset
+        Files.copy(beforeReset, journalPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        ledger = open();
+        assertEquals(100L, ledger.findAccount(1).getBalanceCents());
+        assertEquals(1, ledger.findAccount(1).getTransactionLog().size());
+        ledger.findAccount(1).deposit(2.0, "After the restart");
+        close(ledger);
+
+        ledger = open();
+        assertEquals(300L, ledger.findAccount(1).getBalanceCents());
+        assertEquals(2, ledger.findAccount(1).getTransactionLog().size());
+        close(ledger);
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * open: Recovers a ledger from the files in the directory, as
+     * BankSystem does at startup.
+     */
+    private Ledger open() throws IOException {
+        Ledger ledger = new Ledger();
+        checkpointer = new Checkpointer(ledger, directory.resolve("accounts.dat"));
+        checkpointer.loadSnapshots();
+        checkpointer.loadHistory(journalPath());
+        ledger.setJournal(Journal.recover(journalPath(), ledger,
+                checkpointer.getCoveredEpoch()));
+        checkpointer.start(ledger.getJournal());
+        return ledger;
+    }
+
+    private void close(Ledger ledger) throws IOException {
+        checkpointer.close();
+        ledger.getJournal().close();
+    }
+
+    private Path journalPath() {
+        return directory.resolve("accounts.journal");
+    }
+} // End of class CheckpointerTest
@@ -0,0 +1,124 @@
+package bank;
+
+/**
+ * HistoryStoreTest: Tests that history segments are spilled to the
+ * segment file in the background and that releasing them frees their
+ * off-heap memory and file space.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HistoryStoreTest {
+    // ===================== Default Values =======================
+    private static final long TIMEOUT_MILLIS = 10_000L;
+
+    @TempDir
+    Path directory;
+
+    // ========================== Tests ===========================
+
+    @Test
+    void spilledHistoryStaysReadable() throws InterruptedException {
+        HistoryStore store = new HistoryStore(0L, directory);
+        TransactionLog log = new TransactionLog(store);
+        append(log, 10 * HistoryStore.SEGMENT_ENTRIES);
+        awaitSpilled(store);
+
+        assertTrue(store.getDiskBytes() > 0L);
+        for (int i = 0; i < log.size(); i += 97) {
+            assertEquals(i, log.getAmountCents(i));
+        }
+    }
+
+    @Test
+    void releaseFreesDiskAndOffHeapSpace() throws InterruptedException {
+        HistoryStore store = new HistoryStore(0L, directory);
+        TransactionLog log = new TransactionLog(store);
+        append(log, 10 * HistoryStore.SEGMENT_ENTRIES);
+        awaitSpilled(store);
+
+        log.release();
+
+        assertEquals(0, log.size());
+        assertEquals(0L, store.getOffHeapBytes());
+        assertEquals(0L, store.getDiskBytes());
+        assertEquals(0L, store.getFileSize());
+    }
+
+    @Test
+    void releasedFileSpaceIsReused() throws InterruptedException {
+        HistoryStore store = new HistoryStore(0L, directory);
+        TransactionLog dropped = new TransactionLog(store);
+        TransactionLog kept = new TransactionLog(store);
+        for (int round = 0; round < 8; round++) {
+            append(dropped, HistoryStore.SEGMENT_ENTRIES);
+            append(kept, HistoryStore.SEGMENT_ENTRIES);
+        }
+        awaitSpilled(store);
+        long fileSize = store.getFileSize();
+        int freedEntries = dropped.getSpilledCount();
+
+        dropped.release();
+        append(kept, freedEntries);
+        awaitSpilled(store);
+
+        assertEquals(fileSize, store.getFileSize());
+        assertEquals(store.getFileSize(), store.getDiskBytes());
+        for (int i = 0; i < kept.size(); i += 97) {
+            assertEquals(i, kept.getAmountCents(i));
+        }
+    }
+
+    @Test
+    void replacingAccountsReleasesDroppedHistory() {
+        Ledger ledger = new Ledger();
+        BankAccount kept = new CheckingAccount("Kept", 1, 0.0);
+        BankAccount dropped = new CheckingAccount("Dropped", 2, 0.0);
+        ledger.replaceAccounts(List.of(kept, dropped));
+        kept.deposit(1.0, "Deposit");
+        dropped.deposit(1.0, "Deposit");
+
+        ledger.replaceAccounts(List.of(kept));
+
+        assertSame(kept, ledger.findAccount(1));
+        assertEquals(1, kept.getTransactionLog().size());
+        assertEquals(0, dropped.getTransactionLog().size());
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * append: Appends entries whose amount is their position in the
+     * log, all with descriptions of the same length, so every segment
+     * has the same size.
+     */
+    private static void append(TransactionLog log, int count) {
+        for (int i = 0; i < count; i++) {
+            int index = log.size();
+            log.append(index, 'D', index, index, "Deposit");
+        }
+    }
+
+    /**
+     * awaitSpilled: Waits until the spiller has moved every off-heap
+     * segment to disk.
+     */
+    private static void awaitSpilled(HistoryStore store) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (store.getOffHeapBytes() > 0L) {
+            assertTrue(System.currentTimeMillis() < deadline, "History was not spilled in time");
+            Thread.sleep(1L);
+        }
+    }
+} // End of class HistoryStoreTest
@@ -0,0 +1,99 @@
+package bank;
+
+/**
+ * JournalTest: Tests that replaying the journal brings back accounts,
+ * transactions and transfers, that a torn tail is cut off before new
+ * records are appended, and that a covered epoch is not replayed.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalTest {
+    // ========================== Fields ==========================
+    @TempDir
+    Path directory;
+
+    // ========================== Tests ===========================
+
+    @Test
+    void replayRestoresAccountsAndTransactions() throws IOException {
+        Ledger ledger = open(-1L);
+        ledger.addAccount(new CheckingAccount("Checking", 1, 100.0));
+        ledger.addAccount(new SavingsAccount("Savings", 2, 0.0));
+        ledger.findAccount(1).deposit(25.0, "Pay");
+        ledger.findAccount(1).withdraw(5.0, "Lunch");
+        ledger.transfer(1, 2, 70.0, "Savings");
+        ledger.getJournal().close();
+
+        Ledger replayed = open(-1L);
+        assertEquals(2, replayed.size());
+        for (BankAccount account : ledger.getAccounts()) {
+            BankAccount copy = replayed.findAccount(account.getAccountID());
+            assertEquals(account.getBalanceCents(), copy.getBalanceCents());
+            assertEquals(account.getTransactionLog().size(), copy.getTransactionLog().size());
+        }
+        assertEquals(5_000L, replayed.findAccount(1).getBalanceCents());
+        replayed.getJournal().close();
+    }
+
+    @Test
+    void tornTailIsCutOff() throws IOException {
+        Ledger ledger = open(-1L);
+        ledger.addAccount(new CheckingAccount("Checking", 1, 0.0));
+        ledger.findAccount(1).deposit(1.0, "Before the crash");
+        ledger.getJournal().close();
+        // A record header promising more bytes than the crash let through
+        Files.write(journalPath(), new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        ledger = open(-1L);
+        assertEquals(100L, ledger.findAccount(1).getBalanceCents());
+        ledger.findAccount(1).deposit(2.0, "After the crash");
+        ledger.getJournal().close();
+
+        ledger = open(-1L);
+        assertEquals(300L, ledger.findAccount(1).getBalanceCents());
+        assertEquals(2, ledger.findAccount(1).getTransactionLog().size());
+        ledger.getJournal().close();
+    }
+
+    @Test
+    void coveredEpochIsNotReplayed() throws IOException {
+        Ledger ledger = open(-1L);
+        long epoch = ledger.getJournal().getEpoch();
+        ledger.addAccount(new CheckingAccount("Checking", 1, 10.0));
+        ledger.getJournal().close();
+
+        ledger = open(epoch);
+        assertTrue(ledger.isEmpty());
+        assertEquals(epoch + 1L, ledger.getJournal().getEpoch());
+        ledger.getJournal().close();
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * open: Recovers a new ledger from the journal, treating the given
+     * epoch as already covered.
+     */
+    private Ledger open(long coveredEpoch) throws IOException {
+        Ledger ledger = new Ledger();
+        ledger.setJournal(Journal.recover(journalPath(), ledger, coveredEpoch));
+        return ledger;
+    }
+
+    private Path journalPath() {
+        return directory.resolve("accounts.journal");
+    }
+} // End of class JournalTest
@@ -0,0 +1,100 @@
+package bank;
+
+/**
+ * LedgerEngineTest: Tests that the engine applies commands in order,
+ * never leaves half a transfer applied, and stops once a change
+ * cannot be journaled.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Test;
+
+class LedgerEngineTest {
+    // ========================== Fields ==========================
+    private final Map<Long, TransactionResult> results = new ConcurrentHashMap<>();
+    private final LedgerEngine.Reply reply = (type, tag, result, balanceAfterCents) -> results.put(tag, result);
+
+    // ========================== Tests ===========================
+
+    @Test
+    void commandsAreAppliedInOrder() {
+        Ledger ledger = new Ledger();
+        BankAccount first = new CheckingAccount("First", 1, 0.0);
+        BankAccount second = new CheckingAccount("Second", 2, 0.0);
+        ledger.replaceAccounts(List.of(first, second));
+        try (LedgerEngine engine = new LedgerEngine(ledger, 8)) {
+            engine.start();
+            for (long tag = 0; tag < 100; tag++) {
+                engine.deposit(1, 100L, "Deposit", tag, reply);
+            }
+            engine.transfer(1, 2, 10_000L, "All of it", 100L, reply);
+            engine.withdraw(1, 20_001L, "Past the overdraft", 101L, reply);
+            engine.await(engine.deposit(3, 100L, "Nobody", 102L, reply));
+        }
+
+        assertEquals(TransactionResult.OK, results.get(100L));
+        assertEquals(TransactionResult.OVERDRAFT_EXCEEDED, results.get(101L));
+        assertEquals(TransactionResult.UNKNOWN_ACCOUNT, results.get(102L));
+        assertEquals(0L, first.getBalanceCents());
+        assertEquals(10_000L, second.getBalanceCents());
+    }
+
+    @Test
+    void failedCreditPutsTheWithdrawalBack() {
+        Ledger ledger = new Ledger();
+        BankAccount from = new CheckingAccount("From", 1, 100.0);
+        BankAccount to = new CheckingAccount("To", 2, 0.0) {
+            @Override
+            long applyUnjournaled(char type, long amountCents, long time, String description) {
+                throw new IllegalStateException("credit refused");
+            }
+        };
+        ledger.replaceAccounts(List.of(from, to));
+        try (LedgerEngine engine = new LedgerEngine(ledger, 8)) {
+            engine.start();
+            engine.await(engine.transfer(1, 2, 5_000L, "Rent", 0L, reply));
+            engine.await(engine.deposit(1, 100L, "Deposit", 1L, reply));
+
+            assertFalse(engine.isStopped());
+        }
+
+        assertEquals(TransactionResult.FAILED, results.get(0L));
+        assertEquals(TransactionResult.OK, results.get(1L));
+        assertEquals(10_100L, from.getBalanceCents());
+        assertEquals(0L, to.getBalanceCents());
+    }
+
+    @Test
+    void journalFailureStopsTheEngine() {
+        Ledger ledger = new Ledger() {
+            @Override
+            void journalTransaction(int accountID, long time, char type, long amountCents,
+                                    long balanceAfterCents, String description) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        };
+        ledger.replaceAccounts(List.of(new CheckingAccount("Only", 1, 0.0)));
+        try (LedgerEngine engine = new LedgerEngine(ledger, 8)) {
+            engine.start();
+            engine.await(engine.deposit(1, 100L, "Deposit", 0L, reply));
+
+            assertEquals(TransactionResult.FAILED, results.get(0L));
+            assertTrue(engine.isStopped());
+            assertThrows(IllegalStateException.class,
+                    () -> engine.deposit(1, 100L, "Deposit", 1L, reply));
+        }
+    }
+} // End of class LedgerEngineTest
@@ -0,0 +1,128 @@
+package bank;
+
+/**
+ * LedgerTest: Tests transfers and batches, that they can run at the
+ * same time as pauses of the mutation gate without deadlocking, and
+ * that an account in a ledger keeps its ID.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class LedgerTest {
+    // ===================== Default Values =======================
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    private static final long RUN_MILLIS = 1_000L;
+
+    // ========================== Tests ===========================
+
+    @Test
+    void transferMovesMoneyOrNothing() {
+        Ledger ledger = new Ledger();
+        BankAccount checking = new CheckingAccount("Checking", 1, 100.0);
+        BankAccount savings = new SavingsAccount("Savings", 2, 50.0);
+        ledger.replaceAccounts(List.of(checking, savings));
+
+        assertEquals(TransactionResult.OK, ledger.transfer(1, 2, 250.0, "Into overdraft"));
+        assertEquals(TransactionResult.OVERDRAFT_EXCEEDED, ledger.transfer(1, 2, 50.01, "Too far"));
+        assertEquals(TransactionResult.INSUFFICIENT_FUNDS, ledger.transfer(2, 1, 300.01, "Too much"));
+        assertEquals(TransactionResult.UNKNOWN_ACCOUNT, ledger.transfer(1, 3, 1.0, "Nobody"));
+
+        assertEquals(-15_000L, checking.getBalanceCents());
+        assertEquals(30_000L, savings.getBalanceCents());
+        assertEquals(1, checking.getTransactionLog().size());
+        assertEquals(1, savings.getTransactionLog().size());
+    }
+
+    @Test
+    void batchResultsFollowSubmissionOrder() {
+        Ledger ledger = new Ledger();
+        BankAccount first = new SavingsAccount("First", 1, 10.0);
+        BankAccount second = new SavingsAccount("Second", 2, 0.0);
+        ledger.replaceAccounts(List.of(first, second));
+
+        TransactionResult[] results = ledger.applyBatch(new BatchOperation[] {
+                new BatchOperation(2, 'W', 1.0, "Before the deposit"),
+                new BatchOperation(1, 'W', 10.0, "All of it"),
+                new BatchOperation(3, 'D', 1.0, "Nobody"),
+                new BatchOperation(2, 'D', 5.0, "Deposit"),
+                new BatchOperation(1, 'W', 0.01, "Nothing left"),
+                new BatchOperation(2, 'W', 1.0, "After the deposit")});
+
+        assertArrayEquals(new TransactionResult[] {
+                TransactionResult.INSUFFICIENT_FUNDS, TransactionResult.OK,
+                TransactionResult.UNKNOWN_ACCOUNT, TransactionResult.OK,
+                TransactionResult.INSUFFICIENT_FUNDS, TransactionResult.OK}, results);
+        assertEquals(0L, first.getBalanceCents());
+        assertEquals(400L, second.getBalanceCents());
+    }
+
+    @Test
+    void batchTransferAndPauseDoNotDeadlock() throws InterruptedException {
+        Ledger ledger = new Ledger();
+        BankAccount first = new CheckingAccount("First", 1, 1_000_000.0);
+        BankAccount second = new CheckingAccount("Second", 2, 1_000_000.0);
+        ledger.replaceAccounts(List.of(first, second));
+        AtomicBoolean stop = new AtomicBoolean();
+
+        Thread batches = start("batches", stop, () -> ledger.applyBatch(new BatchOperation[] {
+                new BatchOperation(1, 'D', 1.0, "Deposit"),
+                new BatchOperation(1, 'W', 1.0, "Withdrawal")}));
+        Thread transfers = start("transfers", stop, () -> {
+            ledger.transfer(2, 1, 1.0, "There");
+            ledger.transfer(1, 2, 1.0, "Back");
+        });
+        Thread pauses = start("pauses", stop, () -> {
+            ledger.pauseMutations();
+            ledger.resumeMutations();
+        });
+        Thread.sleep(RUN_MILLIS);
+        stop.set(true);
+
+        for (Thread thread : List.of(batches, transfers, pauses)) {
+            thread.join(TIMEOUT_MILLIS);
+            assertFalse(thread.isAlive(), thread.getName() + " is stuck");
+        }
+        assertEquals(2_000_000_00L, first.getBalanceCents() + second.getBalanceCents());
+    }
+
+    @Test
+    void registeredAccountKeepsItsID() {
+        Ledger ledger = new Ledger();
+        BankAccount account = new CheckingAccount("Named", 1, 0.0);
+        account.setAccountID(2);
+        ledger.addAccount(account);
+
+        assertThrows(IllegalStateException.class, () -> account.setAccountID(3));
+        assertSame(account, ledger.findAccount(2));
+        assertEquals(2, account.getAccountID());
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * start: Starts a daemon thread that runs the step until stopped,
+     * so a deadlocked thread cannot keep the test JVM up.
+     */
+    private static Thread start(String name, AtomicBoolean stop, Runnable step) {
+        Thread thread = new Thread(() -> {
+            while (!stop.get()) {
+                step.run();
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+} // End of class LedgerTest
@@ -0,0 +1,77 @@
+package bank;
+
+/**
+ * ReadReplicaTest: Tests that a replica catches up with every change
+ * journaled on the primary, including accounts created after it
+ * opened, while reports keep pausing it.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReadReplicaTest {
+    // ===================== Default Values =======================
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    private static final int ACCOUNTS = 20;
+    private static final int DEPOSITS = 50;
+
+    @TempDir
+    Path directory;
+
+    // ========================== Tests ===========================
+
+    @Test
+    void replicaCatchesUpWhileReportsPauseIt() throws IOException, InterruptedException {
+        Path journalPath = directory.resolve("accounts.journal");
+        Ledger primary = new Ledger();
+        primary.setJournal(Journal.recover(journalPath, primary, -1L));
+        primary.addAccount(new CheckingAccount("Before", 0, 1.0));
+        primary.getJournal().flush();
+        ReadReplica replica = ReadReplica.open(directory.resolve("accounts.dat"),
+                directory.resolve("accounts.csv"), journalPath, primary.getJournal());
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread reports = new Thread(() -> {
+            while (!stop.get()) {
+                ReportCut cut = replica.getLedger().openReportCut();
+                replica.getLedger().closeReportCut(cut);
+            }
+        }, "reports");
+        reports.setDaemon(true);
+        reports.start();
+        for (int id = 1; id <= ACCOUNTS; id++) {
+            primary.addAccount(new SavingsAccount("After", id, 0.0));
+            for (int i = 0; i < DEPOSITS; i++) {
+                primary.findAccount(id).deposit(0.01, "Deposit");
+            }
+        }
+        primary.getJournal().flush();
+
+        assertTrue(replica.awaitFresh(0L));
+        stop.set(true);
+        reports.join(TIMEOUT_MILLIS);
+        assertFalse(reports.isAlive(), "reports are stuck");
+        assertTrue(replica.isRunning());
+        assertEquals(ACCOUNTS + ACCOUNTS * DEPOSITS, replica.getAppliedRecords());
+        for (BankAccount account : primary.getAccounts()) {
+            BankAccount copy = replica.getLedger().findAccount(account.getAccountID());
+            assertNotNull(copy, "account " + account.getAccountID() + " is missing");
+            assertEquals(account.getBalanceCents(), copy.getBalanceCents());
+            assertEquals(account.getTransactionLog().size(), copy.getTransactionLog().size());
+        }
+        replica.close();
+        primary.getJournal().close();
+    }
+} // End of class ReadReplicaTest
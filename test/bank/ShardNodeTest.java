@@ -0,0 +1,123 @@
+package bank;
+
+/**
+ * ShardNodeTest: Tests that a transfer between shards moves the money
+ * exactly once, and that a credit leg left prepared is settled the
+ * way its debit shard decided, even after the debit shard restarts.
+ *
+ * @author London Paris
+ * @version 1.0
+ * @since 18 Oct 2026
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardNodeTest {
+    // ========================== Fields ==========================
+    private final Ledger[] ledgers = {new Ledger(), new Ledger()};
+    private final ShardNode[] nodes = new ShardNode[2];
+    private int fromID;                 // An account on shard 0
+    private int toID;                   // An account on shard 1
+
+    @TempDir
+    Path directory;
+
+    // ========================== Setup ===========================
+
+    @BeforeEach
+    void startShards() throws IOException {
+        for (int shard = 0; shard < nodes.length; shard++) {
+            startShard(shard);
+        }
+        fromID = accountOn(0);
+        toID = accountOn(1);
+        ledgers[0].addAccount(new SavingsAccount("From", fromID, 100.0));
+        ledgers[1].addAccount(new SavingsAccount("To", toID, 0.0));
+    }
+
+    @AfterEach
+    void stopShards() {
+        for (ShardNode node : nodes) {
+            node.close();
+        }
+    }
+
+    // ========================== Tests ===========================
+
+    @Test
+    void transferBetweenShardsMovesMoneyOnce() throws IOException {
+        try (ShardRouter router = new ShardRouter(new int[] {nodes[0].getPort(), nodes[1].getPort()})) {
+            assertEquals(TransactionResult.OK, router.transfer(fromID, toID, 6_000L, "Rent"));
+            assertEquals(TransactionResult.INSUFFICIENT_FUNDS, router.transfer(fromID, toID, 6_000L, "Again"));
+        }
+
+        assertEquals(4_000L, ledgers[0].findAccount(fromID).getBalanceCents());
+        assertEquals(6_000L, ledgers[1].findAccount(toID).getBalanceCents());
+        assertEquals(1, ledgers[1].findAccount(toID).getTransactionLog().size());
+    }
+
+    @Test
+    void creditNeverDebitedIsAborted() throws IOException {
+        try (ShardClient credit = new ShardClient(nodes[1].getPort());
+             ShardClient debit = new ShardClient(nodes[0].getPort())) {
+            assertEquals(TransactionResult.OK, credit.prepare(7L, toID, 1_000L, "Credit", nodes[0].getPort()));
+
+            assertFalse(debit.resolve(7L));
+            assertThrows(IOException.class, () -> debit.debit(7L, fromID, 1_000L, "Too late"));
+            assertTrue(credit.abort(7L));
+        }
+
+        assertEquals(10_000L, ledgers[0].findAccount(fromID).getBalanceCents());
+        assertEquals(0L, ledgers[1].findAccount(toID).getBalanceCents());
+    }
+
+    @Test
+    void debitDecisionSurvivesRestart() throws IOException {
+        try (ShardClient credit = new ShardClient(nodes[1].getPort());
+             ShardClient debit = new ShardClient(nodes[0].getPort())) {
+            assertEquals(TransactionResult.OK, credit.prepare(8L, toID, 1_000L, "Credit", nodes[0].getPort()));
+            assertEquals(TransactionResult.OK, debit.debit(8L, fromID, 1_000L, "Debit"));
+        }
+        nodes[0].close();
+        startShard(0);
+
+        try (ShardClient credit = new ShardClient(nodes[1].getPort());
+             ShardClient debit = new ShardClient(nodes[0].getPort())) {
+            assertTrue(debit.resolve(8L));
+            assertTrue(credit.commit(8L));
+            debit.forget(8L);
+        }
+        assertEquals(9_000L, ledgers[0].findAccount(fromID).getBalanceCents());
+        assertEquals(1_000L, ledgers[1].findAccount(toID).getBalanceCents());
+    }
+
+    // ====================== Helper Methods ======================
+
+    /**
+     * startShard: Starts a shard on a free port, over its ledger and
+     * transfer log.
+     */
+    private void startShard(int shard) throws IOException {
+        nodes[shard] = new ShardNode(ledgers[shard], shard, nodes.length, 0,
+                directory.resolve("shard" + shard + ".transfers"));
+        nodes[shard].start();
+    }
+
+    private int accountOn(int shard) {
+        int accountID = 1;
+        while (ShardRouter.shardOf(accountID, nodes.length) != shard) {
+            accountID++;
+        }
+        return accountID;
+    }
+} // End of class ShardNodeTest